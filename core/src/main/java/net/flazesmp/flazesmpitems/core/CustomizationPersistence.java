@@ -0,0 +1,39 @@
+package net.flazesmp.flazesmpitems.core;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Reads and writes item customizations, one file per item
+ */
+public interface CustomizationPersistence {
+    /**
+     * Gets the files that hold item customizations
+     */
+    List<Path> listFiles() throws IOException;
+
+    /**
+     * Read the customization stored in a file
+     */
+    ItemCustomization read(Path file) throws IOException;
+
+    /**
+     * Write the customization of an item, replacing its file
+     *
+     * @return The file written to
+     */
+    Path write(ItemCustomization customization) throws IOException;
+
+    /**
+     * Delete the file of an item
+     *
+     * @return true if a file was deleted
+     */
+    boolean delete(String itemId) throws IOException;
+
+    /**
+     * Gets the file an item's customization is stored in
+     */
+    Path fileOf(String itemId);
+}
@@ -0,0 +1,32 @@
+package net.flazesmp.flazesmpitems.core;
+
+import java.util.Set;
+
+/**
+ * Where the customizations of items are kept while the mod runs
+ */
+public interface CustomizationStore {
+    /**
+     * Gets the customization of an item
+     *
+     * @return The customization, or null if the item is not customized
+     */
+    ItemCustomization get(String itemId);
+
+    /**
+     * Replace the whole customization of an item
+     */
+    void put(ItemCustomization customization);
+
+    /**
+     * Remove all customization of an item
+     *
+     * @return true if the item was customized
+     */
+    boolean remove(String itemId);
+
+    /**
+     * Gets the ids of all customized items
+     */
+    Set<String> getItemIds();
+}
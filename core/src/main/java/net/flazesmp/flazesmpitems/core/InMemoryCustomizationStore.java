@@ -0,0 +1,37 @@
+package net.flazesmp.flazesmpitems.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Customization store backed by a map, for tools, tests and benchmarks that run without the game
+ */
+public class InMemoryCustomizationStore implements CustomizationStore {
+    private final Map<String, ItemCustomization> customizations = new ConcurrentHashMap<>();
+
+    @Override
+    public ItemCustomization get(String itemId) {
+        return customizations.get(itemId);
+    }
+
+    @Override
+    public void put(ItemCustomization customization) {
+        if (customization.isEmpty()) {
+            customizations.remove(customization.getItemId());
+        } else {
+            customizations.put(customization.getItemId(), customization);
+        }
+    }
+
+    @Override
+    public boolean remove(String itemId) {
+        return customizations.remove(itemId) != null;
+    }
+
+    @Override
+    public Set<String> getItemIds() {
+        return Collections.unmodifiableSet(customizations.keySet());
+    }
+}
@@ -0,0 +1,104 @@
+package net.flazesmp.flazesmpitems.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable customization of one item. Text is kept with '§' color codes, as it is displayed.
+ */
+public final class ItemCustomization {
+    private final String itemId;
+    private final String rarity;
+    private final String displayName;
+    private final String category;
+    private final SortedMap<Integer, String> tooltips;
+    private final String typeSuffix;
+
+    /**
+     * @param itemId The registry id of the item
+     * @param rarity The key of the rarity tier, or null to keep the automatic one
+     * @param displayName The display name, or null
+     * @param category The category, or null
+     * @param tooltips The tooltip lines by line number, or null
+     * @param typeSuffix The type suffix shown after the rarity, or null
+     */
+    public ItemCustomization(String itemId, String rarity, String displayName, String category,
+                             Map<Integer, String> tooltips, String typeSuffix) {
+        this.itemId = Objects.requireNonNull(itemId, "itemId");
+        this.rarity = rarity;
+        this.displayName = displayName;
+        this.category = category;
+        this.tooltips = tooltips == null || tooltips.isEmpty()
+            ? Collections.emptySortedMap()
+            : Collections.unmodifiableSortedMap(new TreeMap<>(tooltips));
+        this.typeSuffix = typeSuffix;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    /**
+     * Gets the key of the rarity tier, which may be a built-in level or a tier defined by the game
+     */
+    public String getRarity() {
+        return rarity;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Gets the tooltip lines in line order
+     */
+    public SortedMap<Integer, String> getTooltips() {
+        return tooltips;
+    }
+
+    public String getTypeSuffix() {
+        return typeSuffix;
+    }
+
+    /**
+     * Whether nothing at all is customized
+     */
+    public boolean isEmpty() {
+        return rarity == null && isBlank(displayName) && isBlank(category)
+            && tooltips.isEmpty() && isBlank(typeSuffix);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ItemCustomization other)) return false;
+        return itemId.equals(other.itemId)
+            && Objects.equals(rarity, other.rarity)
+            && Objects.equals(displayName, other.displayName)
+            && Objects.equals(category, other.category)
+            && tooltips.equals(other.tooltips)
+            && Objects.equals(typeSuffix, other.typeSuffix);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(itemId, rarity, displayName, category, tooltips, typeSuffix);
+    }
+
+    @Override
+    public String toString() {
+        return "ItemCustomization{" + itemId + ", rarity=" + rarity + ", displayName=" + displayName
+            + ", category=" + category + ", tooltips=" + tooltips + ", typeSuffix=" + typeSuffix + "}";
+    }
+}
@@ -0,0 +1,38 @@
+package net.flazesmp.flazesmpitems.core;
+
+/**
+ * The properties of an item that rarity rules look at, so rules run without the game's item classes
+ */
+public interface ItemTraits {
+    /**
+     * Gets the registry id of the item, e.g. minecraft:diamond
+     */
+    String getItemId();
+
+    /**
+     * Gets the name of the item's vanilla rarity: COMMON, UNCOMMON, RARE or EPIC
+     */
+    String getVanillaRarity();
+
+    /**
+     * Gets the name of the item's tool tier as it prints, e.g. IRON, or null for items without a tier.
+     * Modded tiers may print as anything, including the name of a vanilla tier.
+     */
+    String getTierName();
+
+    /**
+     * Gets the name of the item's tool tier if it is one of vanilla's, e.g. DIAMOND, or null for
+     * modded tiers and items without a tier
+     */
+    String getVanillaTierName();
+
+    /**
+     * Gets the durability of the item's tool tier, or -1 for items without a tier
+     */
+    int getTierUses();
+
+    /**
+     * Gets the name of the item's armor material, e.g. diamond, or null for items that are not armor
+     */
+    String getArmorMaterial();
+}
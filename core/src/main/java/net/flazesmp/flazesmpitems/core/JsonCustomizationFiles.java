@@ -0,0 +1,178 @@
+package net.flazesmp.flazesmpitems.core;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Stores each item's customization as a JSON file named after the item id, with '&' color codes
+ * so the files are easy to edit by hand
+ */
+public class JsonCustomizationFiles implements CustomizationPersistence {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonCustomizationFiles.class);
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final Path directory;
+    private final String ignoredFile;
+
+    /**
+     * @param directory The directory holding the files
+     * @param ignoredFile A file in the directory that is not an item config, e.g. an example, or null
+     */
+    public JsonCustomizationFiles(Path directory, String ignoredFile) {
+        this.directory = directory;
+        this.ignoredFile = ignoredFile;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public List<Path> listFiles() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> entries = Files.list(directory)) {
+            entries.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.toLowerCase().endsWith(".json") && !name.equals(ignoredFile);
+            }).forEach(files::add);
+        }
+        return files;
+    }
+
+    @Override
+    public ItemCustomization read(Path file) throws IOException {
+        JsonObject json;
+        try (FileReader reader = new FileReader(file.toFile())) {
+            json = JsonParser.parseReader(reader).getAsJsonObject();
+        }
+        return decode(json, file.getFileName().toString());
+    }
+
+    @Override
+    public Path write(ItemCustomization customization) throws IOException {
+        Path file = fileOf(customization.getItemId());
+        Files.createDirectories(file.getParent());
+        try (FileWriter writer = new FileWriter(file.toFile())) {
+            GSON.toJson(encode(customization), writer);
+        }
+        return file;
+    }
+
+    @Override
+    public boolean delete(String itemId) throws IOException {
+        return Files.deleteIfExists(fileOf(itemId));
+    }
+
+    @Override
+    public Path fileOf(String itemId) {
+        return directory.resolve(fileNameOf(itemId));
+    }
+
+    /**
+     * Gets the file name of an item, its id with ':' replaced by '_'
+     */
+    public static String fileNameOf(String itemId) {
+        return itemId.replace(':', '_') + ".json";
+    }
+
+    /**
+     * Decode an item config. Invalid values are logged and skipped, a missing item id fails the file.
+     *
+     * @param source The name of the file, for log messages
+     */
+    public static ItemCustomization decode(JsonObject json, String source) throws IOException {
+        JsonElement item = json.get("item");
+        if (item == null || !item.isJsonPrimitive()) {
+            throw new IOException("Missing item id in config file " + source);
+        }
+        String itemId = item.getAsString();
+
+        // Tiers are checked by the game, which may define tiers beyond the built-in levels
+        String rarity = null;
+        if (json.has("rarity")) {
+            String rarityStr = json.get("rarity").getAsString().trim();
+            if (rarityStr.isEmpty()) {
+                LOGGER.warn("Invalid rarity in config file {}: {}", source, rarityStr);
+            } else {
+                rarity = rarityStr.toUpperCase(Locale.ROOT);
+            }
+        }
+
+        String displayName = json.has("displayName")
+            ? json.get("displayName").getAsString().replace('&', '§')
+            : null;
+        String category = json.has("category") ? json.get("category").getAsString() : null;
+
+        Map<Integer, String> tooltips = new TreeMap<>();
+        if (json.has("tooltips") && json.get("tooltips").isJsonObject()) {
+            for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject("tooltips").entrySet()) {
+                try {
+                    int line = Integer.parseInt(entry.getKey());
+                    tooltips.put(line, entry.getValue().getAsString().replace('&', '§'));
+                } catch (IllegalArgumentException e) {
+                    LOGGER.warn("Invalid tooltip line number in config file {}: {}", source, entry.getKey());
+                }
+            }
+        }
+
+        String typeSuffix = json.has("typeSuffix") ? json.get("typeSuffix").getAsString().toUpperCase() : null;
+
+        return new ItemCustomization(itemId, rarity, displayName, category, tooltips, typeSuffix);
+    }
+
+    /**
+     * Encode an item config, leaving out fields that are not set
+     */
+    public static JsonObject encode(ItemCustomization customization) {
+        JsonObject json = new JsonObject();
+        json.addProperty("item", customization.getItemId());
+
+        if (customization.getRarity() != null) {
+            json.addProperty("rarity", customization.getRarity());
+        }
+
+        String displayName = customization.getDisplayName();
+        if (displayName != null && !displayName.isEmpty()) {
+            // Convert § to & for readability
+            json.addProperty("displayName", displayName.replace('§', '&'));
+        }
+
+        String category = customization.getCategory();
+        if (category != null && !category.isEmpty()) {
+            json.addProperty("category", category);
+        }
+
+        if (!customization.getTooltips().isEmpty()) {
+            JsonObject tooltipsJson = new JsonObject();
+            customization.getTooltips().forEach((line, text) ->
+                tooltipsJson.addProperty(Integer.toString(line), text.replace('§', '&')));
+            json.add("tooltips", tooltipsJson);
+        }
+
+        String typeSuffix = customization.getTypeSuffix();
+        if (typeSuffix != null && !typeSuffix.isEmpty()) {
+            json.addProperty("typeSuffix", typeSuffix);
+        }
+        return json;
+    }
+}
@@ -0,0 +1,23 @@
+package net.flazesmp.flazesmpitems.core;
+
+import java.util.Map;
+
+/**
+ * Message catalog over a fixed map of templates
+ */
+public class MapMessageCatalog implements MessageCatalog {
+    private final Map<String, String> templates;
+
+    public MapMessageCatalog(Map<String, String> templates) {
+        this.templates = Map.copyOf(templates);
+    }
+
+    @Override
+    public String getMessage(String key, Object... params) {
+        String template = templates.get(key);
+        if (template == null) {
+            return "Missing message: " + key;
+        }
+        return MessageTemplates.format(template, params);
+    }
+}
@@ -0,0 +1,15 @@
+package net.flazesmp.flazesmpitems.core;
+
+/**
+ * Looks up player-facing messages by key
+ */
+@FunctionalInterface
+public interface MessageCatalog {
+    /**
+     * Gets a message with its parameters filled in and its color codes converted
+     *
+     * @param key The message key, e.g. command.reload.success
+     * @param params The values of the {0}, {1}, ... placeholders
+     */
+    String getMessage(String key, Object... params);
+}
@@ -0,0 +1,21 @@
+package net.flazesmp.flazesmpitems.core;
+
+/**
+ * Message template formatting: '&' color codes become '§' and {0}, {1}, ... are replaced by parameters
+ */
+public class MessageTemplates {
+    /**
+     * Format a message template
+     */
+    public static String format(String template, Object... params) {
+        // Replace color codes
+        String formatted = template.replace('&', '§');
+
+        // Replace parameters
+        for (int i = 0; i < params.length; i++) {
+            formatted = formatted.replace("{" + i + "}", String.valueOf(params[i]));
+        }
+
+        return formatted;
+    }
+}
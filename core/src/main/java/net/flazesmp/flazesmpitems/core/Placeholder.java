@@ -0,0 +1,17 @@
+package net.flazesmp.flazesmpitems.core;
+
+/**
+ * A value a tooltip template can show, such as {durability} or {nbt:Owner}
+ *
+ * @param <C> The context values are read from, such as an item stack
+ */
+@FunctionalInterface
+public interface Placeholder<C> {
+    /**
+     * Resolve the value for a context
+     *
+     * @param argument The text after the colon, as in {nbt:Owner}, or null if there is none
+     * @return The value, or null to show nothing
+     */
+    String resolve(C context, String argument);
+}
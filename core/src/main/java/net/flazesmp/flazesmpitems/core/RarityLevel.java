@@ -0,0 +1,39 @@
+package net.flazesmp.flazesmpitems.core;
+
+/**
+ * Rarity levels, from lowest to highest, without any presentation attached
+ */
+public enum RarityLevel {
+    COMMON("Common"),
+    UNCOMMON("Uncommon"),
+    RARE("Rare"),
+    EPIC("Epic"),
+    LEGENDARY("Legendary"),
+    MYTHIC("Mythic"),
+    SPECIAL("Special"),
+    ADMIN("Admin");
+
+    private final String name;
+
+    RarityLevel(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Parse a level from its enum or display name
+     *
+     * @return The level, or null if the name matches none
+     */
+    public static RarityLevel parse(String name) {
+        for (RarityLevel level : values()) {
+            if (level.name().equalsIgnoreCase(name) || level.getName().equalsIgnoreCase(name)) {
+                return level;
+            }
+        }
+        return null;
+    }
+}
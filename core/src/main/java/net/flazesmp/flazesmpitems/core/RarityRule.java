@@ -0,0 +1,14 @@
+package net.flazesmp.flazesmpitems.core;
+
+/**
+ * One step of the automatic rarity evaluation
+ */
+@FunctionalInterface
+public interface RarityRule {
+    /**
+     * Evaluate the rule against an item
+     *
+     * @return The rarity the rule assigns, or null if it does not apply and the next rule decides
+     */
+    RarityLevel evaluate(ItemTraits traits);
+}
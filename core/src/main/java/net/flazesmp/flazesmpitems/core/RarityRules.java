@@ -0,0 +1,108 @@
+package net.flazesmp.flazesmpitems.core;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The automatic rarity rules, evaluated in order until one applies
+ */
+public class RarityRules {
+    private static final Set<String> SPECIAL_ITEMS = Set.of(
+        "minecraft:nether_star", "minecraft:dragon_egg", "minecraft:dragon_head",
+        "minecraft:enchanted_golden_apple", "minecraft:bedrock");
+
+    private static final Set<String> LEGENDARY_ITEMS = Set.of(
+        "minecraft:elytra", "minecraft:beacon", "minecraft:end_crystal",
+        "minecraft:command_block", "minecraft:barrier");
+
+    private static final Set<String> MYTHIC_ITEMS = Set.of(
+        "minecraft:dragon_egg", "minecraft:command_block_minecart", "minecraft:structure_block");
+
+    private static final Set<String> EPIC_ITEMS = Set.of(
+        "minecraft:netherite_block", "minecraft:netherite_ingot", "minecraft:netherite_scrap",
+        "minecraft:ancient_debris");
+
+    private static final Set<String> RARE_ITEMS = Set.of(
+        "minecraft:diamond", "minecraft:diamond_block", "minecraft:enchanted_book",
+        "minecraft:golden_apple", "minecraft:experience_bottle", "minecraft:end_crystal");
+
+    /**
+     * The default rules: the vanilla rarity first, then specific items, then tiers and materials
+     */
+    public static final List<RarityRule> DEFAULT_RULES = List.of(
+        RarityRules::vanillaRarity,
+        listed(SPECIAL_ITEMS, RarityLevel.SPECIAL),
+        listed(LEGENDARY_ITEMS, RarityLevel.LEGENDARY),
+        listed(MYTHIC_ITEMS, RarityLevel.MYTHIC),
+        material("NETHERITE", "netherite", EPIC_ITEMS, RarityLevel.EPIC),
+        material("DIAMOND", "diamond", RARE_ITEMS, RarityLevel.RARE),
+        RarityRules::uncommonTier);
+
+    /**
+     * Evaluate the default rules
+     */
+    public static RarityLevel evaluate(ItemTraits traits) {
+        return evaluate(DEFAULT_RULES, traits);
+    }
+
+    /**
+     * Evaluate rules in order
+     *
+     * @return The rarity of the first rule that applies, or COMMON if none does
+     */
+    public static RarityLevel evaluate(List<RarityRule> rules, ItemTraits traits) {
+        for (RarityRule rule : rules) {
+            RarityLevel level = rule.evaluate(traits);
+            if (level != null) {
+                return level;
+            }
+        }
+        return RarityLevel.COMMON;
+    }
+
+    /**
+     * Map the vanilla rarities above common to ours
+     */
+    private static RarityLevel vanillaRarity(ItemTraits traits) {
+        String vanilla = traits.getVanillaRarity();
+        if ("UNCOMMON".equals(vanilla)) {
+            return RarityLevel.UNCOMMON;
+        } else if ("RARE".equals(vanilla)) {
+            return RarityLevel.RARE;
+        } else if ("EPIC".equals(vanilla)) {
+            return RarityLevel.EPIC;
+        }
+        return null;
+    }
+
+    private static RarityRule listed(Set<String> itemIds, RarityLevel level) {
+        return traits -> itemIds.contains(traits.getItemId()) ? level : null;
+    }
+
+    /**
+     * Tools of a vanilla tier, armor whose material contains a name, or listed items
+     */
+    private static RarityRule material(String tierName, String armorMaterial, Set<String> itemIds, RarityLevel level) {
+        return traits -> {
+            String armor = traits.getArmorMaterial();
+            if (tierName.equals(traits.getVanillaTierName())
+                    || (armor != null && armor.contains(armorMaterial))
+                    || itemIds.contains(traits.getItemId())) {
+                return level;
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Iron and gold tools, and modded tiers with a durability between iron and diamond
+     */
+    private static RarityLevel uncommonTier(ItemTraits traits) {
+        String tierName = traits.getTierName();
+        if ("IRON".equals(tierName) || "GOLD".equals(tierName)) {
+            return RarityLevel.UNCOMMON;
+        }
+        int uses = traits.getTierUses();
+        return uses >= 250 && uses < 1561 ? RarityLevel.UNCOMMON : null;
+    }
+}
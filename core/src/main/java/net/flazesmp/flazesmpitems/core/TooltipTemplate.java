@@ -0,0 +1,125 @@
+package net.flazesmp.flazesmpitems.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A tooltip line with placeholders, such as "Durability: {durability}/{max_durability}".
+ *
+ * The text is parsed once into literal and placeholder nodes; rendering only walks the nodes and
+ * appends their values, so no pattern matching or parsing happens per render. A placeholder is
+ * written {name} or {name:argument}. Braces that do not name a known placeholder are kept as text,
+ * so existing lines using braces are unchanged.
+ *
+ * @param <C> The context placeholders are resolved against
+ */
+public final class TooltipTemplate<C> {
+    private final Node<C>[] nodes;
+    private final int literalLength;
+
+    private TooltipTemplate(Node<C>[] nodes, int literalLength) {
+        this.nodes = nodes;
+        this.literalLength = literalLength;
+    }
+
+    /**
+     * Parse a line into a template
+     *
+     * @param placeholders The placeholders by name
+     * @return The template, or null if the line has no placeholders and is shown as is
+     */
+    public static <C> TooltipTemplate<C> parse(String text, Map<String, Placeholder<C>> placeholders) {
+        List<Node<C>> nodes = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int literalLength = 0;
+        boolean hasPlaceholder = false;
+
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '{') {
+                int close = text.indexOf('}', i + 1);
+                if (close > i + 1) {
+                    String body = text.substring(i + 1, close);
+                    int colon = body.indexOf(':');
+                    String name = colon < 0 ? body : body.substring(0, colon);
+                    Placeholder<C> placeholder = body.indexOf('{') < 0 ? placeholders.get(name) : null;
+                    if (placeholder != null) {
+                        if (literal.length() > 0) {
+                            nodes.add(new LiteralNode<>(literal.toString()));
+                            literalLength += literal.length();
+                            literal.setLength(0);
+                        }
+                        nodes.add(new PlaceholderNode<>(placeholder, colon < 0 ? null : body.substring(colon + 1)));
+                        hasPlaceholder = true;
+                        i = close + 1;
+                        continue;
+                    }
+                }
+            }
+            literal.append(c);
+            i++;
+        }
+
+        if (!hasPlaceholder) {
+            return null;
+        }
+        if (literal.length() > 0) {
+            nodes.add(new LiteralNode<>(literal.toString()));
+            literalLength += literal.length();
+        }
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node<C>[] array = nodes.toArray(new Node[0]);
+        return new TooltipTemplate<>(array, literalLength);
+    }
+
+    /**
+     * Render the line for a context
+     */
+    public String render(C context) {
+        StringBuilder out = new StringBuilder(literalLength + 16 * nodes.length);
+        for (Node<C> node : nodes) {
+            node.appendTo(out, context);
+        }
+        return out.toString();
+    }
+
+    /**
+     * One piece of a template
+     */
+    private interface Node<C> {
+        void appendTo(StringBuilder out, C context);
+    }
+
+    private static final class LiteralNode<C> implements Node<C> {
+        private final String text;
+
+        LiteralNode(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void appendTo(StringBuilder out, C context) {
+            out.append(text);
+        }
+    }
+
+    private static final class PlaceholderNode<C> implements Node<C> {
+        private final Placeholder<C> placeholder;
+        private final String argument;
+
+        PlaceholderNode(Placeholder<C> placeholder, String argument) {
+            this.placeholder = placeholder;
+            this.argument = argument;
+        }
+
+        @Override
+        public void appendTo(StringBuilder out, C context) {
+            String value = placeholder.resolve(context, argument);
+            if (value != null) {
+                out.append(value);
+            }
+        }
+    }
+}
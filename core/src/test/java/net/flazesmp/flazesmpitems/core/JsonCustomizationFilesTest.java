@@ -0,0 +1,102 @@
+package net.flazesmp.flazesmpitems.core;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonCustomizationFilesTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeThenReadRoundTrips() throws IOException {
+        JsonCustomizationFiles files = new JsonCustomizationFiles(directory, "example.json");
+        ItemCustomization customization = new ItemCustomization("minecraft:diamond_sword", "LEGENDARY",
+            "§6Blade", "Weapons", Map.of(1, "§7First", 3, "§cThird {durability}"), "SWORD");
+
+        Path file = files.write(customization);
+
+        assertEquals(directory.resolve("minecraft_diamond_sword.json"), file);
+        assertEquals(customization, files.read(file));
+    }
+
+    @Test
+    void storesAmpersandColorCodes() throws IOException {
+        JsonCustomizationFiles files = new JsonCustomizationFiles(directory, null);
+        Path file = files.write(new ItemCustomization("minecraft:stick", null, "§aStick", null, null, null));
+
+        JsonObject json = JsonParser.parseString(Files.readString(file)).getAsJsonObject();
+        assertEquals("&aStick", json.get("displayName").getAsString());
+        assertFalse(json.has("rarity"));
+    }
+
+    @Test
+    void leavesOutFieldsThatAreNotSet() throws IOException {
+        JsonCustomizationFiles files = new JsonCustomizationFiles(directory, null);
+        ItemCustomization customization = new ItemCustomization("minecraft:stick", null, null, null, null, null);
+
+        ItemCustomization read = files.read(files.write(customization));
+
+        assertEquals(customization, read);
+        assertNull(read.getRarity());
+        assertTrue(read.getTooltips().isEmpty());
+    }
+
+    @Test
+    void normalizesHandEditedValues() throws IOException {
+        JsonObject json = new JsonObject();
+        json.addProperty("item", "minecraft:stick");
+        json.addProperty("rarity", " rare ");
+        json.addProperty("typeSuffix", "wand");
+        JsonObject tooltips = new JsonObject();
+        tooltips.addProperty("2", "&bSecond");
+        tooltips.addProperty("first", "&bIgnored");
+        json.add("tooltips", tooltips);
+
+        ItemCustomization customization = JsonCustomizationFiles.decode(json, "stick.json");
+
+        assertEquals("RARE", customization.getRarity());
+        assertEquals("WAND", customization.getTypeSuffix());
+        assertEquals(Map.of(2, "§bSecond"), customization.getTooltips());
+    }
+
+    @Test
+    void missingItemIdFailsTheFile() {
+        JsonObject json = new JsonObject();
+        json.addProperty("rarity", "RARE");
+
+        assertThrows(IOException.class, () -> JsonCustomizationFiles.decode(json, "broken.json"));
+    }
+
+    @Test
+    void listsItemFilesOnly() throws IOException {
+        JsonCustomizationFiles files = new JsonCustomizationFiles(directory, "example.json");
+        Path stick = files.write(new ItemCustomization("minecraft:stick", "RARE", null, null, null, null));
+        Files.writeString(directory.resolve("example.json"), "{}");
+        Files.writeString(directory.resolve("notes.txt"), "");
+
+        assertEquals(List.of(stick), files.listFiles());
+
+        assertTrue(files.delete("minecraft:stick"));
+        assertFalse(files.delete("minecraft:stick"));
+        assertEquals(List.of(), files.listFiles());
+    }
+
+    @Test
+    void missingDirectoryHasNoFiles() throws IOException {
+        assertEquals(List.of(), new JsonCustomizationFiles(directory.resolve("missing"), null).listFiles());
+    }
+}
@@ -0,0 +1,92 @@
+package net.flazesmp.flazesmpitems.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getPercentile(100));
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        for (int nanos = 0; nanos < 8; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertEquals(0, histogram.getPercentile(0));
+        assertEquals(3, histogram.getPercentile(50));
+        assertEquals(7, histogram.getPercentile(100));
+    }
+
+    @Test
+    void percentilesReportTheBucketUpperBound() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        histogram.record(1000);
+        histogram.record(2000);
+
+        // 1000 lands in the bucket 960-1023
+        assertEquals(1023, histogram.getPercentile(50));
+        // Capped at the largest sample rather than the bucket's bound of 2047
+        assertEquals(2000, histogram.getPercentile(99));
+        assertEquals(2000, histogram.getPercentile(100));
+    }
+
+    @Test
+    void bucketsStayWithinTheirPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        long[] samples = {9, 100, 12_345, 1_000_000, 987_654_321};
+        for (long nanos : samples) {
+            histogram.reset();
+            histogram.record(nanos);
+            histogram.record(Long.MAX_VALUE / 4);
+
+            long upper = histogram.getPercentile(50);
+            assertTrue(upper >= nanos && upper <= nanos + nanos / 8, nanos + " -> " + upper);
+        }
+    }
+
+    @Test
+    void tracksCountTotalAndMax() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        histogram.record(10);
+        histogram.record(30);
+        histogram.record(-5);
+
+        assertEquals(3, histogram.getCount());
+        assertEquals(40, histogram.getTotalNanos());
+        assertEquals(30, histogram.getMaxNanos());
+        // Negative samples count as zero
+        assertEquals(0, histogram.getPercentile(1));
+    }
+
+    @Test
+    void hugeSamplesLandInTheLastBucket() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(Long.MAX_VALUE, histogram.getMaxNanos());
+        assertTrue(histogram.getPercentile(100) > 1L << 40);
+    }
+
+    @Test
+    void resetClearsEverything() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        histogram.record(500);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getTotalNanos());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.getPercentile(100));
+    }
+}
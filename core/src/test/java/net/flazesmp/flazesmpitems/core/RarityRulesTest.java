@@ -0,0 +1,124 @@
+package net.flazesmp.flazesmpitems.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RarityRulesTest {
+
+    private static ItemTraits item(String itemId, String vanillaRarity, String tierName, int tierUses, String armorMaterial) {
+        return item(itemId, vanillaRarity, tierName, tierName, tierUses, armorMaterial);
+    }
+
+    private static ItemTraits moddedTool(String itemId, String tierName, int tierUses) {
+        return item(itemId, "COMMON", tierName, null, tierUses, null);
+    }
+
+    private static ItemTraits item(String itemId, String vanillaRarity, String tierName, String vanillaTierName,
+                                   int tierUses, String armorMaterial) {
+        return new ItemTraits() {
+            @Override
+            public String getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public String getVanillaRarity() {
+                return vanillaRarity;
+            }
+
+            @Override
+            public String getTierName() {
+                return tierName;
+            }
+
+            @Override
+            public String getVanillaTierName() {
+                return vanillaTierName;
+            }
+
+            @Override
+            public int getTierUses() {
+                return tierUses;
+            }
+
+            @Override
+            public String getArmorMaterial() {
+                return armorMaterial;
+            }
+        };
+    }
+
+    private static ItemTraits plain(String itemId) {
+        return item(itemId, "COMMON", null, -1, null);
+    }
+
+    @Test
+    void plainItemsAreCommon() {
+        assertEquals(RarityLevel.COMMON, RarityRules.evaluate(plain("minecraft:dirt")));
+        assertEquals(RarityLevel.COMMON, RarityRules.evaluate(item("minecraft:stone_sword", "COMMON", "STONE", 131, null)));
+    }
+
+    @Test
+    void vanillaRarityComesFirst() {
+        assertEquals(RarityLevel.UNCOMMON, RarityRules.evaluate(item("minecraft:dirt", "UNCOMMON", null, -1, null)));
+        assertEquals(RarityLevel.RARE, RarityRules.evaluate(item("minecraft:dirt", "RARE", null, -1, null)));
+        // Vanilla's epic wins over the special list
+        assertEquals(RarityLevel.EPIC, RarityRules.evaluate(item("minecraft:nether_star", "EPIC", null, -1, null)));
+    }
+
+    @Test
+    void listedItems() {
+        assertEquals(RarityLevel.SPECIAL, RarityRules.evaluate(plain("minecraft:nether_star")));
+        assertEquals(RarityLevel.LEGENDARY, RarityRules.evaluate(plain("minecraft:elytra")));
+        assertEquals(RarityLevel.MYTHIC, RarityRules.evaluate(plain("minecraft:structure_block")));
+        assertEquals(RarityLevel.EPIC, RarityRules.evaluate(plain("minecraft:netherite_ingot")));
+        assertEquals(RarityLevel.RARE, RarityRules.evaluate(plain("minecraft:diamond")));
+    }
+
+    @Test
+    void earlierListsWin() {
+        // Listed as special and mythic
+        assertEquals(RarityLevel.SPECIAL, RarityRules.evaluate(plain("minecraft:dragon_egg")));
+        // Listed as legendary and rare
+        assertEquals(RarityLevel.LEGENDARY, RarityRules.evaluate(plain("minecraft:end_crystal")));
+    }
+
+    @Test
+    void toolTiersAndArmorMaterials() {
+        assertEquals(RarityLevel.EPIC, RarityRules.evaluate(item("minecraft:netherite_sword", "COMMON", "NETHERITE", 2031, null)));
+        assertEquals(RarityLevel.EPIC, RarityRules.evaluate(item("minecraft:netherite_helmet", "COMMON", null, -1, "netherite")));
+        assertEquals(RarityLevel.RARE, RarityRules.evaluate(item("minecraft:diamond_pickaxe", "COMMON", "DIAMOND", 1561, null)));
+        assertEquals(RarityLevel.RARE, RarityRules.evaluate(item("mod:diamond_plated_boots", "COMMON", null, -1, "mod:diamond_plated")));
+        assertEquals(RarityLevel.UNCOMMON, RarityRules.evaluate(item("minecraft:iron_axe", "COMMON", "IRON", 250, null)));
+        assertEquals(RarityLevel.UNCOMMON, RarityRules.evaluate(item("minecraft:golden_hoe", "COMMON", "GOLD", 32, null)));
+    }
+
+    @Test
+    void moddedTiersByDurability() {
+        assertEquals(RarityLevel.COMMON, RarityRules.evaluate(moddedTool("mod:copper_sword", "COPPER", 249)));
+        assertEquals(RarityLevel.UNCOMMON, RarityRules.evaluate(moddedTool("mod:bronze_sword", "BRONZE", 250)));
+        assertEquals(RarityLevel.UNCOMMON, RarityRules.evaluate(moddedTool("mod:steel_sword", "STEEL", 1560)));
+        assertEquals(RarityLevel.COMMON, RarityRules.evaluate(moddedTool("mod:mithril_sword", "MITHRIL", 1561)));
+    }
+
+    @Test
+    void moddedTiersNamedLikeVanillaOnesAreNotThatTier() {
+        assertEquals(RarityLevel.COMMON, RarityRules.evaluate(moddedTool("mod:fake_sword", "NETHERITE", 2500)));
+        assertEquals(RarityLevel.COMMON, RarityRules.evaluate(moddedTool("mod:fake_pickaxe", "DIAMOND", 1800)));
+        // Iron and gold were always matched by name
+        assertEquals(RarityLevel.UNCOMMON, RarityRules.evaluate(moddedTool("mod:tin_sword", "IRON", 100)));
+    }
+
+    @Test
+    void customRulesRunInOrder() {
+        RarityRule dirt = traits -> traits.getItemId().equals("minecraft:dirt") ? RarityLevel.ADMIN : null;
+        RarityRule everything = traits -> RarityLevel.MYTHIC;
+
+        assertEquals(RarityLevel.ADMIN, RarityRules.evaluate(List.of(dirt, everything), plain("minecraft:dirt")));
+        assertEquals(RarityLevel.MYTHIC, RarityRules.evaluate(List.of(dirt, everything), plain("minecraft:stone")));
+        assertEquals(RarityLevel.COMMON, RarityRules.evaluate(List.of(), plain("minecraft:dirt")));
+    }
+}
@@ -0,0 +1,67 @@
+package net.flazesmp.flazesmpitems.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TooltipTemplateTest {
+    private static final Map<String, Placeholder<Integer>> PLACEHOLDERS = Map.of(
+        "durability", (value, argument) -> Integer.toString(value),
+        "arg", (value, argument) -> argument == null ? "none" : argument,
+        "empty", (value, argument) -> null);
+
+    private static String render(String text) {
+        return TooltipTemplate.parse(text, PLACEHOLDERS).render(42);
+    }
+
+    @Test
+    void linesWithoutPlaceholdersAreNotTemplates() {
+        assertNull(TooltipTemplate.parse("Just text", PLACEHOLDERS));
+        assertNull(TooltipTemplate.parse("", PLACEHOLDERS));
+    }
+
+    @Test
+    void unknownPlaceholdersStayText() {
+        assertNull(TooltipTemplate.parse("Owner: {owner}", PLACEHOLDERS));
+        assertEquals("{owner} 42", render("{owner} {durability}"));
+    }
+
+    @Test
+    void emptyBracesStayText() {
+        assertNull(TooltipTemplate.parse("Set {}", PLACEHOLDERS));
+        assertEquals("{} 42", render("{} {durability}"));
+    }
+
+    @Test
+    void unclosedBraceStaysText() {
+        assertNull(TooltipTemplate.parse("Broken {durability", PLACEHOLDERS));
+        assertEquals("42 {durability", render("{durability} {durability"));
+    }
+
+    @Test
+    void nestedBracesOnlyReplaceTheInnerPlaceholder() {
+        assertEquals("{a42}", render("{a{durability}}"));
+        assertEquals("{{42}}", render("{{{durability}}}"));
+    }
+
+    @Test
+    void rendersLiteralsAroundPlaceholders() {
+        assertEquals("Durability: 42/42", render("Durability: {durability}/{durability}"));
+        assertEquals("42", render("{durability}"));
+    }
+
+    @Test
+    void passesTheArgumentAfterTheColon() {
+        assertEquals("[Owner]", render("[{arg:Owner}]"));
+        assertEquals("[a:b]", render("[{arg:a:b}]"));
+        assertEquals("[none]", render("[{arg}]"));
+    }
+
+    @Test
+    void nullValuesRenderNothing() {
+        assertEquals("a  b", render("a {empty} b"));
+    }
+}
@@ -0,0 +1,94 @@
+package net.flazesmp.flazesmpitems;
+
+import net.flazesmp.flazesmpitems.util.ItemRarity;
+import net.flazesmp.flazesmpitems.util.RarityManager;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Registry setup shared by the benchmarks: bootstraps the vanilla registries in a plain JVM and
+ * fills RarityManager with synthetic customizations, in memory only.
+ */
+public final class BenchmarkRegistries {
+    // Shared across items, like the categories and lines of a real server config
+    private static final String[] CATEGORIES = {"Weapon", "Tool", "Armor", "Magic Food", "Material", "Artifact"};
+    private static final String[] SHARED_LINES = {
+        "§7A relic of the old world.",
+        "§7Right-click to activate.",
+        "§6Ability: §eShockwave",
+        "§8Soulbound",
+        "§7Cooldown: §a30s",
+    };
+
+    private static boolean bootstrapped = false;
+    private static final List<Item> CUSTOMIZED = new ArrayList<>();
+
+    private BenchmarkRegistries() {
+    }
+
+    /**
+     * Bootstrap the vanilla registries once per JVM
+     */
+    public static synchronized void bootstrap() {
+        if (bootstrapped) {
+            return;
+        }
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        bootstrapped = true;
+    }
+
+    /**
+     * Replace the current customizations with synthetic ones on the given number of items
+     *
+     * @param itemCount The number of items to customize, capped at the registry size
+     * @param tooltipLines The number of custom tooltip lines per item
+     * @return The customized items, in a fixed order
+     */
+    public static synchronized List<Item> customize(int itemCount, int tooltipLines) {
+        bootstrap();
+
+        List<Item> items = new ArrayList<>();
+        for (Item item : BuiltInRegistries.ITEM) {
+            if (item != Items.AIR) {
+                items.add(item);
+            }
+        }
+        Random random = new Random(42L);
+        Collections.shuffle(items, random);
+        List<Item> selected = items.subList(0, Math.min(itemCount, items.size()));
+
+        ItemRarity[] rarities = ItemRarity.values();
+        RarityManager.Batch changes = RarityManager.begin(false);
+        for (Item item : CUSTOMIZED) {
+            changes.clearItemData(item);
+        }
+        for (Item item : selected) {
+            changes.setRarity(item, rarities[random.nextInt(rarities.length)]);
+            changes.setItemCategory(item, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            if (random.nextInt(4) == 0) {
+                changes.setCustomName(item, "Custom " + BuiltInRegistries.ITEM.getKey(item).getPath());
+            }
+            for (int line = 1; line <= tooltipLines; line++) {
+                // Mostly shared lines, with some unique to the item
+                String text = random.nextInt(3) == 0
+                    ? "§7" + BuiltInRegistries.ITEM.getKey(item).getPath() + " line " + line
+                    : SHARED_LINES[random.nextInt(SHARED_LINES.length)];
+                changes.setTooltipLine(item, line, text);
+            }
+        }
+        changes.commit();
+
+        CUSTOMIZED.clear();
+        CUSTOMIZED.addAll(selected);
+        return List.copyOf(selected);
+    }
+}
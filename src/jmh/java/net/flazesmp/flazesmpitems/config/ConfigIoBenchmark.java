@@ -0,0 +1,138 @@
+package net.flazesmp.flazesmpitems.config;
+
+import net.flazesmp.flazesmpitems.BenchmarkRegistries;
+import net.flazesmp.flazesmpitems.util.RarityManager;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+import net.minecraftforge.fml.loading.FMLPaths;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Config load, reload and save cost against generated item config directories.
+ *
+ * Each fork generates its config directory in a temp game directory and points FML's paths at it.
+ * "Cold" means the first load in a fresh JVM (nothing JIT-compiled, empty caches); the files
+ * themselves were just written, so they are in the OS page cache either way.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConfigIoBenchmark {
+    @Param({"1000", "10000", "50000"})
+    public int itemFiles;
+
+    private Path gameDir;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        BenchmarkRegistries.bootstrap();
+        gameDir = Files.createTempDirectory("itemtooltipenhancer-bench");
+        FMLPaths.loadAbsolutePaths(gameDir);
+
+        Path configRoot = FMLPaths.CONFIGDIR.get();
+        SyntheticConfigGenerator.generate(configRoot, itemFiles, 42L);
+        SyntheticConfigGenerator.generateDefaultRarities(configRoot, 42L);
+        MessageConfig.registerDefaultMessages();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SyntheticConfigGenerator.delete(gameDir);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(5)
+    public void coldLoad() {
+        ConfigManager.loadAllConfigs();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public void warmLoad() {
+        ConfigManager.loadAllConfigs();
+    }
+
+    /**
+     * The same steps as /ite reload
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public void reload() {
+        ConfigManager.checkAndRepairConfig();
+        MessageConfig.reloadMessages();
+        ConfigManager.loadAllConfigs();
+        ConfigManager.writeSnapshot();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public void loadDefaultRarities() {
+        RarityManager.loadDefaultRaritiesFromConfig();
+    }
+
+    /**
+     * One tooltip edit through the command path, which rewrites the item's file.
+     * Bytes written per edit is bytesWritten divided by the throughput.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public void saveOnEdit(EditState edit) throws IOException {
+        edit.toggle = !edit.toggle;
+        RarityManager.setTooltipLine(edit.item, 1, edit.toggle ? "&7First text" : "&7Second text");
+        edit.bytesWritten += Files.size(edit.file);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EditState {
+        public long bytesWritten;
+
+        Item item;
+        Path file;
+        boolean toggle;
+
+        // Takes the benchmark state so FML's paths are set up first
+        @Setup(Level.Trial)
+        public void setup(ConfigIoBenchmark benchmark) {
+            item = Items.DIAMOND_SWORD;
+            ResourceLocation id = BuiltInRegistries.ITEM.getKey(item);
+            file = SyntheticConfigGenerator.itemConfigDir(FMLPaths.CONFIGDIR.get())
+                .resolve(id.toString().replace(':', '_') + ".json");
+        }
+    }
+}
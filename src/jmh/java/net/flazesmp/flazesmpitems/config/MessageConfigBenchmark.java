@@ -0,0 +1,41 @@
+package net.flazesmp.flazesmpitems.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message lookup and formatting, as done for every command reply
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageConfigBenchmark {
+    @Setup
+    public void setup() {
+        // Defaults only: the messages file lives in the game directory
+        MessageConfig.registerDefaultMessages();
+    }
+
+    @Benchmark
+    public String getMessageWithoutParams() {
+        return MessageConfig.getMessage("command.reset.held_item_requirement");
+    }
+
+    @Benchmark
+    public String getMessageWithParams() {
+        return MessageConfig.getMessage("command.bulk.success", 12, 40, "#minecraft:swords");
+    }
+}
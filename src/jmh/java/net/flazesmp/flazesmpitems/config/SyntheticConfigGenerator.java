@@ -0,0 +1,171 @@
+package net.flazesmp.flazesmpitems.config;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import net.flazesmp.flazesmpitems.BenchmarkRegistries;
+import net.flazesmp.flazesmpitems.util.ItemRarity;
+import net.flazesmp.flazesmpitems.util.RarityManager;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Writes realistic item config files in the format read by {@link ConfigManager}, for load and save
+ * benchmarks and for trying large configs on a test server.
+ *
+ * Only the vanilla items are registered in a benchmark, so beyond the registry size the files cycle
+ * over the items again under distinct file names. The loader reads each file like any other, so the
+ * parsing and staging cost still scales with the file count.
+ *
+ * Run standalone with {@code ./gradlew generateSyntheticConfigs -PconfigCount=10000 -PconfigDir=run/config}.
+ */
+public final class SyntheticConfigGenerator {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final String[] CATEGORIES = {"Weapon", "Tool", "Armor", "Magic Food", "Material", "Artifact"};
+    private static final String[] SUFFIXES = {"SWORD", "BOW", "HELMET", "RELIC", "CHARM", "WAND"};
+    private static final String[] NAME_PREFIXES = {"&6Ancient", "&bFrozen", "&cBlazing", "&5Void", "&aVerdant", "&eGilded"};
+    private static final String[] SHARED_LINES = {
+        "&7A relic of the old world.",
+        "&7Right-click to activate.",
+        "&6Ability: &eShockwave",
+        "&8Soulbound",
+        "&7Cooldown: &a30s",
+        "&7Crafted by the Flaze smiths.",
+    };
+
+    private SyntheticConfigGenerator() {
+    }
+
+    /**
+     * Write item config files into the item config directory under a config root
+     *
+     * @param configRoot The config root, the files go into its item config directory
+     * @param count The number of files to write
+     * @param seed Seed of the content, the same seed writes the same files
+     * @return The total number of bytes written
+     */
+    public static long generate(Path configRoot, int count, long seed) throws IOException {
+        BenchmarkRegistries.bootstrap();
+        Path itemDir = itemConfigDir(configRoot);
+        Files.createDirectories(itemDir);
+
+        List<Item> items = new ArrayList<>();
+        for (Item item : BuiltInRegistries.ITEM) {
+            if (item != Items.AIR) {
+                items.add(item);
+            }
+        }
+
+        Random random = new Random(seed);
+        ItemRarity[] rarities = ItemRarity.values();
+        long bytes = 0;
+        for (int i = 0; i < count; i++) {
+            ResourceLocation id = BuiltInRegistries.ITEM.getKey(items.get(i % items.size()));
+            int round = i / items.size();
+
+            JsonObject json = new JsonObject();
+            json.addProperty("item", id.toString());
+            json.addProperty("rarity", rarities[random.nextInt(rarities.length)].name());
+            if (random.nextInt(3) == 0) {
+                json.addProperty("displayName",
+                    NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)] + " " + id.getPath().replace('_', ' '));
+            }
+            json.addProperty("category", CATEGORIES[random.nextInt(CATEGORIES.length)]);
+
+            JsonObject tooltips = new JsonObject();
+            int lines = 1 + random.nextInt(8);
+            for (int line = 1; line <= lines; line++) {
+                // Most lines are shared between items, some are unique
+                String text = random.nextInt(4) == 0
+                    ? "&7Forged in batch " + round + ", piece " + i + "."
+                    : SHARED_LINES[random.nextInt(SHARED_LINES.length)];
+                tooltips.addProperty(Integer.toString(line), text);
+            }
+            json.add("tooltips", tooltips);
+
+            if (random.nextInt(4) == 0) {
+                json.addProperty("typeSuffix", SUFFIXES[random.nextInt(SUFFIXES.length)]);
+            }
+
+            String fileName = id.toString().replace(':', '_') + (round == 0 ? "" : "_" + round) + ".json";
+            Path file = itemDir.resolve(fileName);
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                GSON.toJson(json, writer);
+            }
+            bytes += Files.size(file);
+        }
+        return bytes;
+    }
+
+    /**
+     * Write a default rarities file with an entry for every registered item
+     *
+     * @return The number of entries written
+     */
+    public static int generateDefaultRarities(Path configRoot, long seed) throws IOException {
+        BenchmarkRegistries.bootstrap();
+        Random random = new Random(seed);
+        ItemRarity[] rarities = ItemRarity.values();
+
+        JsonObject entries = new JsonObject();
+        for (Item item : BuiltInRegistries.ITEM) {
+            entries.addProperty(BuiltInRegistries.ITEM.getKey(item).toString(),
+                rarities[random.nextInt(rarities.length)].name());
+        }
+        JsonObject root = new JsonObject();
+        root.add("default_rarities", entries);
+
+        Files.createDirectories(configRoot);
+        try (Writer writer = Files.newBufferedWriter(configRoot.resolve(RarityManager.DEFAULT_RARITIES_FILE))) {
+            GSON.toJson(root, writer);
+        }
+        return entries.size();
+    }
+
+    /**
+     * Gets the item config directory under a config root
+     */
+    public static Path itemConfigDir(Path configRoot) {
+        return configRoot.resolve(ConfigManager.CONFIG_DIR);
+    }
+
+    /**
+     * Delete a generated directory and everything in it
+     */
+    public static void delete(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticConfigGenerator <configDir> <count> [seed]");
+            System.exit(1);
+        }
+        Path configRoot = Path.of(args[0]);
+        int count = Integer.parseInt(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        long bytes = generate(configRoot, count, seed);
+        System.out.printf("Wrote %d item configs (%d KB) to %s%n", count, bytes / 1024, itemConfigDir(configRoot));
+    }
+}
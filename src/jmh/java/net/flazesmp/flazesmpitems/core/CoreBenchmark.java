@@ -0,0 +1,123 @@
+package net.flazesmp.flazesmpitems.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The core module's rules, codec and templates on their own. Nothing is bootstrapped, so these
+ * start in milliseconds and show the cost of the logic without any registry lookups.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoreBenchmark {
+    private static final String[] ITEM_IDS = {
+        "minecraft:diamond_sword", "minecraft:iron_pickaxe", "minecraft:dirt",
+        "minecraft:netherite_helmet", "minecraft:elytra", "minecraft:stick"
+    };
+
+    private ItemTraits[] traits;
+    private ItemCustomization customization;
+    private MessageCatalog messages;
+    private TooltipTemplate<int[]> template;
+    private final int[] durability = {1200, 1561};
+    private int next;
+
+    @Setup
+    public void setup() {
+        traits = new ItemTraits[ITEM_IDS.length];
+        for (int i = 0; i < ITEM_IDS.length; i++) {
+            String id = ITEM_IDS[i];
+            traits[i] = new FixedTraits(id, id.contains("diamond") ? "DIAMOND" : id.contains("iron") ? "IRON" : null,
+                id.contains("sword") || id.contains("pickaxe") ? 250 : -1,
+                id.contains("helmet") ? "netherite" : null);
+        }
+        customization = new ItemCustomization("minecraft:diamond_sword", "LEGENDARY", "§6Excalibur",
+            "Weapons", Map.of(1, "§7Forged in the end", 2, "§7Never dulls"), "SWORD");
+        messages = new MapMessageCatalog(Map.of("command.item.updated", "&aUpdated {0} to {1}"));
+        template = TooltipTemplate.parse("§7Durability: {durability}/{max_durability}", Map.of(
+            "durability", (Placeholder<int[]>) (values, arg) -> Integer.toString(values[0]),
+            "max_durability", (Placeholder<int[]>) (values, arg) -> Integer.toString(values[1])));
+    }
+
+    @Benchmark
+    public RarityLevel evaluateRules() {
+        ItemTraits item = traits[next];
+        next = (next + 1) % traits.length;
+        return RarityRules.evaluate(item);
+    }
+
+    @Benchmark
+    public ItemCustomization encodeDecode() throws IOException {
+        return JsonCustomizationFiles.decode(JsonCustomizationFiles.encode(customization), "benchmark");
+    }
+
+    @Benchmark
+    public String formatMessage() {
+        return messages.getMessage("command.item.updated", "minecraft:diamond_sword", "LEGENDARY");
+    }
+
+    @Benchmark
+    public String renderTemplate() {
+        return template.render(durability);
+    }
+
+    private static final class FixedTraits implements ItemTraits {
+        private final String itemId;
+        private final String tierName;
+        private final int tierUses;
+        private final String armorMaterial;
+
+        FixedTraits(String itemId, String tierName, int tierUses, String armorMaterial) {
+            this.itemId = itemId;
+            this.tierName = tierName;
+            this.tierUses = tierUses;
+            this.armorMaterial = armorMaterial;
+        }
+
+        @Override
+        public String getItemId() {
+            return itemId;
+        }
+
+        @Override
+        public String getVanillaRarity() {
+            return "COMMON";
+        }
+
+        @Override
+        public String getTierName() {
+            return tierName;
+        }
+
+        @Override
+        public String getVanillaTierName() {
+            return tierName;
+        }
+
+        @Override
+        public int getTierUses() {
+            return tierUses;
+        }
+
+        @Override
+        public String getArmorMaterial() {
+            return armorMaterial;
+        }
+    }
+}
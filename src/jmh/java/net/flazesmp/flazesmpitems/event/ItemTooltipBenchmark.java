@@ -0,0 +1,83 @@
+package net.flazesmp.flazesmpitems.event;
+
+import net.flazesmp.flazesmpitems.BenchmarkRegistries;
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.TooltipFlag;
+import net.minecraftforge.event.entity.player.ItemTooltipEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building one tooltip, as the game does every frame an item is hovered
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemTooltipBenchmark {
+    // Vanilla tooltip lines before our handler runs: name, a few stat lines, category and mod name
+    @Param({"3", "8", "20"})
+    public int vanillaLines;
+
+    @Param({"0", "4"})
+    public int customLines;
+
+    private ItemStack[] stacks;
+    private List<Component> template;
+    private int next;
+
+    @Setup
+    public void setup() {
+        List<Item> items = BenchmarkRegistries.customize(1000, customLines);
+        stacks = new ItemStack[items.size()];
+        for (int i = 0; i < stacks.length; i++) {
+            stacks[i] = new ItemStack(items.get(i));
+        }
+
+        template = new ArrayList<>();
+        template.add(Component.literal("Item name"));
+        for (int i = 1; i < vanillaLines - 2; i++) {
+            template.add(Component.literal("+" + i + " Attack Damage").withStyle(ChatFormatting.DARK_GREEN));
+        }
+        template.add(Component.literal("Combat").withStyle(ChatFormatting.BLUE));
+        template.add(Component.literal("Minecraft").withStyle(ChatFormatting.BLUE, ChatFormatting.ITALIC));
+    }
+
+    private ItemStack nextStack() {
+        ItemStack stack = stacks[next];
+        next = (next + 1) % stacks.length;
+        return stack;
+    }
+
+    @Benchmark
+    public List<Component> onItemTooltip() {
+        List<Component> tooltip = new ArrayList<>(template);
+        ItemTooltipEventHandler.onItemTooltip(new ItemTooltipEvent(nextStack(), null, tooltip, TooltipFlag.NORMAL));
+        return tooltip;
+    }
+
+    @Benchmark
+    public List<Component> removeUnwantedTooltipLines() {
+        List<Component> tooltip = new ArrayList<>(template);
+        ItemTooltipEventHandler.removeUnwantedTooltipLines(tooltip);
+        return tooltip;
+    }
+}
@@ -0,0 +1,63 @@
+package net.flazesmp.flazesmpitems.tooltip;
+
+import net.flazesmp.flazesmpitems.BenchmarkRegistries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.TooltipFlag;
+import net.minecraft.world.item.alchemy.PotionUtils;
+import net.minecraft.world.item.alchemy.Potions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rewriting the tooltips of potions and music discs, and the check done for every other item
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecialItemTooltipBenchmark {
+    @Param({"potion", "music_disc", "plain"})
+    public String kind;
+
+    private ItemStack stack;
+    private List<Component> template;
+
+    @Setup
+    public void setup() {
+        BenchmarkRegistries.bootstrap();
+        stack = switch (kind) {
+            case "potion" -> PotionUtils.setPotion(new ItemStack(Items.POTION), Potions.STRONG_HEALING);
+            case "music_disc" -> new ItemStack(Items.MUSIC_DISC_PIGSTEP);
+            default -> new ItemStack(Items.DIAMOND_SWORD);
+        };
+
+        // The tooltip vanilla builds for the stack
+        template = new ArrayList<>();
+        template.add(stack.getHoverName());
+        stack.getItem().appendHoverText(stack, null, template, TooltipFlag.NORMAL);
+    }
+
+    @Benchmark
+    public List<Component> handleSpecialItem() {
+        List<Component> tooltip = new ArrayList<>(template);
+        SpecialItemTooltipHandler.handleSpecialItem(tooltip, stack);
+        return tooltip;
+    }
+}
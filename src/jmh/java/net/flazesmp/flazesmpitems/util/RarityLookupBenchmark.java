@@ -0,0 +1,72 @@
+package net.flazesmp.flazesmpitems.util;
+
+import net.flazesmp.flazesmpitems.BenchmarkRegistries;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-item lookups done for every tooltip, over customized and plain items alike
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RarityLookupBenchmark {
+    @Param({"100", "1000"})
+    public int customizedItems;
+
+    private Item[] items;
+    private int next;
+
+    @Setup
+    public void setup() {
+        BenchmarkRegistries.customize(customizedItems, 2);
+
+        List<Item> all = new ArrayList<>();
+        BuiltInRegistries.ITEM.forEach(all::add);
+        items = all.toArray(new Item[0]);
+
+        // Fill the automatic caches, as a running game would have
+        for (Item item : items) {
+            RarityManager.getRarity(item);
+        }
+    }
+
+    private Item nextItem() {
+        Item item = items[next];
+        next = (next + 1) % items.length;
+        return item;
+    }
+
+    @Benchmark
+    public ItemRarity getRarity() {
+        return RarityManager.getRarity(nextItem());
+    }
+
+    @Benchmark
+    public String getItemCategory() {
+        return RarityManager.getItemCategory(nextItem());
+    }
+
+    @Benchmark
+    public String getItemTypeSuffix() {
+        return RarityManager.getItemTypeSuffix(nextItem());
+    }
+}
@@ -1,22 +1,34 @@
 package net.flazesmp.flazesmpitems;
 
-import net.flazesmp.flazesmpitems.config.ConfigManager;
 import net.flazesmp.flazesmpitems.config.MessageConfig;
+import net.flazesmp.flazesmpitems.config.ServerConfig;
 import net.flazesmp.flazesmpitems.event.ItemDisplayNameHandler;
 import net.flazesmp.flazesmpitems.event.ItemTooltipEventHandler;
+import net.flazesmp.flazesmpitems.metrics.jfr.JfrEvents;
+import net.flazesmp.flazesmpitems.network.ModNetwork;
 import net.flazesmp.flazesmpitems.util.RarityManager;
+import net.minecraft.Util;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.config.ModConfig;
+import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
+import net.minecraftforge.fml.event.lifecycle.FMLLoadCompleteEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @Mod("itemtooltipenhancer")
 public class FlazeSMPItems {
     public static final String MOD_ID = "itemtooltipenhancer";
     public static final Logger LOGGER = LoggerFactory.getLogger("ItemTooltipEnhancer");
+    
+    private CompletableFuture<Void> initialization;
 
     public FlazeSMPItems() {
         // Register to the mod event bus
@@ -26,16 +38,20 @@ public class FlazeSMPItems {
         
         // Register config files
         MessageConfig.register();
+        ModLoadingContext.get().registerConfig(ModConfig.Type.SERVER, ServerConfig.SPEC);
         
-        // Initialize the ConfigManager
-        
-        ConfigManager.initialize();
+        // Make the Flight Recorder events known before the config loading they cover
+        JfrEvents.register();
         
-        // Initialize the RarityManager
-        RarityManager.initialize();
+        // Item configs are loaded once every mod has registered its items, see commonSetup
+        modEventBus.addListener(this::commonSetup);
+        modEventBus.addListener(this::loadComplete);
         
         // Register to the mod event bus
         modEventBus.register(MessageConfig.class);
+        
+        // Register the network channel used to sync customizations to clients
+        ModNetwork.register();
 
         // Register ourselves for server and other game events
         MinecraftForge.EVENT_BUS.register(this);
@@ -43,6 +59,31 @@ public class FlazeSMPItems {
         LOGGER.info("ItemTooltipEnhancer initialized");
     }
     
+    /**
+     * The registries are frozen by now, so modded items get their automatic rarities too.
+     * Loading the configs and resolving default rarities is file and registry work that does not
+     * need the main thread, so it runs on a worker while the other mods finish their setup.
+     */
+    private void commonSetup(final FMLCommonSetupEvent event) {
+        // RarityManager initializes the ConfigManager first
+        initialization = CompletableFuture.runAsync(RarityManager::initialize, Util.backgroundExecutor());
+    }
+    
+    /**
+     * Wait for the initialization before the game can show a tooltip or start a server
+     */
+    private void loadComplete(final FMLLoadCompleteEvent event) {
+        if (initialization == null) {
+            return;
+        }
+        try {
+            initialization.join();
+            LOGGER.info("Item configs and rarities ready");
+        } catch (CompletionException e) {
+            LOGGER.error("Failed to initialize item configs and rarities", e.getCause());
+        }
+    }
+    
     /**
      * Helper method to create a mod-specific ResourceLocation
      */
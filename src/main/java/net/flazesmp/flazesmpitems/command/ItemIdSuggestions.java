@@ -0,0 +1,83 @@
+package net.flazesmp.flazesmpitems.command;
+
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import net.flazesmp.flazesmpitems.FlazeSMPItems;
+import net.flazesmp.flazesmpitems.util.ItemIdIndex;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.event.lifecycle.FMLLoadCompleteEvent;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Shared tab completion for item ID arguments, backed by an index built once the item registry is final
+ */
+@Mod.EventBusSubscriber(modid = FlazeSMPItems.MOD_ID, bus = Mod.EventBusSubscriber.Bus.MOD)
+public class ItemIdSuggestions {
+    // Upper bound on suggestions sent back per keystroke
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private static volatile ItemIdIndex index;
+
+    /**
+     * Build the index once every mod has registered its items
+     */
+    @SubscribeEvent
+    public static void onLoadComplete(FMLLoadCompleteEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the index from the current item registry
+     */
+    public static void rebuild() {
+        long start = System.nanoTime();
+        index = new ItemIdIndex(ForgeRegistries.ITEMS.getKeys().stream()
+            .map(ResourceLocation::toString)
+            .toList());
+        FlazeSMPItems.LOGGER.info("Indexed {} item IDs for command suggestions in {} ms",
+            index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Suggests item IDs matching the typed input, best matches first.
+     * Usable directly as a suggestion provider for string arguments.
+     */
+    public static CompletableFuture<Suggestions> suggest(
+            CommandContext<CommandSourceStack> context, SuggestionsBuilder builder) {
+        ItemIdIndex index = index();
+
+        // Quoted string arguments keep their opening quote in the remaining input
+        String input = builder.getRemaining();
+        boolean quoted = input.startsWith("\"");
+        if (quoted) {
+            input = input.substring(1);
+        }
+
+        List<String> matches = index.search(input, MAX_SUGGESTIONS);
+        for (String id : matches) {
+            builder.suggest(quoted ? "\"" + id + "\"" : id);
+        }
+        return builder.buildFuture();
+    }
+
+    /**
+     * Gets the namespaces of all item IDs in sorted order
+     */
+    public static List<String> namespaces() {
+        return index().namespaces();
+    }
+
+    private static ItemIdIndex index() {
+        if (index == null) {
+            rebuild();
+        }
+        return index;
+    }
+}
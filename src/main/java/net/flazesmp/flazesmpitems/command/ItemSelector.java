@@ -0,0 +1,179 @@
+package net.flazesmp.flazesmpitems.command;
+
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import net.flazesmp.flazesmpitems.FlazeSMPItems;
+import net.minecraft.ResourceLocationException;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.ItemTags;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.item.Item;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+/**
+ * Selects a set of items for bulk commands. A selector is one of:
+ * <ul>
+ *   <li>an item tag, e.g. {@code #minecraft:swords}</li>
+ *   <li>a glob over item IDs, e.g. {@code mymod:*} or {@code *:*_sword} ({@code *} and {@code ?} wildcards)</li>
+ *   <li>a single item ID, e.g. {@code minecraft:diamond_sword}</li>
+ * </ul>
+ * IDs without a namespace use {@code minecraft}, as everywhere else in the game.
+ */
+@Mod.EventBusSubscriber(modid = FlazeSMPItems.MOD_ID)
+public class ItemSelector {
+    // "#namespace:path" of every item tag in sorted order, dropped when tags are reloaded
+    private static volatile String[] tagNames;
+
+    private final String selector;
+    private final TagKey<Item> tag;
+    private final Pattern glob;
+    private final ResourceLocation itemId;
+
+    private ItemSelector(String selector, TagKey<Item> tag, Pattern glob, ResourceLocation itemId) {
+        this.selector = selector;
+        this.tag = tag;
+        this.glob = glob;
+        this.itemId = itemId;
+    }
+
+    /**
+     * Parse a selector string
+     *
+     * @param selector The selector as typed
+     * @return The parsed selector
+     * @throws IllegalArgumentException If the selector is not a valid tag, glob or item ID
+     */
+    public static ItemSelector parse(String selector) {
+        String trimmed = selector.trim().toLowerCase(Locale.ROOT);
+        if (trimmed.isEmpty()) {
+            throw new IllegalArgumentException("Empty selector");
+        }
+
+        try {
+            if (trimmed.startsWith("#")) {
+                return new ItemSelector(selector, ItemTags.create(new ResourceLocation(trimmed.substring(1))), null, null);
+            }
+            if (trimmed.indexOf('*') >= 0 || trimmed.indexOf('?') >= 0) {
+                String withNamespace = trimmed.indexOf(':') >= 0 ? trimmed : "minecraft:" + trimmed;
+                return new ItemSelector(selector, null, compileGlob(withNamespace), null);
+            }
+            return new ItemSelector(selector, null, null, new ResourceLocation(trimmed));
+        } catch (ResourceLocationException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Resolve the selector against the item registry
+     *
+     * @return The matching items in registry order, empty if nothing matches
+     */
+    public List<Item> resolve() {
+        if (tag != null) {
+            return ForgeRegistries.ITEMS.tags().getTag(tag).stream().toList();
+        }
+
+        if (itemId != null) {
+            Item item = ForgeRegistries.ITEMS.containsKey(itemId) ? ForgeRegistries.ITEMS.getValue(itemId) : null;
+            return item != null ? List.of(item) : Collections.emptyList();
+        }
+
+        // A single pass over the registry, matching every ID against the compiled glob
+        List<Item> items = new ArrayList<>();
+        for (Map.Entry<ResourceKey<Item>, Item> entry : ForgeRegistries.ITEMS.getEntries()) {
+            if (glob.matcher(entry.getKey().location().toString()).matches()) {
+                items.add(entry.getValue());
+            }
+        }
+        return items;
+    }
+
+    @Override
+    public String toString() {
+        return selector;
+    }
+
+    /**
+     * Translate a glob into an anchored regex, quoting everything except the wildcards
+     */
+    private static Pattern compileGlob(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() + 16);
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Suggests tags, namespace wildcards and item IDs for selector arguments
+     */
+    public static CompletableFuture<Suggestions> suggest(
+            CommandContext<CommandSourceStack> context, SuggestionsBuilder builder) {
+        String input = builder.getRemaining();
+        String typed = (input.startsWith("\"") ? input.substring(1) : input).toLowerCase(Locale.ROOT);
+
+        // Selectors contain '#', ':' or '*', so suggestions are always quoted
+        // Tags only once the user asked for one
+        if (typed.startsWith("#")) {
+            String[] names = getTagNames();
+            int start = Arrays.binarySearch(names, typed);
+            for (int i = start < 0 ? -start - 1 : start; i < names.length && names[i].startsWith(typed); i++) {
+                builder.suggest("\"" + names[i] + "\"");
+            }
+            return builder.buildFuture();
+        }
+
+        for (String namespace : ItemIdSuggestions.namespaces()) {
+            String wildcard = namespace + ":*";
+            if (wildcard.startsWith(typed)) {
+                builder.suggest("\"" + wildcard + "\"");
+            }
+        }
+        return ItemIdSuggestions.suggest(context, builder);
+    }
+
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        tagNames = null;
+    }
+
+    private static String[] getTagNames() {
+        String[] names = tagNames;
+        if (names == null) {
+            names = ForgeRegistries.ITEMS.tags().getTagNames()
+                .map(tagKey -> "#" + tagKey.location())
+                .sorted()
+                .toArray(String[]::new);
+            tagNames = names;
+        }
+        return names;
+    }
+}
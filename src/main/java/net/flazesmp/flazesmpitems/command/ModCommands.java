@@ -45,8 +45,10 @@ public class ModCommands {
         EditItemTooltipCommand.register(mainCommand, buildContext);
         EditItemRarityCommand.register(mainCommand, buildContext);
         ResetItemCommand.register(mainCommand, buildContext);
+        BulkEditCommand.register(mainCommand, buildContext);
         ReloadConfigCommand.register(mainCommand, buildContext);
         DumpItemsCommand.register(mainCommand, buildContext); // Register the new dumpitems command
+        StatsCommand.register(mainCommand, buildContext);
         
         // Add help command
         mainCommand.then(Commands.literal("help")
@@ -70,9 +72,11 @@ public class ModCommands {
         source.sendSuccess(() -> Component.literal(MessageConfig.getMessage("command.help.edittooltip")), false);
         source.sendSuccess(() -> Component.literal(MessageConfig.getMessage("command.help.editrarity")), false);
         source.sendSuccess(() -> Component.literal(MessageConfig.getMessage("command.help.reset")), false);
+        source.sendSuccess(() -> Component.literal(MessageConfig.getMessage("command.help.bulk")), false);
         source.sendSuccess(() -> Component.literal(MessageConfig.getMessage("command.help.gettexture")), false);
         source.sendSuccess(() -> Component.literal(MessageConfig.getMessage("command.help.dumpitems")), false);
         source.sendSuccess(() -> Component.literal(MessageConfig.getMessage("command.help.reload")), false);
+        source.sendSuccess(() -> Component.literal(MessageConfig.getMessage("command.help.stats")), false);
         source.sendSuccess(() -> Component.literal(MessageConfig.getMessage("command.help.help")), false);
     }
 }
\ No newline at end of file
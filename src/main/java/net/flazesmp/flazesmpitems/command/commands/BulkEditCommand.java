@@ -0,0 +1,201 @@
+package net.flazesmp.flazesmpitems.command.commands;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import net.flazesmp.flazesmpitems.FlazeSMPItems;
+import net.flazesmp.flazesmpitems.command.IModCommand;
+import net.flazesmp.flazesmpitems.command.ItemSelector;
+import net.flazesmp.flazesmpitems.config.MessageConfig;
+import net.flazesmp.flazesmpitems.util.ItemRarity;
+import net.flazesmp.flazesmpitems.util.RarityManager;
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandBuildContext;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Item;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bulk variants of the edit commands, applied to every item matching a selector
+ * (#tag, namespace:* or a glob such as *:*_sword)
+ */
+public class BulkEditCommand implements IModCommand {
+
+    /**
+     * Registers this command as a subcommand of the main command
+     *
+     * @param parent The parent command builder to attach this subcommand to
+     * @param buildContext The command build context
+     */
+    public static void register(LiteralArgumentBuilder<CommandSourceStack> parent, CommandBuildContext buildContext) {
+        // bulk command setup
+        parent.then(Commands.literal("bulk")
+            .requires(source -> source.hasPermission(2)) // Admin permission level
+
+            .then(Commands.literal("editrarity")
+                .then(Commands.argument("selector", StringArgumentType.string())
+                    .suggests(ItemSelector::suggest)
+                    .then(Commands.argument("rarity", StringArgumentType.word())
+                        .suggests(BulkEditCommand::suggestRarityValues)
+                        .executes(context -> executeBulkRarity(
+                            context,
+                            StringArgumentType.getString(context, "selector"),
+                            StringArgumentType.getString(context, "rarity"))))))
+
+            .then(Commands.literal("editdisplayname")
+                .then(Commands.argument("selector", StringArgumentType.string())
+                    .suggests(ItemSelector::suggest)
+                    .then(Commands.argument("name", StringArgumentType.greedyString())
+                        .executes(context -> executeBulkDisplayName(
+                            context,
+                            StringArgumentType.getString(context, "selector"),
+                            StringArgumentType.getString(context, "name"))))))
+
+            .then(Commands.literal("edittooltip")
+                .then(Commands.argument("selector", StringArgumentType.string())
+                    .suggests(ItemSelector::suggest)
+                    .then(Commands.argument("line", IntegerArgumentType.integer(1))
+                        .then(Commands.argument("text", StringArgumentType.greedyString())
+                            .executes(context -> executeBulkTooltip(
+                                context,
+                                StringArgumentType.getString(context, "selector"),
+                                IntegerArgumentType.getInteger(context, "line"),
+                                StringArgumentType.getString(context, "text")))))))
+
+            .then(Commands.literal("reset")
+                .then(Commands.argument("selector", StringArgumentType.string())
+                    .suggests(ItemSelector::suggest)
+                    .executes(context -> executeBulkReset(
+                        context,
+                        StringArgumentType.getString(context, "selector"))))));
+    }
+
+    /**
+     * Suggests available rarity values for tab completion
+     */
+    private static CompletableFuture<Suggestions> suggestRarityValues(
+            CommandContext<CommandSourceStack> context, SuggestionsBuilder builder) {
+        return SharedSuggestionProvider.suggest(
+            Stream.of(ItemRarity.values())
+                .map(rarity -> rarity.name().toLowerCase()),
+            builder
+        );
+    }
+
+    /**
+     * Execute setting the rarity of every selected item
+     */
+    private static int executeBulkRarity(
+            CommandContext<CommandSourceStack> context, String selector, String rarityName) {
+
+        CommandSourceStack source = context.getSource();
+
+        ItemRarity rarity;
+        try {
+            rarity = ItemRarity.valueOf(rarityName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            source.sendFailure(Component.literal(MessageConfig.getMessage("command.rarity.invalid", rarityName)));
+            source.sendFailure(Component.literal(MessageConfig.getMessage("command.rarity.valid_values",
+                Stream.of(ItemRarity.values())
+                    .map(r -> r.name().toLowerCase())
+                    .collect(Collectors.joining(", ")))));
+            return 0;
+        }
+
+        return applyToSelection(source, selector, (changes, item) -> changes.setRarity(item, rarity));
+    }
+
+    /**
+     * Execute setting the display name of every selected item
+     */
+    private static int executeBulkDisplayName(
+            CommandContext<CommandSourceStack> context, String selector, String name) {
+
+        // Replace ampersand (&) color codes with § symbols
+        String formattedName = name.replace('&', '§');
+
+        return applyToSelection(context.getSource(), selector,
+            (changes, item) -> changes.setCustomName(item, formattedName));
+    }
+
+    /**
+     * Execute setting a tooltip line of every selected item
+     */
+    private static int executeBulkTooltip(
+            CommandContext<CommandSourceStack> context, String selector, int line, String text) {
+
+        // Replace ampersand (&) color codes with § symbols
+        String formattedText = text.replace('&', '§');
+
+        return applyToSelection(context.getSource(), selector,
+            (changes, item) -> changes.setTooltipLine(item, line, formattedText));
+    }
+
+    /**
+     * Execute resetting every selected item to its default state
+     */
+    private static int executeBulkReset(CommandContext<CommandSourceStack> context, String selector) {
+        return applyToSelection(context.getSource(), selector, RarityManager.Batch::clearItemData);
+    }
+
+    /**
+     * Resolve a selector once, stage the change for every match in one batch and report the result
+     */
+    private static int applyToSelection(CommandSourceStack source, String selectorText,
+                                        BiPredicate<RarityManager.Batch, Item> change) {
+        ItemSelector selector;
+        try {
+            selector = ItemSelector.parse(selectorText);
+        } catch (IllegalArgumentException e) {
+            source.sendFailure(Component.literal(MessageConfig.getMessage("command.bulk.invalid_selector", selectorText)));
+            return 0;
+        }
+
+        List<Item> items = selector.resolve();
+        if (items.isEmpty()) {
+            source.sendFailure(Component.literal(MessageConfig.getMessage("command.bulk.no_match", selectorText)));
+            return 0;
+        }
+
+        try {
+            long start = System.nanoTime();
+            int changed = RarityManager.batch(changes -> items.forEach(item -> change.test(changes, item)));
+            FlazeSMPItems.LOGGER.info("Bulk edit of {} changed {} of {} items in {} ms",
+                selector, changed, items.size(), (System.nanoTime() - start) / 1_000_000);
+
+            source.sendSuccess(() -> Component.literal(
+                MessageConfig.getMessage("command.bulk.success", changed, items.size(), selectorText))
+                .withStyle(ChatFormatting.GREEN), true);
+            return changed;
+        } catch (Exception e) {
+            source.sendFailure(Component.literal(MessageConfig.getMessage("command.bulk.error", e.getMessage())));
+            FlazeSMPItems.LOGGER.error("Bulk edit of {} failed", selector, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Gets the name of this subcommand
+     */
+    public static String getName() {
+        return "bulk";
+    }
+
+    /**
+     * Gets the description of this subcommand for the help message
+     */
+    public static String getDescription() {
+        return "Edit every item matching a tag, namespace or glob";
+    }
+}
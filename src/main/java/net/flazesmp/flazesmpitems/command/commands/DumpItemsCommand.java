@@ -1,19 +1,24 @@
 package net.flazesmp.flazesmpitems.command.commands;
 
+import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
-import net.flazesmp.flazesmpitems.FlazeSMPItems;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import net.flazesmp.flazesmpitems.command.IModCommand;
 import net.flazesmp.flazesmpitems.config.ConfigManager;
 import net.flazesmp.flazesmpitems.config.MessageConfig;
 import net.flazesmp.flazesmpitems.util.ItemRarity;
 import net.flazesmp.flazesmpitems.util.RarityManager;
 import net.minecraft.ChatFormatting;
+import net.minecraft.Util;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
+import net.minecraft.commands.SharedSuggestionProvider;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.item.Item;
 import net.minecraftforge.fml.loading.FMLPaths;
 import net.minecraftforge.registries.ForgeRegistries;
@@ -21,8 +26,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.SimpleDateFormat;
@@ -30,13 +39,50 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 /**
- * Command to dump all registered items to a text file
+ * Command to dump all registered items to a file.
+ *
+ * The registry is snapshotted on the server thread, rows are streamed to disk on the IO pool,
+ * and progress and completion messages are posted back to the server thread.
  */
 public class DumpItemsCommand implements IModCommand {
     private static final Logger LOGGER = LoggerFactory.getLogger(DumpItemsCommand.class);
     private static final String DUMPS_DIR = "itemtooltipenhancer/dumps";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int PROGRESS_STEPS = 4;
+
+    // Only one dump may run at a time
+    private static final AtomicBoolean DUMP_RUNNING = new AtomicBoolean(false);
+
+    /**
+     * Output formats supported by the dump
+     */
+    private enum DumpFormat {
+        TEXT("txt"),
+        CSV("csv"),
+        NDJSON("ndjson");
+
+        private final String extension;
+
+        DumpFormat(String extension) {
+            this.extension = extension;
+        }
+
+        static DumpFormat fromString(String name) {
+            for (DumpFormat format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
 
     /**
      * Registers this command as a subcommand of the main command
@@ -45,133 +91,291 @@ public class DumpItemsCommand implements IModCommand {
         // dumpitems command setup
         parent.then(Commands.literal("dumpitems")
             .requires(source -> source.hasPermission(2)) // Admin permission level
-            .executes(DumpItemsCommand::executeDump));
+            .executes(context -> executeDump(context, DumpFormat.TEXT.name(), false))
+            .then(Commands.argument("format", StringArgumentType.word())
+                .suggests(DumpItemsCommand::suggestFormats)
+                .executes(context -> executeDump(
+                    context,
+                    StringArgumentType.getString(context, "format"),
+                    false))
+                .then(Commands.literal("gzip")
+                    .executes(context -> executeDump(
+                        context,
+                        StringArgumentType.getString(context, "format"),
+                        true)))));
+    }
+
+    /**
+     * Suggests the available dump formats for tab completion
+     */
+    private static CompletableFuture<Suggestions> suggestFormats(
+            CommandContext<CommandSourceStack> context, SuggestionsBuilder builder) {
+        return SharedSuggestionProvider.suggest(
+            Stream.of(DumpFormat.values()).map(format -> format.name().toLowerCase(Locale.ROOT)),
+            builder
+        );
     }
-    
+
     /**
-     * Execute dumping all items to a file
+     * Snapshot the registry on the server thread and start writing the dump in the background
      */
-    private static int executeDump(CommandContext<CommandSourceStack> context) {
+    private static int executeDump(CommandContext<CommandSourceStack> context, String formatName, boolean gzip) {
         CommandSourceStack source = context.getSource();
-        
+        MinecraftServer server = source.getServer();
+
+        DumpFormat format = DumpFormat.fromString(formatName);
+        if (format == null) {
+            source.sendFailure(Component.literal(
+                    MessageConfig.getMessage("command.dump.invalid_format", formatName))
+                    .withStyle(ChatFormatting.RED));
+            return 0;
+        }
+
+        if (!DUMP_RUNNING.compareAndSet(false, true)) {
+            source.sendFailure(Component.literal(
+                    MessageConfig.getMessage("command.dump.already_running"))
+                    .withStyle(ChatFormatting.RED));
+            return 0;
+        }
+
         try {
             source.sendSuccess(() -> Component.literal(
                     MessageConfig.getMessage("command.dump.collecting"))
                     .withStyle(ChatFormatting.YELLOW), true);
-            
-            // Ensure dumps directory exists
-            Path dumpsDir = FMLPaths.GAMEDIR.get().resolve(DUMPS_DIR);
-            Files.createDirectories(dumpsDir);
-            
+
+            List<DumpRow> rows = snapshotRegistry();
+
             // Create timestamp for the file name
             String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
-            String fileName = "items_dump_" + timestamp + ".txt";
-            Path filePath = dumpsDir.resolve(fileName);
-            
-            int totalItems = 0;
-            final int[] processedItemsArray = new int[1];
-            
-            // Count total items first (for progress reporting)
-            for (ResourceLocation ignored : ForgeRegistries.ITEMS.getKeys()) {
-                totalItems++;
+            String fileName = "items_dump_" + timestamp + "." + format.extension + (gzip ? ".gz" : "");
+            Path filePath = FMLPaths.GAMEDIR.get().resolve(DUMPS_DIR).resolve(fileName);
+
+            CompletableFuture
+                .supplyAsync(() -> writeDump(filePath, format, gzip, rows, source, server), Util.ioPool())
+                .whenCompleteAsync((written, error) -> {
+                    DUMP_RUNNING.set(false);
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        LOGGER.error("Failed to dump items to file", cause);
+                        source.sendFailure(Component.literal(
+                                MessageConfig.getMessage("command.dump.error", cause.getMessage()))
+                                .withStyle(ChatFormatting.RED));
+                        return;
+                    }
+
+                    // Provide feedback
+                    source.sendSuccess(() -> Component.literal(
+                            MessageConfig.getMessage("command.dump.success", written))
+                            .withStyle(ChatFormatting.GREEN), true);
+                    source.sendSuccess(() -> Component.literal(filePath.toString())
+                            .withStyle(ChatFormatting.YELLOW), false);
+                }, server);
+
+            return 1;
+        } catch (Exception e) {
+            DUMP_RUNNING.set(false);
+            LOGGER.error("Unexpected error during item dump", e);
+            source.sendFailure(Component.literal(
+                    MessageConfig.getMessage("command.dump.error", e.getMessage()))
+                    .withStyle(ChatFormatting.RED));
+            return 0;
+        }
+    }
+
+    /**
+     * Collect everything the dump needs in a single registry pass. Runs on the server thread,
+     * since rarity determination touches game state.
+     */
+    private static List<DumpRow> snapshotRegistry() {
+        List<DumpRow> rows = new ArrayList<>(ForgeRegistries.ITEMS.getKeys().size());
+
+        for (Item item : ForgeRegistries.ITEMS.getValues()) {
+            ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
+            if (id == null) continue;
+
+            // Try to get rarity safely
+            String rarityName;
+            try {
+                rarityName = RarityManager.getRarity(item).getName();
+            } catch (Exception e) {
+                // If rarity determination fails, use COMMON as default
+                rarityName = ItemRarity.COMMON.getName();
+                LOGGER.debug("Failed to determine rarity for item {}: {}", id, e.getMessage());
             }
-            
-            // Write to file
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath.toFile()))) {
-                // Write header
-                writer.write("ItemTooltipEnhancer Item Dump");
-                writer.newLine();
-                writer.write("Generated: " + new Date().toString());
-                writer.newLine();
-                writer.write("Total items: " + totalItems);
-                writer.newLine();
-                writer.newLine();
-                writer.write(String.format("%-50s | %-15s | %s", "Item ID", "Rarity", "Has Explicit Customizations"));
-                writer.newLine();
-                writer.write("-".repeat(100));
-                writer.newLine();
-                
+
+            // Check if item has EXPLICIT customizations (from config file, not automatic)
+            boolean customized = ConfigManager.hasCustomItemData(id);
+
+            rows.add(new DumpRow(id, id.toString(), rarityName, customized));
+        }
+
+        rows.sort(Comparator.comparing(row -> row.idString));
+        return rows;
+    }
+
+    /**
+     * Stream all rows to the dump file. Runs off the server thread.
+     *
+     * @return The number of rows written
+     */
+    private static int writeDump(Path filePath, DumpFormat format, boolean gzip, List<DumpRow> rows,
+                                 CommandSourceStack source, MinecraftServer server) {
+        int total = rows.size();
+        int progressInterval = Math.max(1, total / PROGRESS_STEPS);
+        int written = 0;
+
+        try {
+            // Ensure dumps directory exists
+            Files.createDirectories(filePath.getParent());
+
+            // Every stream of the chain is a resource, so the file is closed even if a wrapper fails to open
+            try (OutputStream file = Files.newOutputStream(filePath);
+                 OutputStream output = gzip ? new GZIPOutputStream(file, WRITE_BUFFER_SIZE) : file;
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+                writeHeader(writer, format, total);
+
+                StringBuilder line = new StringBuilder(128);
                 String currentNamespace = null;
-                
-                // Process items in batches sorted by namespace
-                List<ResourceLocation> itemIds = new ArrayList<>(ForgeRegistries.ITEMS.getKeys());
-                itemIds.sort(Comparator.comparing(ResourceLocation::toString));
-                
-                for (ResourceLocation id : itemIds) {
-                    try {
-                        Item item = ForgeRegistries.ITEMS.getValue(id);
-                        if (item == null) continue;
-                        
-                        // Get namespace for grouping
-                        String namespace = id.getNamespace();
-                        if (!namespace.equals(currentNamespace)) {
-                            writer.newLine();
-                            writer.write("=== " + namespace.toUpperCase() + " ===");
-                            writer.newLine();
-                            currentNamespace = namespace;
+
+                for (DumpRow row : rows) {
+                    boolean customized = row.customized;
+
+                    line.setLength(0);
+                    switch (format) {
+                        case TEXT -> {
+                            // Group rows by namespace
+                            String namespace = row.id.getNamespace();
+                            if (!namespace.equals(currentNamespace)) {
+                                line.append('\n').append("=== ").append(namespace.toUpperCase(Locale.ROOT)).append(" ===\n");
+                                currentNamespace = namespace;
+                            }
+                            appendPadded(line, row.idString, 50).append(" | ");
+                            appendPadded(line, row.rarityName, 15).append(" | ");
+                            line.append(customized ? "Yes" : "No");
                         }
-                        
-                        // Try to get rarity safely
-                        ItemRarity rarity;
-                        try {
-                            rarity = RarityManager.getRarity(item);
-                        } catch (Exception e) {
-                            // If rarity determination fails, use COMMON as default
-                            rarity = ItemRarity.COMMON;
-                            LOGGER.debug("Failed to determine rarity for item {}: {}", id, e.getMessage());
+                        case CSV -> line.append(csvField(row.idString)).append(',')
+                            .append(csvField(row.id.getNamespace())).append(',')
+                            .append(csvField(row.rarityName)).append(',')
+                            .append(customized);
+                        case NDJSON -> {
+                            line.append("{\"id\":");
+                            appendJsonString(line, row.idString);
+                            line.append(",\"namespace\":");
+                            appendJsonString(line, row.id.getNamespace());
+                            line.append(",\"rarity\":");
+                            appendJsonString(line, row.rarityName);
+                            line.append(",\"customized\":").append(customized).append('}');
                         }
-                        
-                        // Check if item has EXPLICIT customizations (from config file, not automatic)
-                        boolean hasExplicitCustomizations = ConfigManager.hasCustomItemData(id);
-                        
-                        writer.write(String.format("%-50s | %-15s | %s", 
-                                id.toString(),
-                                rarity.getName(),
-                                hasExplicitCustomizations ? "Yes" : "No"));
-                        writer.newLine();
-                        
-                        processedItemsArray[0]++;
-                    } catch (Exception e) {
-                        // Handle individual item errors gracefully
-                        LOGGER.error("Error processing item {}: {}", id, e.getMessage());
-                        writer.write(String.format("%-50s | %-15s | %s", 
-                                id.toString(), 
-                                "ERROR", 
-                                "Failed to process"));
-                        writer.newLine();
+                    }
+                    line.append('\n');
+                    writer.append(line);
+                    written++;
+
+                    // Report progress back on the server thread
+                    if (written % progressInterval == 0 && written < total) {
+                        int progress = written;
+                        server.execute(() -> source.sendSuccess(() -> Component.literal(
+                                MessageConfig.getMessage("command.dump.progress", progress, total))
+                                .withStyle(ChatFormatting.GRAY), false));
                     }
                 }
-                
-                // Write summary at the end
-                writer.newLine();
-                writer.write("-".repeat(100));
-                writer.newLine();
-                writer.write("Successfully processed " + processedItemsArray[0] + " of " + totalItems + " items");
-                if (processedItemsArray[0] < totalItems) {
-                    writer.write(" (Some items may have been skipped due to errors)");
+
+                if (format == DumpFormat.TEXT) {
+                    // Write summary at the end
+                    writer.write("\n" + "-".repeat(100) + "\n");
+                    writer.write("Successfully processed " + written + " of " + total + " items\n");
                 }
             }
-            
-            // Provide feedback
-            source.sendSuccess(() -> Component.literal(
-                    MessageConfig.getMessage("command.dump.success", processedItemsArray[0]))
-                    .withStyle(ChatFormatting.GREEN), true);
-            source.sendSuccess(() -> Component.literal(filePath.toString())
-                    .withStyle(ChatFormatting.YELLOW), false);
-            
-            return 1;
         } catch (IOException e) {
-            LOGGER.error("Failed to dump items to file", e);
-            source.sendFailure(Component.literal(
-                    MessageConfig.getMessage("command.dump.error", e.getMessage()))
-                    .withStyle(ChatFormatting.RED));
-            return 0;
-        } catch (Exception e) {
-            LOGGER.error("Unexpected error during item dump", e);
-            source.sendFailure(Component.literal(
-                    MessageConfig.getMessage("command.dump.error", e.getMessage()))
-                    .withStyle(ChatFormatting.RED));
-            return 0;
+            throw new UncheckedIOException(e);
+        }
+
+        return written;
+    }
+
+    /**
+     * Write the format-specific header
+     */
+    private static void writeHeader(Writer writer, DumpFormat format, int total) throws IOException {
+        switch (format) {
+            case TEXT -> {
+                writer.write("ItemTooltipEnhancer Item Dump\n");
+                writer.write("Generated: " + new Date() + "\n");
+                writer.write("Total items: " + total + "\n\n");
+                StringBuilder header = new StringBuilder(128);
+                appendPadded(header, "Item ID", 50).append(" | ");
+                appendPadded(header, "Rarity", 15).append(" | ");
+                header.append("Has Explicit Customizations\n");
+                writer.write(header.toString());
+                writer.write("-".repeat(100) + "\n");
+            }
+            case CSV -> writer.write("id,namespace,rarity,customized\n");
+            case NDJSON -> {
+                // Self-describing rows, no header
+            }
+        }
+    }
+
+    /**
+     * Append a value left-aligned in a column of the given width
+     */
+    private static StringBuilder appendPadded(StringBuilder builder, String value, int width) {
+        builder.append(value);
+        for (int i = value.length(); i < width; i++) {
+            builder.append(' ');
+        }
+        return builder;
+    }
+
+    /**
+     * Quote a CSV field if it contains a separator, quote or line break
+     */
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Append a JSON string literal
+     */
+    private static void appendJsonString(StringBuilder builder, String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        builder.append('"');
+    }
+
+    /**
+     * Immutable per-item values captured on the server thread
+     */
+    private static class DumpRow {
+        final ResourceLocation id;
+        final String idString;
+        final String rarityName;
+        final boolean customized;
+
+        DumpRow(ResourceLocation id, String idString, String rarityName, boolean customized) {
+            this.id = id;
+            this.idString = idString;
+            this.rarityName = rarityName;
+            this.customized = customized;
         }
     }
 
@@ -181,11 +385,11 @@ public class DumpItemsCommand implements IModCommand {
     public static String getName() {
         return "dumpitems";
     }
-    
+
     /**
      * Gets the description of this subcommand for the help message
      */
     public static String getDescription() {
-        return "Dump all registered items to a text file";
+        return "Dump all registered items to a text, CSV or NDJSON file";
     }
-}
\ No newline at end of file
+}
@@ -4,24 +4,20 @@ import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import net.flazesmp.flazesmpitems.config.MessageConfig;
-import com.mojang.brigadier.suggestion.Suggestions;
-import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import net.flazesmp.flazesmpitems.command.IModCommand;
+import net.flazesmp.flazesmpitems.command.ItemIdSuggestions;
 import net.flazesmp.flazesmpitems.config.ConfigManager;
 import net.flazesmp.flazesmpitems.util.RarityManager;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
-import net.minecraft.commands.SharedSuggestionProvider;
 import net.minecraft.commands.arguments.item.ItemArgument;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Item;
 import net.minecraftforge.registries.ForgeRegistries;
 
-import java.util.concurrent.CompletableFuture;
-
 public class EditItemNameCommand implements IModCommand {
 
     /**
@@ -45,7 +41,7 @@ public class EditItemNameCommand implements IModCommand {
                         
             // Alternative with item ID as string for better flexibility
             .then(Commands.argument("itemId", StringArgumentType.string())
-                .suggests(EditItemNameCommand::suggestItemIds)
+                .suggests(ItemIdSuggestions::suggest)
                 .then(Commands.argument("name", StringArgumentType.greedyString())
                     .executes(context -> executeSetDisplayNameById(
                         context,
@@ -53,22 +49,6 @@ public class EditItemNameCommand implements IModCommand {
                         StringArgumentType.getString(context, "name"))))));
     }
 
-    /**
-     * Suggests available item IDs for tab completion
-     */
-    private static CompletableFuture<Suggestions> suggestItemIds(
-            CommandContext<CommandSourceStack> context, SuggestionsBuilder builder) {
-        String input = builder.getRemaining().toLowerCase();
-        
-        // Get all item IDs from the Forge registry and filter based on input
-        return SharedSuggestionProvider.suggest(
-            ForgeRegistries.ITEMS.getKeys().stream()
-                .map(ResourceLocation::toString)
-                .filter(id -> id.toLowerCase().contains(input)),
-            builder
-        );
-    }
-    
     /**
      * Execute setting a new display name for an item
      */
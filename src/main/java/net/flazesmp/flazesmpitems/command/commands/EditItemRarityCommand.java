@@ -7,6 +7,7 @@ import com.mojang.brigadier.suggestion.Suggestions;
 import net.flazesmp.flazesmpitems.config.MessageConfig;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import net.flazesmp.flazesmpitems.command.IModCommand;
+import net.flazesmp.flazesmpitems.command.ItemIdSuggestions;
 import net.flazesmp.flazesmpitems.config.ConfigManager;
 import net.flazesmp.flazesmpitems.util.ItemRarity;
 import net.flazesmp.flazesmpitems.util.RarityManager;
@@ -49,7 +50,7 @@ public class EditItemRarityCommand implements IModCommand {
                         
             // Alternative with item ID as string for better flexibility
             .then(Commands.argument("itemId", StringArgumentType.string())
-                .suggests(EditItemRarityCommand::suggestItemIds)
+                .suggests(ItemIdSuggestions::suggest)
                 .then(Commands.argument("rarity", StringArgumentType.word())
                     .suggests(EditItemRarityCommand::suggestRarityValues)
                     .executes(context -> executeSetRarityById(
@@ -58,22 +59,6 @@ public class EditItemRarityCommand implements IModCommand {
                         StringArgumentType.getString(context, "rarity"))))));
     }
 
-    /**
-     * Suggests available item IDs for tab completion
-     */
-    private static CompletableFuture<Suggestions> suggestItemIds(
-            CommandContext<CommandSourceStack> context, SuggestionsBuilder builder) {
-        String input = builder.getRemaining().toLowerCase();
-        
-        // Get all item IDs from the Forge registry and filter based on input
-        return SharedSuggestionProvider.suggest(
-            ForgeRegistries.ITEMS.getKeys().stream()
-                .map(ResourceLocation::toString)
-                .filter(id -> id.toLowerCase().contains(input)),
-            builder
-        );
-    }
-
     /**
      * Suggests available rarity values for tab completion
      */
@@ -113,7 +98,7 @@ public class EditItemRarityCommand implements IModCommand {
             // Confirm to the user
             ResourceLocation itemId = ForgeRegistries.ITEMS.getKey(item);
             source.sendSuccess(() -> Component.literal(MessageConfig.getMessage("command.rarity.success", itemId.toString(), rarity.getName()))
-                    .withStyle(style -> style.withColor(rarity.getColor().getColor())), true);
+                    .withStyle(style -> style.withColor(rarity.getColor())), true);
             
             return 1;
         } catch (Exception e) {
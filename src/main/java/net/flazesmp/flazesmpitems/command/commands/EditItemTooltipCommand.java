@@ -8,6 +8,7 @@ import net.flazesmp.flazesmpitems.config.MessageConfig;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import net.flazesmp.flazesmpitems.command.IModCommand;
+import net.flazesmp.flazesmpitems.command.ItemIdSuggestions;
 import net.flazesmp.flazesmpitems.config.ConfigManager;
 import net.flazesmp.flazesmpitems.util.RarityManager;
 import net.minecraft.ChatFormatting;
@@ -50,7 +51,7 @@ public class EditItemTooltipCommand implements IModCommand {
                             
             // Alternative with item ID as string for better flexibility
             .then(Commands.argument("itemId", StringArgumentType.string())
-                .suggests(EditItemTooltipCommand::suggestItemIds)
+                .suggests(ItemIdSuggestions::suggest)
                 .then(Commands.argument("line", IntegerArgumentType.integer(1))
                     .suggests(EditItemTooltipCommand::suggestTooltipLines)
                     .then(Commands.argument("text", StringArgumentType.greedyString())
@@ -61,22 +62,6 @@ public class EditItemTooltipCommand implements IModCommand {
                             StringArgumentType.getString(context, "text")))))));
     }
 
-    /**
-     * Suggests available item IDs for tab completion
-     */
-    private static CompletableFuture<Suggestions> suggestItemIds(
-            CommandContext<CommandSourceStack> context, SuggestionsBuilder builder) {
-        String input = builder.getRemaining().toLowerCase();
-        
-        // Get all item IDs from the Forge registry and filter based on input
-        return SharedSuggestionProvider.suggest(
-            ForgeRegistries.ITEMS.getKeys().stream()
-                .map(ResourceLocation::toString)
-                .filter(id -> id.toLowerCase().contains(input)),
-            builder
-        );
-    }
-
     /**
      * Suggests tooltip line numbers (1-5 by default)
      */
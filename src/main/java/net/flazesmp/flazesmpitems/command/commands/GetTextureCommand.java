@@ -5,6 +5,7 @@ import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import net.flazesmp.flazesmpitems.command.IModCommand;
+import net.flazesmp.flazesmpitems.command.ItemIdSuggestions;
 import net.flazesmp.flazesmpitems.util.TextureUtil;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandBuildContext;
@@ -55,6 +56,7 @@ public class GetTextureCommand implements IModCommand {
                     context.getSource(), 
                     ItemArgument.getItem(context, "item").getItem())))
             .then(Commands.argument("itemId", StringArgumentType.string())
+                .suggests(ItemIdSuggestions::suggest)
                 .executes(context -> getTextureForItemId(
                     context.getSource(), 
                     StringArgumentType.getString(context, "itemId")))));
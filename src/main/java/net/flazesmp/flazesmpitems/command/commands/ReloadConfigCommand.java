@@ -7,6 +7,9 @@ import com.mojang.brigadier.context.CommandContext;
 import net.flazesmp.flazesmpitems.command.IModCommand;
 import net.flazesmp.flazesmpitems.config.ConfigManager;
 import net.flazesmp.flazesmpitems.config.MessageConfig;
+import net.flazesmp.flazesmpitems.config.RarityTierConfig;
+import net.flazesmp.flazesmpitems.metrics.jfr.ConfigReloadEvent;
+import net.flazesmp.flazesmpitems.network.CustomizationSync;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandSourceStack;
@@ -36,6 +39,9 @@ public class ReloadConfigCommand implements IModCommand {
      */
     private static int executeReload(CommandContext<CommandSourceStack> context) {
         CommandSourceStack source = context.getSource();
+        ConfigReloadEvent reloadEvent = new ConfigReloadEvent();
+        reloadEvent.begin();
+        boolean reloaded = false;
         
         try {
             source.sendSuccess(() -> Component.literal(MessageConfig.getMessage("command.reload.checking"))
@@ -47,9 +53,16 @@ public class ReloadConfigCommand implements IModCommand {
             // Reload the message configuration first
             MessageConfig.reloadMessages();
             
+            // Stack rarity rules, the tiers themselves need a restart
+            RarityTierConfig.reloadStackRules();
+            CustomizationSync.resendRarityTiers(source.getServer());
+            
             // Load all configurations
             ConfigManager.loadAllConfigs();
             
+            // Refresh the snapshot so the next startup picks up the reloaded files
+            ConfigManager.writeSnapshot();
+            reloaded = true;
             
             source.sendSuccess(() -> Component.literal(MessageConfig.getMessage("command.reload.success"))
                     .withStyle(ChatFormatting.GREEN), true);
@@ -61,6 +74,13 @@ public class ReloadConfigCommand implements IModCommand {
                     MessageConfig.getMessage("command.reload.error", e.getMessage()))
                 .withStyle(ChatFormatting.RED));
             return 0;
+        } finally {
+            reloadEvent.end();
+            if (reloadEvent.shouldCommit()) {
+                reloadEvent.itemConfigCount = ConfigManager.getCustomizedItemCount();
+                reloadEvent.success = reloaded;
+                reloadEvent.commit();
+            }
         }
     }
 
@@ -4,9 +4,8 @@ import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import net.flazesmp.flazesmpitems.config.MessageConfig;
-import com.mojang.brigadier.suggestion.Suggestions;
-import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import net.flazesmp.flazesmpitems.command.IModCommand;
+import net.flazesmp.flazesmpitems.command.ItemIdSuggestions;
 import net.flazesmp.flazesmpitems.util.RarityManager;
 import net.minecraft.ChatFormatting;
 import net.flazesmp.flazesmpitems.util.ItemRarity;
@@ -14,7 +13,6 @@ import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.flazesmp.flazesmpitems.FlazeSMPItems;
-import net.minecraft.commands.SharedSuggestionProvider;
 import net.minecraft.commands.arguments.item.ItemArgument;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
@@ -24,8 +22,6 @@ import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.registries.ForgeRegistries;
 
-import java.util.concurrent.CompletableFuture;
-
 public class ResetItemCommand implements IModCommand {
 
     /**
@@ -47,28 +43,12 @@ public class ResetItemCommand implements IModCommand {
                         
             // Alternative with item ID as string for better flexibility
             .then(Commands.argument("itemId", StringArgumentType.string())
-                .suggests(ResetItemCommand::suggestItemIds)
+                .suggests(ItemIdSuggestions::suggest)
                 .executes(context -> executeResetItemById(
                     context,
                     StringArgumentType.getString(context, "itemId")))));
     }
 
-    /**
-     * Suggests available item IDs for tab completion
-     */
-    private static CompletableFuture<Suggestions> suggestItemIds(
-            CommandContext<CommandSourceStack> context, SuggestionsBuilder builder) {
-        String input = builder.getRemaining().toLowerCase();
-        
-        // Get all item IDs from the Forge registry and filter based on input
-        return SharedSuggestionProvider.suggest(
-            ForgeRegistries.ITEMS.getKeys().stream()
-                .map(ResourceLocation::toString)
-                .filter(id -> id.toLowerCase().contains(input)),
-            builder
-        );
-    }
-    
     /**
      * Execute resetting an item to default
      */
@@ -0,0 +1,141 @@
+package net.flazesmp.flazesmpitems.command.commands;
+
+import com.google.gson.JsonObject;
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import net.flazesmp.flazesmpitems.command.IModCommand;
+import net.flazesmp.flazesmpitems.config.MessageConfig;
+import net.flazesmp.flazesmpitems.core.LatencyHistogram;
+import net.flazesmp.flazesmpitems.metrics.HitCounter;
+import net.flazesmp.flazesmpitems.metrics.ModMetrics;
+import net.minecraft.ChatFormatting;
+import net.minecraft.Util;
+import net.minecraft.commands.CommandBuildContext;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.fml.loading.FMLPaths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Command to show the mod's latency and lookup statistics, reset them or dump them to a JSON file
+ */
+public class StatsCommand implements IModCommand {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatsCommand.class);
+    private static final String STATS_DIR = "itemtooltipenhancer/stats";
+
+    /**
+     * Registers this command as a subcommand of the main command
+     */
+    public static void register(LiteralArgumentBuilder<CommandSourceStack> parent, CommandBuildContext buildContext) {
+        // stats command setup
+        parent.then(Commands.literal("stats")
+            .requires(source -> source.hasPermission(2)) // Admin permission level
+            .executes(StatsCommand::executeShow)
+            .then(Commands.literal("reset")
+                .executes(StatsCommand::executeReset))
+            .then(Commands.literal("dump")
+                .executes(StatsCommand::executeDump)));
+    }
+
+    /**
+     * Print percentiles and rates of every histogram, and the hit ratio of every lookup
+     */
+    private static int executeShow(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+
+        source.sendSuccess(() -> Component.literal(MessageConfig.getMessage("command.stats.header",
+            String.format(Locale.ROOT, "%.0f", ModMetrics.getElapsedSeconds()))), false);
+
+        for (LatencyHistogram histogram : ModMetrics.HISTOGRAMS) {
+            String line = MessageConfig.getMessage("command.stats.latency",
+                histogram.getName(),
+                micros(histogram.getPercentile(50)),
+                micros(histogram.getPercentile(99)),
+                micros(histogram.getMaxNanos()),
+                histogram.getCount(),
+                String.format(Locale.ROOT, "%.1f", ModMetrics.getRate(histogram)));
+            source.sendSuccess(() -> Component.literal(line), false);
+        }
+
+        for (HitCounter counter : ModMetrics.COUNTERS) {
+            String line = MessageConfig.getMessage("command.stats.lookup",
+                counter.getName(),
+                counter.getHits(),
+                counter.getMisses(),
+                String.format(Locale.ROOT, "%.1f", counter.getHitRatio() * 100));
+            source.sendSuccess(() -> Component.literal(line), false);
+        }
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int executeReset(CommandContext<CommandSourceStack> context) {
+        ModMetrics.reset();
+        context.getSource().sendSuccess(() -> Component.literal(MessageConfig.getMessage("command.stats.reset"))
+            .withStyle(ChatFormatting.GREEN), true);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    /**
+     * Capture the statistics on the server thread and write them on the IO pool
+     */
+    private static int executeDump(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        MinecraftServer server = source.getServer();
+
+        JsonObject json = ModMetrics.toJson();
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+        Path filePath = FMLPaths.GAMEDIR.get().resolve(STATS_DIR).resolve("stats_" + timestamp + ".json");
+
+        CompletableFuture
+            .runAsync(() -> {
+                try {
+                    ModMetrics.writeJson(json, filePath);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }, Util.ioPool())
+            .whenCompleteAsync((ignored, error) -> {
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    LOGGER.error("Failed to write statistics", cause);
+                    source.sendFailure(Component.literal(
+                            MessageConfig.getMessage("command.stats.dump_error", cause.getMessage()))
+                            .withStyle(ChatFormatting.RED));
+                    return;
+                }
+                source.sendSuccess(() -> Component.literal(MessageConfig.getMessage("command.stats.dump_success"))
+                        .withStyle(ChatFormatting.GREEN), false);
+                source.sendSuccess(() -> Component.literal(filePath.toString())
+                        .withStyle(ChatFormatting.YELLOW), false);
+            }, server);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+    }
+
+    /**
+     * Gets the name of this subcommand
+     */
+    public static String getName() {
+        return "stats";
+    }
+
+    /**
+     * Gets the description of this subcommand for the help message
+     */
+    public static String getDescription() {
+        return "Show tooltip latency and lookup statistics";
+    }
+}
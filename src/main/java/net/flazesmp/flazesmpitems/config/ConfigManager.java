@@ -1,13 +1,16 @@
 // ConfigManager.java - New file to handle config loading/saving
 package net.flazesmp.flazesmpitems.config;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import net.flazesmp.flazesmpitems.FlazeSMPItems;
+import net.flazesmp.flazesmpitems.core.ItemCustomization;
+import net.flazesmp.flazesmpitems.core.JsonCustomizationFiles;
+import net.flazesmp.flazesmpitems.metrics.ModMetrics;
+import net.flazesmp.flazesmpitems.metrics.jfr.ConfigFileEvent;
+import net.flazesmp.flazesmpitems.util.InternPool;
 import net.flazesmp.flazesmpitems.util.ItemRarity;
 import net.flazesmp.flazesmpitems.util.RarityManager;
+import net.flazesmp.flazesmpitems.util.RarityRegistry;
+import net.flazesmp.flazesmpitems.util.TooltipLines;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Item;
 import net.minecraftforge.fml.loading.FMLPaths;
@@ -16,37 +19,143 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class ConfigManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(ConfigManager.class);
-    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final Map<ResourceLocation, String> CUSTOM_TYPE_SUFFIXES = new HashMap<>();
     
+    // Which fields each item's config file customizes, kept in sync with the files on disk
+    private static final Map<ResourceLocation, Integer> CUSTOMIZATION_INDEX = new ConcurrentHashMap<>();
+    
     // Fix the config directory path - directly in config/itemtooltipenhancer/
-    private static final String CONFIG_DIR = "itemtooltipenhancer";
+    static final String CONFIG_DIR = "itemtooltipenhancer";
     private static final String EXAMPLE_FILE = "example_item.json";
+    private static final String SNAPSHOT_FILE = "itemtooltipenhancer-snapshot.bin";
+    
+    // Snapshot matching the sources found at startup, resolved once
+    private static ConfigSnapshot freshSnapshot;
+    private static boolean snapshotResolved = false;
+    
+    private static boolean initialized = false;
     
     /**
-     * Initialize the config system, creating necessary directories and example files
+     * Fields an item config file can customize
      */
-    public static void initialize() {
+    public enum CustomizationField {
+        RARITY,
+        DISPLAY_NAME,
+        CATEGORY,
+        TOOLTIPS,
+        TYPE_SUFFIX;
+        
+        public int mask() {
+            return 1 << ordinal();
+        }
+    }
+    
+    /**
+     * Initialize the config system, creating necessary directories and example files.
+     * Only the first call does anything, later ones return at once.
+     */
+    public static synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+        initialized = true;
         LOGGER.info("Initializing ItemTooltipEnhancer config system");
         
         // Vérifier et réparer la configuration si nécessaire
         checkAndRepairConfig();
         
+        // Tiers first, item configs and the snapshot refer to them
+        RarityTierConfig.load();
+        
+        // Use the compiled snapshot when no source file changed since it was written
+        ConfigSnapshot snapshot = getFreshSnapshot();
+        if (snapshot != null) {
+            int applied = snapshot.applyItems(CUSTOM_TYPE_SUFFIXES);
+            LOGGER.info("Restored {} item configs from config snapshot", applied);
+            return;
+        }
+        
         // Charger toutes les configurations
         loadAllConfigs();
     }
     
+    /**
+     * Gets the config snapshot if it was built from the source files present at startup
+     * 
+     * @return The snapshot, or null if it is missing or stale and sources must be parsed
+     */
+    public static ConfigSnapshot getFreshSnapshot() {
+        if (!snapshotResolved) {
+            snapshotResolved = true;
+            freshSnapshot = ConfigSnapshot.readIfFresh(getSnapshotPath(), computeSourceHash());
+        }
+        return freshSnapshot;
+    }
+    
+    /**
+     * Load the local item configs again after they were replaced, e.g. by a server's. Uses the
+     * snapshot when no source file changed since it was written, so no item file is parsed.
+     */
+    public static void restoreLocalConfigs() {
+        ConfigSnapshot snapshot = ConfigSnapshot.readIfFresh(getSnapshotPath(), computeSourceHash());
+        if (snapshot == null) {
+            loadAllConfigs();
+            return;
+        }
+        
+        CUSTOMIZATION_INDEX.clear();
+        int applied = snapshot.applyItems(CUSTOM_TYPE_SUFFIXES);
+        LOGGER.info("Restored {} item configs from config snapshot", applied);
+    }
+    
+    /**
+     * Write a snapshot of the currently loaded configuration for the next startup
+     */
+    public static void writeSnapshot() {
+        try {
+            ConfigSnapshot.write(getSnapshotPath(), computeSourceHash(), CUSTOM_TYPE_SUFFIXES);
+        } catch (IOException e) {
+            LOGGER.error("Failed to write config snapshot", e);
+        }
+    }
+    
+    private static Path getSnapshotPath() {
+        return FMLPaths.CONFIGDIR.get().resolve(SNAPSHOT_FILE);
+    }
+    
+    /**
+     * Hash every file the configuration is parsed from
+     */
+    private static long computeSourceHash() {
+        Path configRoot = FMLPaths.CONFIGDIR.get();
+        List<File> sources = new ArrayList<>();
+        sources.add(configRoot.resolve(RarityManager.DEFAULT_RARITIES_FILE).toFile());
+        sources.add(RarityTierConfig.getPath().toFile());
+        
+        File[] itemFiles = configRoot.resolve(CONFIG_DIR).toFile()
+            .listFiles((dir, name) -> name.toLowerCase().endsWith(".json"));
+        if (itemFiles != null) {
+            sources.addAll(Arrays.asList(itemFiles));
+        }
+        return ConfigSnapshot.computeSourceHash(sources);
+    }
+    
     /**
      * Create an example config file with extensive comments
      */
@@ -67,6 +176,7 @@ public class ConfigManager {
             "\n" +
             "  // Rarity affects text color if no color codes are used (optional)\n" +
             "  // Valid values: COMMON, UNCOMMON, RARE, EPIC, LEGENDARY, MYTHIC, SPECIAL, ADMIN\n" +
+            "  // and the keys of the custom tiers in itemtooltipenhancer-rarities.json\n" +
             "  \"rarity\": \"RARE\",\n" +
             "\n" +
             "  // Custom type suffix to appear after rarity (optional, defaults to automatic detection)\n" +
@@ -77,7 +187,9 @@ public class ConfigManager {
             "  \"category\": \"Magic Food\",\n" +
             "\n" +
             "  // Custom tooltip lines (optional)\n" +
-            "  // Each line can have color codes using '&' symbols\n" +
+            "  // Each line can have color codes using '&' symbols, and values of the hovered stack:\n" +
+            "  // {durability}, {max_durability}, {damage}, {count}, {enchant_count}, {name}, {item}, {nbt:Key}\n" +
+            "  // Start a line with [shift] or [ctrl] to only show it while that key is held\n" +
             "  \"tooltips\": {\n" +
             "    // The key is the line number, and the value is the tooltip text\n" +
             "    \"1\": \"&7This apple has magical properties\",\n" +
@@ -95,6 +207,7 @@ public class ConfigManager {
      */
     public static void loadAllConfigs() {
         LOGGER.info("Loading all configurations...");
+        long start = System.nanoTime();
         
         // Ensure config directory exists before trying to read files
         Path configDir = FMLPaths.CONFIGDIR.get().resolve(CONFIG_DIR);
@@ -111,6 +224,9 @@ public class ConfigManager {
             }
         }
         
+        // The index is rebuilt from the files that are actually present
+        CUSTOMIZATION_INDEX.clear();
+        
         // Process all JSON files in the directory
         AtomicInteger loadedCount = new AtomicInteger(0);
         File[] files = directory.listFiles((dir, name) -> name.toLowerCase().endsWith(".json"));
@@ -120,6 +236,8 @@ public class ConfigManager {
             return;
         }
         
+        // Everything is staged and published at once; the files are the source, so nothing is written back
+        RarityManager.Batch changes = RarityManager.begin(false);
         for (File file : files) {
             if (file.getName().equals(EXAMPLE_FILE)) {
                 // Skip example file
@@ -127,31 +245,40 @@ public class ConfigManager {
             }
             
             try {
-                if (loadItemConfig(file)) {
+                if (loadItemConfig(file, changes)) {
                     loadedCount.incrementAndGet();
                 }
             } catch (Exception e) {
                 LOGGER.error("Error loading item config from file: {}", file.getName(), e);
             }
         }
+        changes.commit();
+        ModMetrics.CONFIG_LOAD.recordSince(start);
         
         LOGGER.info("Loaded {} item configs from {}", loadedCount.get(), configDir);
+        LOGGER.debug("Pooling shared customization values has saved about {} KB ({} duplicates)",
+            InternPool.getBytesSaved() / 1024, InternPool.getDuplicateCount());
     }
     
     /**
      * Load a single item config from a file
      * 
      * @param file The file to load from
+     * @param changes The batch the item's data is staged on
      * @return true if the config was loaded successfully, false otherwise
      */
-    private static boolean loadItemConfig(File file) {
-        try (FileReader reader = new FileReader(file)) {
-            // Parse the JSON
-            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+    private static boolean loadItemConfig(File file, RarityManager.Batch changes) {
+        ConfigFileEvent fileEvent = new ConfigFileEvent();
+        fileEvent.begin();
+        String itemId = null;
+        boolean loaded = false;
+        
+        try {
+            ItemCustomization customization = itemFiles().read(file.toPath());
             
             // Get the item ID
-            String itemId = json.get("item").getAsString();
-            ResourceLocation resourceLocation = new ResourceLocation(itemId);
+            itemId = customization.getItemId();
+            ResourceLocation resourceLocation = InternPool.itemId(new ResourceLocation(itemId));
             Item item = ForgeRegistries.ITEMS.getValue(resourceLocation);
             
             if (item == null) {
@@ -161,56 +288,45 @@ public class ConfigManager {
             
             // Apply the config to the item
             
+            // Load custom type suffix
+            if (customization.getTypeSuffix() != null) {
+                CUSTOM_TYPE_SUFFIXES.put(resourceLocation, InternPool.intern(customization.getTypeSuffix()));
+            }
+            
             // Set rarity if specified
-            if (json.has("rarity")) {
-                String rarityStr = json.get("rarity").getAsString();
-                try {
-                    ItemRarity rarity = ItemRarity.valueOf(rarityStr.toUpperCase());
-                    RarityManager.setRarity(item, rarity);
-                } catch (IllegalArgumentException e) {
-                    LOGGER.warn("Invalid rarity in config file {}: {}", file.getName(), rarityStr);
+            if (customization.getRarity() != null) {
+                ItemRarity rarity = RarityRegistry.get(customization.getRarity());
+                if (rarity != null) {
+                    changes.setRarity(item, rarity);
+                } else {
+                    LOGGER.warn("Unknown rarity in config file {}: {}", file.getName(), customization.getRarity());
                 }
             }
             
             // Set display name if specified
-            if (json.has("displayName")) {
-                String displayName = json.get("displayName").getAsString();
-                RarityManager.setCustomName(item, displayName.replace('&', '§'));
+            if (customization.getDisplayName() != null) {
+                changes.setCustomName(item, customization.getDisplayName());
             }
             
             // Set category if specified
-            if (json.has("category")) {
-                String category = json.get("category").getAsString();
-                RarityManager.setItemCategory(item, category);
+            if (customization.getCategory() != null) {
+                changes.setItemCategory(item, customization.getCategory());
             }
             
             // Set tooltips if specified
-            if (json.has("tooltips") && json.get("tooltips").isJsonObject()) {
-                JsonObject tooltips = json.getAsJsonObject("tooltips");
-                tooltips.entrySet().forEach(entry -> {
-                    try {
-                        int line = Integer.parseInt(entry.getKey());
-                        String text = entry.getValue().getAsString().replace('&', '§');
-                        RarityManager.setTooltipLine(item, line, text);
-                    } catch (NumberFormatException e) {
-                        LOGGER.warn("Invalid tooltip line number in config file {}: {}", 
-                                file.getName(), entry.getKey());
-                    }
-                });
-            }
+            customization.getTooltips().forEach((line, text) -> changes.setTooltipLine(item, line, text));
             
-            // Load custom type suffix if specified
-            if (json.has("typeSuffix")) {
-                String typeSuffix = json.get("typeSuffix").getAsString().toUpperCase();
-                CUSTOM_TYPE_SUFFIXES.put(resourceLocation, typeSuffix);
-            }
+            indexItem(resourceLocation, fieldsOf(customization));
             
             LOGGER.debug("Loaded config for item {} from file {}", itemId, file.getName());
+            loaded = true;
             return true;
             
         } catch (Exception e) {
             LOGGER.error("Failed to load item config from file: {}", file.getName(), e);
             return false;
+        } finally {
+            commitFileEvent(fileEvent, "load", itemId, file.toPath(), loaded);
         }
     }
     
@@ -227,63 +343,51 @@ public class ConfigManager {
         }
         
         // Create the file name from the item ID (replacing : with _)
-        String fileName = itemId.toString().replace(':', '_') + ".json";
+        String fileName = JsonCustomizationFiles.fileNameOf(itemId.toString());
         Path filePath = FMLPaths.CONFIGDIR.get().resolve(CONFIG_DIR).resolve(fileName);
+        long start = System.nanoTime();
+        ConfigFileEvent fileEvent = new ConfigFileEvent();
+        fileEvent.begin();
+        boolean saved = false;
         
         try {
-            // Create a JSON object for the item config
-            JsonObject json = new JsonObject();
-            
-            // Add the item ID
-            json.addProperty("item", itemId.toString());
+            // Common rarities, data pack values and empty fields are left out of the file
+            ItemRarity rarity = RarityManager.getConfiguredRarity(item);
+            ItemCustomization customization = new ItemCustomization(
+                itemId.toString(),
+                rarity != null && rarity != ItemRarity.COMMON ? rarity.name() : null,
+                RarityManager.getCustomName(item),
+                RarityManager.getItemCategory(item),
+                RarityManager.getConfiguredTooltipLines(item).toMap(),
+                getCustomTypeSuffix(item));
             
-            // Add rarity if not default
-            ItemRarity rarity = RarityManager.getRarity(item);
-            if (rarity != ItemRarity.COMMON) {
-                json.addProperty("rarity", rarity.name());
-            }
-            
-            // Add display name if set
-            String displayName = RarityManager.getCustomName(item);
-            if (displayName != null && !displayName.isEmpty()) {
-                // Convert § to & for readability
-                json.addProperty("displayName", displayName.replace('§', '&'));
-            }
+            itemFiles().write(customization);
+            LOGGER.info("Saved config for item {} to file {}", itemId, fileName);
             
-            // Add category if set
-            String category = RarityManager.getItemCategory(item);
-            if (category != null && !category.isEmpty()) {
-                json.addProperty("category", category);
-            }
-            
-            // Add tooltips if any
-            Map<Integer, String> tooltips = RarityManager.getTooltipLines(item);
-            if (tooltips != null && !tooltips.isEmpty()) {
-                JsonObject tooltipsJson = new JsonObject();
-                tooltips.forEach((line, text) -> {
-                    // Convert § back to & for readability in config files
-                    tooltipsJson.addProperty(line.toString(), text.replace('§', '&'));
-                });
-                json.add("tooltips", tooltipsJson);
-            }
-            
-            // Add custom type suffix if set
-            String typeSuffix = getCustomTypeSuffix(item);
-            if (typeSuffix != null && !typeSuffix.isEmpty()) {
-                json.addProperty("typeSuffix", typeSuffix);
-            }
-            
-            // Ensure the parent directory exists
-            Files.createDirectories(filePath.getParent());
-            
-            // Write to file
-            try (FileWriter writer = new FileWriter(filePath.toFile())) {
-                GSON.toJson(json, writer);
-                LOGGER.info("Saved config for item {} to file {}", itemId, fileName);
-            }
+            indexItem(itemId, fieldsOf(customization));
+            ModMetrics.CONFIG_SAVE.recordSince(start);
+            saved = true;
             
         } catch (IOException e) {
             LOGGER.error("Failed to save item config to file: {}", fileName, e);
+        } finally {
+            commitFileEvent(fileEvent, "save", itemId.toString(), filePath, saved);
+        }
+    }
+    
+    /**
+     * Fill in and commit a config file event, only paying for the file size when it is recorded
+     */
+    private static void commitFileEvent(ConfigFileEvent fileEvent, String operation, String itemId,
+                                        Path file, boolean success) {
+        fileEvent.end();
+        if (fileEvent.shouldCommit()) {
+            fileEvent.operation = operation;
+            fileEvent.itemId = itemId;
+            fileEvent.fileName = file.getFileName().toString();
+            fileEvent.bytes = file.toFile().length();
+            fileEvent.success = success;
+            fileEvent.commit();
         }
     }
     
@@ -298,11 +402,11 @@ public class ConfigManager {
             return;
         }
         
-        String fileName = itemId.toString().replace(':', '_') + ".json";
-        Path filePath = FMLPaths.CONFIGDIR.get().resolve(CONFIG_DIR).resolve(fileName);
+        // Whether or not a file was present, the item no longer has one
+        CUSTOMIZATION_INDEX.remove(itemId);
         
         try {
-            boolean deleted = Files.deleteIfExists(filePath);
+            boolean deleted = itemFiles().delete(itemId.toString());
             if (deleted) {
                 LOGGER.info("Deleted config file for item {}", itemId);
             }
@@ -314,7 +418,7 @@ public class ConfigManager {
     public static void setCustomTypeSuffix(Item item, String suffix) {
         ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
         if (suffix != null && !suffix.isEmpty()) {
-            CUSTOM_TYPE_SUFFIXES.put(id, suffix.toUpperCase());
+            CUSTOM_TYPE_SUFFIXES.put(id, InternPool.intern(suffix.toUpperCase()));
         } else {
             CUSTOM_TYPE_SUFFIXES.remove(id);
         }
@@ -325,6 +429,13 @@ public class ConfigManager {
         return CUSTOM_TYPE_SUFFIXES.get(id);
     }
     
+    /**
+     * Gets all custom type suffixes, keyed by item ID
+     */
+    public static Map<ResourceLocation, String> getCustomTypeSuffixes() {
+        return Collections.unmodifiableMap(CUSTOM_TYPE_SUFFIXES);
+    }
+    
     /**
      * Check configuration integrity and repair if needed
      */
@@ -367,20 +478,89 @@ public class ConfigManager {
      * @return True if the item has custom data in config
      */
     public static boolean hasCustomItemData(ResourceLocation itemId) {
-        if (itemId == null) return false;
-        
-        try {
-            // Check if we have a config file for this item
-            Path configPath = FMLPaths.GAMEDIR.get().resolve("config")
-                    .resolve(CONFIG_DIR)
-                    .resolve("items")
-                    .resolve(itemId.getNamespace())
-                    .resolve(itemId.getPath() + ".json");
-            
-            return Files.exists(configPath);
-        } catch (Exception e) {
-            LOGGER.error("Error checking custom item data for {}: {}", itemId, e.getMessage());
-            return false;
+        return itemId != null && CUSTOMIZATION_INDEX.containsKey(itemId);
+    }
+    
+    /**
+     * Check if an item's config file customizes a specific field
+     * @param itemId The item's resource location
+     * @param field The field to check
+     * @return True if the field is set in the item's config
+     */
+    public static boolean hasCustomField(ResourceLocation itemId, CustomizationField field) {
+        return (getCustomizationMask(itemId) & field.mask()) != 0;
+    }
+    
+    /**
+     * Gets the fields an item's config file customizes
+     * @param itemId The item's resource location
+     * @return The customized fields, empty if the item has no config
+     */
+    public static Set<CustomizationField> getCustomizedFields(ResourceLocation itemId) {
+        int mask = getCustomizationMask(itemId);
+        Set<CustomizationField> fields = EnumSet.noneOf(CustomizationField.class);
+        for (CustomizationField field : CustomizationField.values()) {
+            if ((mask & field.mask()) != 0) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+    
+    /**
+     * Gets the number of items with explicit customizations in config
+     */
+    public static int getCustomizedItemCount() {
+        return CUSTOMIZATION_INDEX.size();
+    }
+    
+    static int getCustomizationMask(ResourceLocation itemId) {
+        if (itemId == null) return 0;
+        return CUSTOMIZATION_INDEX.getOrDefault(itemId, 0);
+    }
+    
+    /**
+     * Record which fields an item's config customizes
+     */
+    static void indexItem(ResourceLocation itemId, int fieldMask) {
+        if (fieldMask == 0) {
+            CUSTOMIZATION_INDEX.remove(itemId);
+        } else {
+            CUSTOMIZATION_INDEX.put(itemId, fieldMask);
+        }
+    }
+    
+    /**
+     * Compute the field mask of an item's customization
+     */
+    private static int fieldsOf(ItemCustomization customization) {
+        int mask = 0;
+        if (customization.getRarity() != null) {
+            mask |= CustomizationField.RARITY.mask();
+        }
+        if (hasText(customization.getDisplayName())) {
+            mask |= CustomizationField.DISPLAY_NAME.mask();
+        }
+        if (hasText(customization.getCategory())) {
+            mask |= CustomizationField.CATEGORY.mask();
+        }
+        if (!customization.getTooltips().isEmpty()) {
+            mask |= CustomizationField.TOOLTIPS.mask();
         }
+        if (hasText(customization.getTypeSuffix())) {
+            mask |= CustomizationField.TYPE_SUFFIX.mask();
+        }
+        return mask;
+    }
+    
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+    
+    /**
+     * Gets the item config files, resolved against the current config directory
+     */
+    static JsonCustomizationFiles itemFiles() {
+        return new JsonCustomizationFiles(FMLPaths.CONFIGDIR.get().resolve(CONFIG_DIR), EXAMPLE_FILE);
     }
 }
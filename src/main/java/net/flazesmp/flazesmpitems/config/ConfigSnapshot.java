@@ -0,0 +1,361 @@
+package net.flazesmp.flazesmpitems.config;
+
+import net.flazesmp.flazesmpitems.util.InternPool;
+import net.flazesmp.flazesmpitems.util.ItemRarity;
+import net.flazesmp.flazesmpitems.util.RarityManager;
+import net.flazesmp.flazesmpitems.util.TooltipLines;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary snapshot of every parsed config source (item configs, rarity tiers and default rarities).
+ *
+ * Layout: header (magic, version, source hash, registry hash), a UTF-8 string pool,
+ * one pre-resolved default rarity byte per registry id, the registry ids of the manual rarities and one record per customized item keyed by
+ * its integer registry id. The whole file is read with a single memory-mapped read.
+ *
+ * The messages TOML is not covered: messages are needed from the mod constructor on, while the
+ * snapshot can only be checked against the item registry once it is frozen. It is a single small
+ * file, so MessageConfig parses it directly.
+ */
+public class ConfigSnapshot {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigSnapshot.class);
+
+    private static final int MAGIC = 0x49544553; // "ITES"
+    private static final int FORMAT_VERSION = 4;
+    private static final byte NO_RARITY = -1;
+    private static final int NO_STRING = -1;
+
+    // FNV-1a 64-bit constants used for the source and registry hashes
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final byte[] defaultRarities;
+    private final int[] manualRarities;
+    private final List<ItemRecord> records;
+
+    private ConfigSnapshot(byte[] defaultRarities, int[] manualRarities, List<ItemRecord> records) {
+        this.defaultRarities = defaultRarities;
+        this.manualRarities = manualRarities;
+        this.records = records;
+    }
+
+    /**
+     * Apply the stored item customizations without touching any config file
+     *
+     * @param typeSuffixes The custom type suffix map to fill
+     * @return The number of items restored
+     */
+    int applyItems(Map<ResourceLocation, String> typeSuffixes) {
+        RarityManager.restore(restore -> {
+            for (ItemRecord record : records) {
+                Item item = BuiltInRegistries.ITEM.byId(record.registryId);
+                ResourceLocation id = BuiltInRegistries.ITEM.getKey(item);
+
+                ItemRarity rarity = record.rarity == NO_RARITY ? null : ItemRarity.byId(record.rarity & 0xFF);
+                restore.item(item, rarity, record.customName, record.category, record.tooltipLines);
+
+                if (record.typeSuffix != null) {
+                    typeSuffixes.put(id, InternPool.intern(record.typeSuffix));
+                }
+                ConfigManager.indexItem(id, record.customizedFields);
+            }
+        });
+        return records.size();
+    }
+
+    /**
+     * Restore the pre-resolved default rarity of every registered item. Manual rarities become
+     * explicit rarities again, as on a start without snapshot.
+     *
+     * @return The number of default rarities restored
+     */
+    public int applyDefaultRarities() {
+        RarityManager.restore(restore -> {
+            for (int registryId : manualRarities) {
+                restore.manualRarity(BuiltInRegistries.ITEM.byId(registryId), ItemRarity.byId(defaultRarities[registryId] & 0xFF));
+            }
+        });
+
+        int restored = 0;
+        for (int registryId = 0; registryId < defaultRarities.length; registryId++) {
+            byte rarity = defaultRarities[registryId];
+            if (rarity != NO_RARITY) {
+                RarityManager.restoreDefaultRarity(BuiltInRegistries.ITEM.byId(registryId), ItemRarity.byId(rarity & 0xFF));
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * Read the snapshot at the given path if it was built from the current sources
+     *
+     * @param path The snapshot file
+     * @param sourceHash The hash of the current source files
+     * @return The decoded snapshot, or null if it is missing, corrupt or stale
+     */
+    static ConfigSnapshot readIfFresh(Path path, long sourceHash) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                LOGGER.info("Ignoring config snapshot with unknown format");
+                return null;
+            }
+            if (buffer.getLong() != sourceHash || buffer.getLong() != computeRegistryHash()) {
+                LOGGER.info("Config sources changed since the last snapshot, reparsing");
+                return null;
+            }
+
+            // String pool
+            String[] pool = new String[buffer.getInt()];
+            for (int i = 0; i < pool.length; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                pool[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            // Default rarities indexed by registry id
+            byte[] defaultRarities = new byte[buffer.getInt()];
+            buffer.get(defaultRarities);
+            int[] manualRarities = new int[buffer.getInt()];
+            for (int i = 0; i < manualRarities.length; i++) {
+                manualRarities[i] = buffer.getInt();
+                if (defaultRarities[manualRarities[i]] == NO_RARITY) {
+                    throw new IOException("Manual rarity without default rarity");
+                }
+            }
+
+            // Item records
+            int recordCount = buffer.getInt();
+            List<ItemRecord> records = new ArrayList<>(recordCount);
+            for (int i = 0; i < recordCount; i++) {
+                ItemRecord record = new ItemRecord();
+                record.registryId = buffer.getInt();
+                record.rarity = buffer.get();
+                record.customName = poolString(pool, buffer.getInt());
+                record.category = poolString(pool, buffer.getInt());
+                record.typeSuffix = poolString(pool, buffer.getInt());
+                record.customizedFields = buffer.getInt();
+
+                int lineCount = buffer.getInt();
+                if (lineCount > 0) {
+                    record.tooltipLines = new HashMap<>();
+                    for (int line = 0; line < lineCount; line++) {
+                        record.tooltipLines.put(buffer.getInt(), pool[buffer.getInt()]);
+                    }
+                }
+                records.add(record);
+            }
+
+            return new ConfigSnapshot(defaultRarities, manualRarities, records);
+        } catch (Exception e) {
+            LOGGER.warn("Failed to read config snapshot {}, reparsing sources: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write a snapshot of the current in-memory state
+     *
+     * @param path The snapshot file
+     * @param sourceHash The hash of the source files the state was parsed from
+     * @param typeSuffixes The custom type suffixes
+     */
+    static void write(Path path, long sourceHash, Map<ResourceLocation, String> typeSuffixes) throws IOException {
+        StringPool pool = new StringPool();
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream body = new DataOutputStream(bodyBytes);
+
+        // Pre-resolved default rarities, one byte per registry id
+        int registrySize = BuiltInRegistries.ITEM.size();
+        byte[] defaultRarities = new byte[registrySize];
+        Arrays.fill(defaultRarities, NO_RARITY);
+        for (int registryId = 0; registryId < registrySize; registryId++) {
+            ItemRarity rarity = RarityManager.getStoredDefaultRarity(BuiltInRegistries.ITEM.byId(registryId));
+            if (rarity != null) {
+                defaultRarities[registryId] = (byte) rarity.getId();
+            }
+        }
+        body.writeInt(defaultRarities.length);
+        body.write(defaultRarities);
+
+        // Manual rarities, restored as explicit rarities
+        List<Integer> manualRarities = new ArrayList<>();
+        for (int registryId = 0; registryId < registrySize; registryId++) {
+            if (defaultRarities[registryId] != NO_RARITY && RarityManager.isManualRarity(BuiltInRegistries.ITEM.byId(registryId))) {
+                manualRarities.add(registryId);
+            }
+        }
+        body.writeInt(manualRarities.size());
+        for (int registryId : manualRarities) {
+            body.writeInt(registryId);
+        }
+
+        // One record per customized item
+        List<Item> items = new ArrayList<>();
+        for (ResourceLocation id : RarityManager.getCustomizedItemIds()) {
+            items.add(BuiltInRegistries.ITEM.get(id));
+        }
+        for (ResourceLocation id : typeSuffixes.keySet()) {
+            Item item = BuiltInRegistries.ITEM.get(id);
+            if (!RarityManager.hasCustomizations(item)) {
+                items.add(item);
+            }
+        }
+        items.sort(Comparator.comparingInt(BuiltInRegistries.ITEM::getId));
+
+        body.writeInt(items.size());
+        for (Item item : items) {
+            ItemRarity rarity = RarityManager.getExplicitRarity(item);
+            TooltipLines tooltipLines = RarityManager.getConfiguredTooltipLines(item);
+
+            body.writeInt(BuiltInRegistries.ITEM.getId(item));
+            body.writeByte(rarity == null ? NO_RARITY : rarity.getId());
+            body.writeInt(pool.indexOf(RarityManager.getCustomName(item)));
+            body.writeInt(pool.indexOf(RarityManager.getExplicitCategory(item)));
+            body.writeInt(pool.indexOf(typeSuffixes.get(BuiltInRegistries.ITEM.getKey(item))));
+            body.writeInt(ConfigManager.getCustomizationMask(BuiltInRegistries.ITEM.getKey(item)));
+            body.writeInt(tooltipLines.size());
+            for (int i = 0; i < tooltipLines.size(); i++) {
+                body.writeInt(tooltipLines.lineAt(i));
+                body.writeInt(pool.indexOf(tooltipLines.textAt(i)));
+            }
+        }
+        body.flush();
+
+        // Header and string pool go first so the reader can resolve indices in one pass
+        ByteArrayOutputStream fileBytes = new ByteArrayOutputStream(bodyBytes.size() + pool.byteSize + 64);
+        DataOutputStream out = new DataOutputStream(fileBytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(sourceHash);
+        out.writeLong(computeRegistryHash());
+        out.writeInt(pool.strings.size());
+        for (String value : pool.strings.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        bodyBytes.writeTo(out);
+        out.flush();
+
+        // Write to a temporary file first so a crash never leaves a half-written snapshot
+        Files.createDirectories(path.getParent());
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(tempPath, fileBytes.toByteArray());
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        LOGGER.info("Wrote config snapshot with {} items and {} strings ({} bytes)",
+            items.size(), pool.strings.size(), fileBytes.size());
+    }
+
+    /**
+     * Hash the name, size and modification time of every source file
+     *
+     * @param sources The source files, in any order
+     * @return A hash that changes whenever any source file changes
+     */
+    static long computeSourceHash(List<File> sources) {
+        List<File> sorted = new ArrayList<>(sources);
+        sorted.sort(Comparator.comparing(File::getName));
+
+        long hash = mix(FNV_OFFSET, FORMAT_VERSION);
+        for (File file : sorted) {
+            hash = mix(hash, file.getName());
+            hash = mix(hash, file.exists() ? file.length() : -1L);
+            hash = mix(hash, file.exists() ? file.lastModified() : -1L);
+        }
+        return hash;
+    }
+
+    /**
+     * Hash the item registry in id order, so records keyed by registry id are never
+     * applied to a registry with different contents
+     */
+    private static long computeRegistryHash() {
+        long hash = FNV_OFFSET;
+        int size = BuiltInRegistries.ITEM.size();
+        hash = mix(hash, size);
+        for (int registryId = 0; registryId < size; registryId++) {
+            hash = mix(hash, BuiltInRegistries.ITEM.getKey(BuiltInRegistries.ITEM.byId(registryId)).toString());
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static String poolString(String[] pool, int index) {
+        return index == NO_STRING ? null : pool[index];
+    }
+
+    /**
+     * Decoded customization record for a single item
+     */
+    private static class ItemRecord {
+        int registryId;
+        byte rarity;
+        String customName;
+        String category;
+        String typeSuffix;
+        int customizedFields;
+        Map<Integer, String> tooltipLines;
+    }
+
+    /**
+     * Deduplicating string pool used while writing
+     */
+    private static class StringPool {
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        int byteSize;
+
+        int indexOf(String value) {
+            if (value == null) {
+                return NO_STRING;
+            }
+            return strings.computeIfAbsent(value, key -> {
+                byteSize += 4 + key.length();
+                return strings.size();
+            });
+        }
+    }
+}
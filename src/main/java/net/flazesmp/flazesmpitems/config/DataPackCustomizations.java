@@ -0,0 +1,64 @@
+package net.flazesmp.flazesmpitems.config;
+
+import net.flazesmp.flazesmpitems.util.ItemRarity;
+import net.flazesmp.flazesmpitems.util.TooltipLines;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable rarities and tooltip lines defined by the loaded data packs. A new table is built on
+ * every reload and swapped in as a whole.
+ */
+public final class DataPackCustomizations {
+    public static final DataPackCustomizations EMPTY = new DataPackCustomizations(Map.of(), Map.of());
+
+    private final Map<ResourceLocation, ItemRarity> rarities;
+    private final Map<ResourceLocation, TooltipLines> tooltips;
+    private final Set<ResourceLocation> itemIds;
+
+    public DataPackCustomizations(Map<ResourceLocation, ItemRarity> rarities, Map<ResourceLocation, TooltipLines> tooltips) {
+        this.rarities = Map.copyOf(rarities);
+        this.tooltips = Map.copyOf(tooltips);
+
+        Set<ResourceLocation> ids = new HashSet<>(rarities.keySet());
+        ids.addAll(tooltips.keySet());
+        this.itemIds = Collections.unmodifiableSet(ids);
+    }
+
+    /**
+     * Gets the rarity a data pack defines for an item
+     *
+     * @return The rarity, or null if no data pack defines one
+     */
+    public ItemRarity getRarity(ResourceLocation id) {
+        return rarities.get(id);
+    }
+
+    /**
+     * Gets the tooltip lines a data pack defines for an item
+     *
+     * @return The lines, or null if no data pack defines any
+     */
+    public TooltipLines getTooltipLines(ResourceLocation id) {
+        return tooltips.get(id);
+    }
+
+    public int getRarityCount() {
+        return rarities.size();
+    }
+
+    public int getTooltipCount() {
+        return tooltips.size();
+    }
+
+    /**
+     * Gets the IDs of all items with data pack definitions
+     */
+    public Set<ResourceLocation> getItemIds() {
+        return itemIds;
+    }
+}
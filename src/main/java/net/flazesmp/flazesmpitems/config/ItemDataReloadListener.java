@@ -0,0 +1,158 @@
+package net.flazesmp.flazesmpitems.config;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.flazesmp.flazesmpitems.FlazeSMPItems;
+import net.flazesmp.flazesmpitems.util.InternPool;
+import net.flazesmp.flazesmpitems.util.ItemRarity;
+import net.flazesmp.flazesmpitems.util.RarityManager;
+import net.flazesmp.flazesmpitems.util.TooltipLines;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Loads item rarities and tooltip lines from data packs, on world load and on /reload.
+ *
+ * data/&lt;namespace&gt;/item_rarities/*.json maps item IDs to rarity names, e.g.
+ * {"minecraft:diamond": "RARE"}. data/&lt;namespace&gt;/item_tooltips/*.json maps item IDs to tooltip
+ * lines, either as an array or as an object keyed by line number like the item config files.
+ * Higher priority packs override lower ones per item, and the config files override both.
+ *
+ * All files are read and parsed in the prepare phase on a worker thread; the apply phase on the
+ * server thread only swaps the finished table in.
+ */
+@Mod.EventBusSubscriber(modid = FlazeSMPItems.MOD_ID)
+public class ItemDataReloadListener extends SimplePreparableReloadListener<DataPackCustomizations> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemDataReloadListener.class);
+    private static final String RARITIES_DIR = "item_rarities";
+    private static final String TOOLTIPS_DIR = "item_tooltips";
+
+    @SubscribeEvent
+    public static void onAddReloadListeners(AddReloadListenerEvent event) {
+        event.addListener(new ItemDataReloadListener());
+    }
+
+    /**
+     * Drop the definitions of the stopped world, so they do not leak into the next server joined
+     */
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        RarityManager.applyDataPack(DataPackCustomizations.EMPTY);
+    }
+
+    @Override
+    protected DataPackCustomizations prepare(ResourceManager resourceManager, ProfilerFiller profiler) {
+        Map<ResourceLocation, ItemRarity> rarities = new HashMap<>();
+        Map<ResourceLocation, TooltipLines> tooltips = new HashMap<>();
+
+        forEachFile(resourceManager, RARITIES_DIR, (file, json) -> {
+            for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+                ResourceLocation id = itemId(file, entry.getKey());
+                if (id == null) {
+                    continue;
+                }
+                String rarityName = entry.getValue().getAsString();
+                try {
+                    rarities.put(id, ItemRarity.valueOf(rarityName.toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    LOGGER.warn("Invalid rarity for {} in {}: {}", id, file, rarityName);
+                }
+            }
+        });
+
+        forEachFile(resourceManager, TOOLTIPS_DIR, (file, json) -> {
+            for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+                ResourceLocation id = itemId(file, entry.getKey());
+                if (id == null) {
+                    continue;
+                }
+                Map<Integer, String> lines = parseLines(file, entry.getValue());
+                if (lines.isEmpty()) {
+                    tooltips.remove(id);
+                } else {
+                    tooltips.put(id, TooltipLines.of(lines));
+                }
+            }
+        });
+
+        return new DataPackCustomizations(rarities, tooltips);
+    }
+
+    @Override
+    protected void apply(DataPackCustomizations customizations, ResourceManager resourceManager, ProfilerFiller profiler) {
+        RarityManager.applyDataPack(customizations);
+        LOGGER.info("Loaded {} rarities and {} tooltips from data packs",
+            customizations.getRarityCount(), customizations.getTooltipCount());
+    }
+
+    /**
+     * Parse every JSON file of a directory, lowest priority pack first so later ones override
+     */
+    private static void forEachFile(ResourceManager resourceManager, String directory, FileParser parser) {
+        Map<ResourceLocation, List<Resource>> files =
+            resourceManager.listResourceStacks(directory, location -> location.getPath().endsWith(".json"));
+
+        for (Map.Entry<ResourceLocation, List<Resource>> file : files.entrySet()) {
+            for (Resource resource : file.getValue()) {
+                try (Reader reader = resource.openAsReader()) {
+                    parser.parse(file.getKey(), JsonParser.parseReader(reader).getAsJsonObject());
+                } catch (Exception e) {
+                    LOGGER.error("Failed to load {} from data pack {}", file.getKey(), resource.sourcePackId(), e);
+                }
+            }
+        }
+    }
+
+    private static ResourceLocation itemId(ResourceLocation file, String key) {
+        ResourceLocation id = ResourceLocation.tryParse(key);
+        if (id == null || !ForgeRegistries.ITEMS.containsKey(id)) {
+            LOGGER.warn("Unknown item ID in {}: {}", file, key);
+            return null;
+        }
+        return InternPool.itemId(id);
+    }
+
+    /**
+     * Read tooltip lines from an array, numbered from 1, or from an object keyed by line number
+     */
+    private static Map<Integer, String> parseLines(ResourceLocation file, JsonElement json) {
+        Map<Integer, String> lines = new TreeMap<>();
+        if (json.isJsonArray()) {
+            int line = 1;
+            for (JsonElement text : json.getAsJsonArray()) {
+                lines.put(line++, text.getAsString().replace('&', '§'));
+            }
+        } else if (json.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject().entrySet()) {
+                try {
+                    lines.put(Integer.parseInt(entry.getKey()), entry.getValue().getAsString().replace('&', '§'));
+                } catch (IllegalArgumentException e) {
+                    LOGGER.warn("Invalid tooltip line number in {}: {}", file, entry.getKey());
+                }
+            }
+        }
+        return lines;
+    }
+
+    @FunctionalInterface
+    private interface FileParser {
+        void parse(ResourceLocation file, JsonObject json);
+    }
+}
@@ -1,6 +1,9 @@
 package net.flazesmp.flazesmpitems.config;
 
 import net.flazesmp.flazesmpitems.FlazeSMPItems;
+import net.flazesmp.flazesmpitems.core.MessageCatalog;
+import net.flazesmp.flazesmpitems.core.MessageTemplates;
+import net.flazesmp.flazesmpitems.metrics.ModMetrics;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.config.ModConfig;
@@ -28,11 +31,14 @@ public class MessageConfig {
     // Original message mapping for fallback
     private static final Map<String, String> ORIGINAL_MESSAGES = new HashMap<>();
     
+    // The configured messages as a catalog of the core module
+    public static final MessageCatalog CATALOG = MessageConfig::getMessage;
+    
     // Message cache to avoid repeated config lookups
     private static Map<String, String> messageCache = new HashMap<>();
     
     // Properties file for messages
-    private static final String MESSAGES_FILE = "itemtooltipenhancer-messages.toml";
+    static final String MESSAGES_FILE = "itemtooltipenhancer-messages.toml";
     private static Properties messagesProps = new Properties();
     
     /**
@@ -45,7 +51,8 @@ public class MessageConfig {
         // Create messages file if it doesn't exist
         createMessagesFile();
         
-        // Load messages from properties file
+        // Parsed right away, this runs in the mod constructor before the config snapshot can be
+        // checked against the item registry
         loadMessages();
     }
 
@@ -125,7 +132,7 @@ public class MessageConfig {
     /**
      * Register all default messages for fallback
      */
-    private static void registerDefaultMessages() {
+    static void registerDefaultMessages() {
         // Command messages
         ORIGINAL_MESSAGES.put("command.reset.held_item_requirement", "You must hold an item in your main hand");
         ORIGINAL_MESSAGES.put("command.reset.success", "Reset item: &e{0}");
@@ -142,9 +149,22 @@ public class MessageConfig {
         ORIGINAL_MESSAGES.put("command.tooltip.error", "Error setting tooltip: &c{0}");
         ORIGINAL_MESSAGES.put("command.rarity.success", "Updated rarity for {0} to: {1}");
         ORIGINAL_MESSAGES.put("command.rarity.error", "Error setting rarity: &c{0}");
+        ORIGINAL_MESSAGES.put("command.bulk.success", "&aUpdated {0} of {1} items matching {2}");
+        ORIGINAL_MESSAGES.put("command.bulk.no_match", "&cNo items match selector: {0}");
+        ORIGINAL_MESSAGES.put("command.bulk.invalid_selector", "&cInvalid item selector: {0} (use #tag, namespace:* or a glob like *:*_sword)");
+        ORIGINAL_MESSAGES.put("command.bulk.error", "&cBulk edit failed: {0}");
         ORIGINAL_MESSAGES.put("command.dump.collecting", "&eCollecting item information...");
         ORIGINAL_MESSAGES.put("command.dump.success", "&aSuccessfully dumped {0} items to file:");
         ORIGINAL_MESSAGES.put("command.dump.error", "&cFailed to dump items: {0}");
+        ORIGINAL_MESSAGES.put("command.dump.progress", "&7Dumping items... {0}/{1}");
+        ORIGINAL_MESSAGES.put("command.dump.already_running", "&cAn item dump is already in progress");
+        ORIGINAL_MESSAGES.put("command.dump.invalid_format", "&cUnknown dump format: {0} (valid: text, csv, ndjson)");
+        ORIGINAL_MESSAGES.put("command.stats.header", "&6=== ItemTooltipEnhancer Stats (last {0}s) ===");
+        ORIGINAL_MESSAGES.put("command.stats.latency", "&e{0}&7: p50 &f{1}&7 µs, p99 &f{2}&7 µs, max &f{3}&7 µs, &f{4}&7 samples (&f{5}&7/s)");
+        ORIGINAL_MESSAGES.put("command.stats.lookup", "&e{0} lookups&7: &f{1}&7 hits, &f{2}&7 misses (&f{3}%&7 hits)");
+        ORIGINAL_MESSAGES.put("command.stats.reset", "&aStatistics reset");
+        ORIGINAL_MESSAGES.put("command.stats.dump_success", "&aWrote statistics to file:");
+        ORIGINAL_MESSAGES.put("command.stats.dump_error", "&cFailed to write statistics: {0}");
         ORIGINAL_MESSAGES.put("command.reload.checking", "&eChecking and repairing config files if needed...");
         ORIGINAL_MESSAGES.put("command.reload.success", "&aConfiguration reloaded successfully!");
         ORIGINAL_MESSAGES.put("command.reload.error", "&cFailed to reload configuration: {0}");
@@ -171,6 +191,21 @@ public class MessageConfig {
         ORIGINAL_MESSAGES.put("tooltip.potion.custom_potion", "Custom Potion");
         ORIGINAL_MESSAGES.put("tooltip.music_disc.track", "&7Track: &9{0}");
         ORIGINAL_MESSAGES.put("tooltip.music_disc.unknown", "Unknown Track");
+        ORIGINAL_MESSAGES.put("tooltip.hint.shift", "&8Hold &7Shift &8for more");
+        ORIGINAL_MESSAGES.put("tooltip.hint.ctrl", "&8Hold &7Ctrl &8for details");
+        ORIGINAL_MESSAGES.put("tooltip.container.header", "&7Contents: &f{0} &7items");
+        ORIGINAL_MESSAGES.put("tooltip.container.highest", "&7Highest rarity: ");
+        ORIGINAL_MESSAGES.put("tooltip.container.entry", "&7  {0} &8x{1}");
+        ORIGINAL_MESSAGES.put("tooltip.container.more", "&8  and {0} more");
+        ORIGINAL_MESSAGES.put("tooltip.stats.header", "STATS");
+        ORIGINAL_MESSAGES.put("tooltip.stats.damage", "&7Damage: &c{0}");
+        ORIGINAL_MESSAGES.put("tooltip.stats.bonus", " &9(+{0})");
+        ORIGINAL_MESSAGES.put("tooltip.stats.speed", "&7Attack Speed: &e{0}");
+        ORIGINAL_MESSAGES.put("tooltip.stats.armor", "&7Armor: &a{0}");
+        ORIGINAL_MESSAGES.put("tooltip.stats.toughness", "&7Toughness: &a{0}");
+        ORIGINAL_MESSAGES.put("tooltip.stats.durability", "&7Durability: &f{0}&8/{1}");
+        ORIGINAL_MESSAGES.put("tooltip.stats.better", " &a(+{0})");
+        ORIGINAL_MESSAGES.put("tooltip.stats.worse", " &c({0})");
     }
     
     /**
@@ -261,15 +296,7 @@ public class MessageConfig {
      * Format a message with parameters and color codes
      */
     private static String formatMessage(String message, Object... params) {
-        // Replace color codes
-        String formatted = message.replace('&', '§');
-        
-        // Replace parameters
-        for (int i = 0; i < params.length; i++) {
-            formatted = formatted.replace("{" + i + "}", String.valueOf(params[i]));
-        }
-        
-        return formatted;
+        return MessageTemplates.format(message, params);
     }
     
     /**
@@ -371,12 +398,14 @@ public class MessageConfig {
     public static String getMessage(String key, Object... params) {
         // Check cache first
         if (messageCache.containsKey(key)) {
+            ModMetrics.MESSAGE_LOOKUPS.hit();
             String cached = messageCache.get(key);
             FlazeSMPItems.LOGGER.debug("Using cached message for {}: {}", key, cached);
             return formatMessage(cached, params);
         }
         
         // Get from properties
+        ModMetrics.MESSAGE_LOOKUPS.miss();
         String message = messagesProps.getProperty(key);
         
         // Log what was found in the properties
@@ -0,0 +1,164 @@
+package net.flazesmp.flazesmpitems.config;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.flazesmp.flazesmpitems.util.ItemRarity;
+import net.flazesmp.flazesmpitems.util.RarityRegistry;
+import net.flazesmp.flazesmpitems.util.RarityTierDefinition;
+import net.flazesmp.flazesmpitems.util.StackRarityRules;
+import net.minecraftforge.fml.loading.FMLPaths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Loads the custom rarity tiers and stack rarity rules from itemtooltipenhancer-rarities.json.
+ * Tiers are read once at startup, since item configs, snapshots and synced clients refer to them
+ * by id; stack rules are read again by /ite reload.
+ */
+public class RarityTierConfig {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RarityTierConfig.class);
+
+    static final String RARITIES_FILE = "itemtooltipenhancer-rarities.json";
+
+    // Tiers and rules of this game instance, restored on a client after leaving a server with other ones
+    private static List<RarityTierDefinition> localTiers = List.of();
+    private static JsonArray localStackRules = new JsonArray();
+
+    /**
+     * Read the tiers file, creating it first if needed, and register its tiers and stack rules
+     */
+    public static void load() {
+        Path path = getPath();
+        try {
+            if (!Files.exists(path)) {
+                createTiersFile(path);
+            }
+
+            JsonObject root = readRoot(path);
+            localTiers = parseTiers(root);
+            localStackRules = parseStackRules(root);
+        } catch (Exception e) {
+            LOGGER.error("Failed to load rarity tiers from {}, using the built-in tiers only", path, e);
+            localTiers = List.of();
+            localStackRules = new JsonArray();
+        }
+        RarityRegistry.setCustomTiers(localTiers);
+        StackRarityRules.setRules(localStackRules);
+    }
+
+    /**
+     * Read the stack rules again, the tiers only change on restart
+     */
+    public static void reloadStackRules() throws IOException {
+        Path path = getPath();
+        if (!Files.exists(path)) {
+            return;
+        }
+        localStackRules = parseStackRules(readRoot(path));
+        StackRarityRules.setRules(localStackRules);
+    }
+
+    /**
+     * Use the tiers and stack rules of this instance again
+     */
+    public static void restoreLocal() {
+        RarityRegistry.setCustomTiers(localTiers);
+        StackRarityRules.setRules(localStackRules);
+    }
+
+    private static JsonObject readRoot(Path path) throws IOException {
+        try (FileReader reader = new FileReader(path.toFile())) {
+            return JsonParser.parseReader(reader).getAsJsonObject();
+        }
+    }
+
+    static Path getPath() {
+        return FMLPaths.CONFIGDIR.get().resolve(RARITIES_FILE);
+    }
+
+    private static List<RarityTierDefinition> parseTiers(JsonObject root) {
+        List<RarityTierDefinition> tiers = new ArrayList<>();
+        if (!root.has("tiers")) {
+            return tiers;
+        }
+
+        JsonArray array = root.getAsJsonArray("tiers");
+        int index = 0;
+        for (JsonElement element : array) {
+            index++;
+            try {
+                JsonObject json = element.getAsJsonObject();
+                String key = json.get("key").getAsString().trim().toUpperCase(Locale.ROOT);
+                if (key.isEmpty() || key.contains(" ")) {
+                    LOGGER.warn("Skipping rarity tier #{}: the key must be a single word", index);
+                    continue;
+                }
+                String name = json.has("name") ? json.get("name").getAsString() : key.charAt(0) + key.substring(1).toLowerCase(Locale.ROOT);
+                String color = json.has("color") ? json.get("color").getAsString() : "white";
+                int order = json.has("order") ? json.get("order").getAsInt() : 1000 + index;
+                String format = json.has("format") ? json.get("format").getAsString() : ItemRarity.DEFAULT_LINE_FORMAT;
+                boolean bold = !json.has("bold") || json.get("bold").getAsBoolean();
+                tiers.add(new RarityTierDefinition(key, name, color, order, format, bold));
+            } catch (Exception e) {
+                LOGGER.warn("Skipping invalid rarity tier #{}: {}", index, e.getMessage());
+            }
+        }
+        return tiers;
+    }
+
+    private static JsonArray parseStackRules(JsonObject root) {
+        return root.has("stackRules") ? root.getAsJsonArray("stackRules") : new JsonArray();
+    }
+
+    /**
+     * Create the tiers file with no custom tiers and a commented example
+     */
+    private static void createTiersFile(Path path) throws IOException {
+        String tiersConfig =
+            "{\n" +
+            "  // Custom rarity tiers for ItemTooltipEnhancer, in addition to the built-in\n" +
+            "  // COMMON, UNCOMMON, RARE, EPIC, LEGENDARY, MYTHIC, SPECIAL and ADMIN tiers.\n" +
+            "  // Changes take effect after a restart.\n" +
+            "  //\n" +
+            "  // Example tier:\n" +
+            "  // {\n" +
+            "  //   \"key\": \"ANCIENT\",              // Used in item configs and commands (required)\n" +
+            "  //   \"name\": \"Ancient\",             // Shown in tooltips, in upper case\n" +
+            "  //   \"color\": \"#D4AF37\",            // A chat color name like \"gold\", or a hex color\n" +
+            "  //   \"order\": 450,                  // Built-in tiers are 0, 100, ... 700 in the order above\n" +
+            "  //   \"format\": \"{rarity} {suffix}\", // The rarity line, {suffix} is the item type\n" +
+            "  //   \"bold\": true\n" +
+            "  // }\n" +
+            "  \"tiers\": [\n" +
+            "  ],\n" +
+            "\n" +
+            "  // Stack rules raise the rarity of single stacks, the first matching rule wins.\n" +
+            "  // Every condition given must hold; rules never lower a rarity. Reloaded by /ite reload.\n" +
+            "  //\n" +
+            "  // Example rule:\n" +
+            "  // {\n" +
+            "  //   \"rarity\": \"EPIC\",                      // The tier of matching stacks (required)\n" +
+            "  //   \"items\": [\"minecraft:diamond_sword\"],  // Items the rule applies to, all when left out\n" +
+            "  //   \"minEnchantments\": 2,                   // Number of enchantments\n" +
+            "  //   \"minEnchantmentLevel\": 5,               // Level of the highest enchantment\n" +
+            "  //   \"minTotalEnchantmentLevels\": 8,         // Sum of all enchantment levels\n" +
+            "  //   \"nbtKeys\": [\"CustomModelData\"],       // NBT keys that must be present, \"display.Lore\" for nested keys\n" +
+            "  //   \"customName\": true                      // Renamed stacks only\n" +
+            "  // }\n" +
+            "  \"stackRules\": [\n" +
+            "  ]\n" +
+            "}\n";
+
+        Files.writeString(path, tiersConfig);
+    }
+}
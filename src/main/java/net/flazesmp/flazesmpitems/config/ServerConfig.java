@@ -0,0 +1,26 @@
+package net.flazesmp.flazesmpitems.config;
+
+import net.minecraftforge.common.ForgeConfigSpec;
+
+/**
+ * Per-world server settings, stored in serverconfig/itemtooltipenhancer-server.toml
+ */
+public class ServerConfig {
+    public static final ForgeConfigSpec SPEC;
+
+    public static final ForgeConfigSpec.BooleanValue INJECT_LORE_FOR_VANILLA_CLIENTS;
+
+    static {
+        ForgeConfigSpec.Builder builder = new ForgeConfigSpec.Builder();
+
+        builder.push("vanillaClients");
+        INJECT_LORE_FOR_VANILLA_CLIENTS = builder
+            .comment("Show custom names, tooltip lines, category and rarity to players that join without the mod,",
+                     "by adding them as display name and lore to the item stacks sent to those players.",
+                     "The items in their inventories are not modified.")
+            .define("injectLore", false);
+        builder.pop();
+
+        SPEC = builder.build();
+    }
+}
@@ -6,7 +6,6 @@ import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.network.chat.Style;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.event.entity.player.ItemTooltipEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -28,9 +27,8 @@ public class ItemDisplayNameHandler {
             return;
         }
 
-        // Get the item's rarity
-        Item item = stack.getItem();
-        ItemRarity rarity = RarityManager.getRarity(item);
+        // Get the stack's rarity
+        ItemRarity rarity = RarityManager.getRarity(stack);
 
         // Get the display name component from the tooltip
         Component displayName = event.getToolTip().get(0);
@@ -42,12 +40,12 @@ public class ItemDisplayNameHandler {
         if (stack.hasCustomHoverName()) {
             // Just adjust color if needed, but keep custom formatting
             Style originalStyle = displayName.getStyle();
-            Style newStyle = originalStyle.withColor(rarity.getColor().getColor());
+            Style newStyle = originalStyle.withColor(rarity.getColor());
             newName = ((MutableComponent)displayName).withStyle(newStyle);
         } else {
             // For regular items, completely replace the name with proper rarity color
             String plainName = displayName.getString();
-            newName = Component.literal(plainName).withStyle(Style.EMPTY.withColor(rarity.getColor().getColor()));
+            newName = Component.literal(plainName).withStyle(Style.EMPTY.withColor(rarity.getColor()));
         }
         
         // Replace the first line of the tooltip with our color-corrected name
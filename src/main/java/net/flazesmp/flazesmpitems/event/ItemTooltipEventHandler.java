@@ -1,10 +1,17 @@
 package net.flazesmp.flazesmpitems.event;
 
+import net.flazesmp.flazesmpitems.tooltip.ContainerSummaryTooltip;
 import net.flazesmp.flazesmpitems.tooltip.SpecialItemTooltipHandler;
+import net.flazesmp.flazesmpitems.tooltip.StatSummaryTooltip;
 import net.flazesmp.flazesmpitems.FlazeSMPItems;
+import net.flazesmp.flazesmpitems.config.MessageConfig;
+import net.flazesmp.flazesmpitems.metrics.ModMetrics;
+import net.flazesmp.flazesmpitems.metrics.jfr.TooltipBuildEvent;
 import net.flazesmp.flazesmpitems.util.ItemRarity;
 import net.flazesmp.flazesmpitems.util.RarityManager;
+import net.flazesmp.flazesmpitems.util.TooltipLines;
 import net.minecraft.ChatFormatting;
+import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.Style;
@@ -21,7 +28,6 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +65,10 @@ public class ItemTooltipEventHandler {
         ResourceLocation itemId = ForgeRegistries.ITEMS.getKey(item);
         if (itemId == null) return;
         
+        long start = System.nanoTime();
+        TooltipBuildEvent buildEvent = new TooltipBuildEvent();
+        buildEvent.begin();
+        
         // Check if this stack has already been processed
         CompoundTag tag = stack.getTag();
         boolean alreadyProcessed = tag != null && tag.contains("TooltipProcessed");
@@ -68,50 +78,59 @@ public class ItemTooltipEventHandler {
             // Apply custom data to the stack
             RarityManager.applyCustomDataToItemStack(stack);
         }
+        long stageStart = ModMetrics.TOOLTIP_CUSTOM_DATA.recordSince(start);
         
         // Remove any vanilla categories and mod names first
         removeUnwantedTooltipLines(tooltip);
+        stageStart = ModMetrics.TOOLTIP_CLEANUP.recordSince(stageStart);
 
 
         // Don't add custom tooltips here as they should be in NBT now
         // Instead, check if we need to add rarity and category information
         
         // Get custom tooltips
-        Map<Integer, String> customTooltips = RarityManager.getTooltipLines(item);
+        TooltipLines customTooltips = RarityManager.getTooltipLines(item);
         
         // Add custom tooltips with spacing if they exist
-        if (customTooltips != null && !customTooltips.isEmpty()) {
+        if (!customTooltips.isEmpty()) {
             // Add a blank line before custom tooltips section
             tooltip.add(Component.literal(""));
             
-            // Add all custom tooltips in order
-            for (int i = 1; i <= customTooltips.size(); i++) {
-                String tooltipText = customTooltips.get(i);
-                if (tooltipText != null && !tooltipText.isEmpty()) {
-                    tooltip.add(Component.literal(tooltipText));
+            // Add all custom tooltips in line order, gaps in the numbering are skipped
+            if (customTooltips.hasConditionalLines()) {
+                addConditionalLines(tooltip, customTooltips, stack);
+            } else {
+                for (int i = 0; i < customTooltips.size(); i++) {
+                    if (!customTooltips.textAt(i).isEmpty()) {
+                        tooltip.add(customTooltips.componentAt(i, stack));
+                    }
                 }
             }
             
             // Add a blank line after custom tooltips section
             tooltip.add(Component.literal(""));
         }
+        stageStart = ModMetrics.TOOLTIP_CUSTOM_LINES.recordSince(stageStart);
+        
+        // Summarize the contents of shulker boxes and bundles
+        ContainerSummaryTooltip.addSummary(tooltip, stack);
+        stageStart = ModMetrics.TOOLTIP_CONTAINER_SUMMARY.recordSince(stageStart);
+        
+        // Show weapon, tool and armor stats in place of the vanilla attribute modifiers, compared to the equipped gear
+        StatSummaryTooltip.replaceModifierLines(tooltip, stack, event.getEntity());
+        stageStart = ModMetrics.TOOLTIP_STATS.recordSince(stageStart);
         
         // Handle special items like potions and music discs
-        if (SpecialItemTooltipHandler.handleSpecialItem(tooltip, stack)) {
+        boolean specialItem = SpecialItemTooltipHandler.handleSpecialItem(tooltip, stack);
+        stageStart = ModMetrics.TOOLTIP_SPECIAL_ITEMS.recordSince(stageStart);
+        if (specialItem) {
             // If it was a special item, still apply rarity and category at the bottom
-            ItemRarity rarity = RarityManager.getRarity(item);
+            ItemRarity rarity = RarityManager.getRarity(stack);
             String category = RarityManager.getItemCategory(item);
             String itemTypeSuffix = RarityManager.getItemTypeSuffix(item);
             
-            // Create rarity component with suffix if available
-            Component rarityLine;
-            if (itemTypeSuffix != null && !itemTypeSuffix.isEmpty()) {
-                rarityLine = Component.literal(rarity.getName().toUpperCase() + " " + itemTypeSuffix)
-                    .withStyle(Style.EMPTY.withColor(rarity.getColor().getColor()).withBold(true));
-            } else {
-                rarityLine = Component.literal(rarity.getName().toUpperCase())
-                    .withStyle(Style.EMPTY.withColor(rarity.getColor().getColor()).withBold(true));
-            }
+            // Rarity component with suffix if available, precomputed by the tier
+            Component rarityLine = rarity.getRarityLine(itemTypeSuffix);
             
             // If category exists, show it above rarity at the bottom with an empty line before it
             if (category != null && !category.isEmpty()) {
@@ -126,11 +145,14 @@ public class ItemTooltipEventHandler {
             // Add rarity as the last element
             tooltip.add(rarityLine);
             
+            ModMetrics.TOOLTIP_RARITY_LINE.recordSince(stageStart);
+            ModMetrics.TOOLTIP_TOTAL.recordSince(start);
+            commitBuildEvent(buildEvent, itemId, tooltip, true);
             return; // Skip regular tooltip processing
         }
         
         // Get rarity from RarityManager
-        ItemRarity rarity = RarityManager.getRarity(item);
+        ItemRarity rarity = RarityManager.getRarity(stack);
         
         // Get item category
         String category = RarityManager.getItemCategory(item);
@@ -138,27 +160,20 @@ public class ItemTooltipEventHandler {
         // Get the item type suffix (use getItemTypeSuffix instead of determineItemTypeSuffix)
         String itemTypeSuffix = RarityManager.getItemTypeSuffix(item);
         
-        // Create rarity component with suffix if available
-        Component rarityLine;
-        if (itemTypeSuffix != null && !itemTypeSuffix.isEmpty()) {
-            rarityLine = Component.literal(rarity.getName().toUpperCase() + " " + itemTypeSuffix)
-                .withStyle(Style.EMPTY.withColor(rarity.getColor().getColor()).withBold(true));
-        } else {
-            rarityLine = Component.literal(rarity.getName().toUpperCase())
-                .withStyle(Style.EMPTY.withColor(rarity.getColor().getColor()).withBold(true));
-        }
+        // Rarity component with suffix if available, precomputed by the tier
+        Component rarityLine = rarity.getRarityLine(itemTypeSuffix);
         
         // Check if rarity is already shown (from previous runs)
         // We need to update this check to account for the suffix
         boolean hasRarityLine = tooltip.stream().anyMatch(line -> {
             if (line.getStyle().getColor() != null && 
-                line.getStyle().getColor().getValue() == rarity.getColor().getColor() &&
-                line.getStyle().isBold()) {
+                line.getStyle().getColor().getValue() == rarity.getColorValue() &&
+                line.getStyle().isBold() == rarity.getStyle().isBold()) {
                 
                 String lineText = line.getString();
-                String rarityPrefix = rarity.getName().toUpperCase();
-                // Check if line starts with the rarity name
-                return lineText.startsWith(rarityPrefix);
+                String rarityName = rarity.getNameComponent().getString();
+                // Check if line shows the rarity name, custom line formats may put text before it
+                return lineText.contains(rarityName);
             }
             return false;
         });
@@ -175,12 +190,54 @@ public class ItemTooltipEventHandler {
             // Add rarity as the last element
             tooltip.add(rarityLine);
         }
+        
+        ModMetrics.TOOLTIP_RARITY_LINE.recordSince(stageStart);
+        ModMetrics.TOOLTIP_TOTAL.recordSince(start);
+        commitBuildEvent(buildEvent, itemId, tooltip, false);
+    }
+    
+    /**
+     * Add the custom lines whose key is held, and a hint for each section that stays hidden.
+     * Hidden lines are never built, so their placeholders are not evaluated.
+     */
+    private static void addConditionalLines(List<Component> tooltip, TooltipLines lines, ItemStack stack) {
+        boolean shiftDown = Screen.hasShiftDown();
+        boolean ctrlDown = Screen.hasControlDown();
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.textAt(i).isEmpty()) {
+                continue;
+            }
+            TooltipLines.Condition condition = lines.conditionAt(i);
+            if (condition == TooltipLines.Condition.ALWAYS
+                    || condition == TooltipLines.Condition.SHIFT && shiftDown
+                    || condition == TooltipLines.Condition.CTRL && ctrlDown) {
+                tooltip.add(lines.componentAt(i, stack));
+            }
+        }
+        
+        if (!shiftDown && lines.hasLinesFor(TooltipLines.Condition.SHIFT)) {
+            tooltip.add(Component.literal(MessageConfig.getMessage("tooltip.hint.shift")));
+        }
+        if (!ctrlDown && lines.hasLinesFor(TooltipLines.Condition.CTRL)) {
+            tooltip.add(Component.literal(MessageConfig.getMessage("tooltip.hint.ctrl")));
+        }
+    }
+    
+    private static void commitBuildEvent(TooltipBuildEvent buildEvent, ResourceLocation itemId,
+                                         List<Component> tooltip, boolean specialItem) {
+        buildEvent.end();
+        if (buildEvent.shouldCommit()) {
+            buildEvent.itemId = itemId.toString();
+            buildEvent.lineCount = tooltip.size();
+            buildEvent.specialItem = specialItem;
+            buildEvent.commit();
+        }
     }
     
     /**
      * Simple method to remove unwanted tooltip lines like mod names and vanilla categories
      */
-    private static void removeUnwantedTooltipLines(List<Component> tooltip) {
+    static void removeUnwantedTooltipLines(List<Component> tooltip) {
         if (tooltip == null || tooltip.isEmpty()) {
             return;
         }
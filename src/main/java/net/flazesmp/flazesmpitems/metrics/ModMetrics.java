@@ -0,0 +1,122 @@
+package net.flazesmp.flazesmpitems.metrics;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import net.flazesmp.flazesmpitems.core.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Always-on counters and latency histograms of the mod's hot paths.
+ *
+ * Recording is lock-free and allocation-free, so it stays on in production. The figures cover the
+ * JVM they are recorded in: tooltips are built on the client, so on a dedicated server only the
+ * server-side metrics fill up, while a singleplayer or LAN host sees both.
+ */
+public class ModMetrics {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    // Tooltip pipeline, as a whole and per stage of ItemTooltipEventHandler
+    public static final LatencyHistogram TOOLTIP_TOTAL = new LatencyHistogram("tooltip.total");
+    public static final LatencyHistogram TOOLTIP_CUSTOM_DATA = new LatencyHistogram("tooltip.custom_data");
+    public static final LatencyHistogram TOOLTIP_CLEANUP = new LatencyHistogram("tooltip.cleanup");
+    public static final LatencyHistogram TOOLTIP_CUSTOM_LINES = new LatencyHistogram("tooltip.custom_lines");
+    public static final LatencyHistogram TOOLTIP_CONTAINER_SUMMARY = new LatencyHistogram("tooltip.container_summary");
+    public static final LatencyHistogram TOOLTIP_STATS = new LatencyHistogram("tooltip.stats");
+    public static final LatencyHistogram TOOLTIP_SPECIAL_ITEMS = new LatencyHistogram("tooltip.special_items");
+    public static final LatencyHistogram TOOLTIP_RARITY_LINE = new LatencyHistogram("tooltip.rarity_line");
+
+    // Config IO
+    public static final LatencyHistogram CONFIG_LOAD = new LatencyHistogram("config.load");
+    public static final LatencyHistogram CONFIG_SAVE = new LatencyHistogram("config.save");
+
+    // A hit is a value served from a map, a miss one that had to be determined
+    public static final HitCounter RARITY_LOOKUPS = new HitCounter("rarity");
+    public static final HitCounter STACK_RARITY_LOOKUPS = new HitCounter("stack_rarity");
+    public static final HitCounter CONTAINER_SUMMARY_LOOKUPS = new HitCounter("container_summary");
+    public static final HitCounter ITEM_STATS_LOOKUPS = new HitCounter("item_stats");
+    public static final HitCounter CATEGORY_LOOKUPS = new HitCounter("category");
+    public static final HitCounter SUFFIX_LOOKUPS = new HitCounter("suffix");
+    public static final HitCounter MESSAGE_LOOKUPS = new HitCounter("messages");
+
+    public static final List<LatencyHistogram> HISTOGRAMS = List.of(
+        TOOLTIP_TOTAL, TOOLTIP_CUSTOM_DATA, TOOLTIP_CLEANUP, TOOLTIP_CUSTOM_LINES,
+        TOOLTIP_CONTAINER_SUMMARY, TOOLTIP_STATS, TOOLTIP_SPECIAL_ITEMS, TOOLTIP_RARITY_LINE,
+        CONFIG_LOAD, CONFIG_SAVE);
+
+    public static final List<HitCounter> COUNTERS = List.of(
+        RARITY_LOOKUPS, STACK_RARITY_LOOKUPS, CONTAINER_SUMMARY_LOOKUPS, ITEM_STATS_LOOKUPS,
+        CATEGORY_LOOKUPS, SUFFIX_LOOKUPS, MESSAGE_LOOKUPS);
+
+    private static volatile long startedAt = System.nanoTime();
+
+    /**
+     * Gets the seconds since the metrics started or were last reset
+     */
+    public static double getElapsedSeconds() {
+        return Math.max(1e-9, (System.nanoTime() - startedAt) / 1e9);
+    }
+
+    /**
+     * Gets the average number of samples per second of a histogram
+     */
+    public static double getRate(LatencyHistogram histogram) {
+        return histogram.getCount() / getElapsedSeconds();
+    }
+
+    public static void reset() {
+        HISTOGRAMS.forEach(LatencyHistogram::reset);
+        COUNTERS.forEach(HitCounter::reset);
+        startedAt = System.nanoTime();
+    }
+
+    /**
+     * Capture all metrics as JSON, latencies in microseconds
+     */
+    public static JsonObject toJson() {
+        JsonObject root = new JsonObject();
+        root.addProperty("elapsedSeconds", getElapsedSeconds());
+
+        JsonArray latencies = new JsonArray();
+        for (LatencyHistogram histogram : HISTOGRAMS) {
+            JsonObject json = new JsonObject();
+            json.addProperty("name", histogram.getName());
+            json.addProperty("count", histogram.getCount());
+            json.addProperty("ratePerSecond", getRate(histogram));
+            json.addProperty("p50Micros", histogram.getPercentile(50) / 1000.0);
+            json.addProperty("p99Micros", histogram.getPercentile(99) / 1000.0);
+            json.addProperty("maxMicros", histogram.getMaxNanos() / 1000.0);
+            json.addProperty("totalMillis", histogram.getTotalNanos() / 1e6);
+            latencies.add(json);
+        }
+        root.add("latencies", latencies);
+
+        JsonArray lookups = new JsonArray();
+        for (HitCounter counter : COUNTERS) {
+            JsonObject json = new JsonObject();
+            json.addProperty("name", counter.getName());
+            json.addProperty("hits", counter.getHits());
+            json.addProperty("misses", counter.getMisses());
+            json.addProperty("hitRatio", counter.getHitRatio());
+            lookups.add(json);
+        }
+        root.add("lookups", lookups);
+        return root;
+    }
+
+    /**
+     * Write a JSON capture to a file
+     */
+    public static void writeJson(JsonObject json, Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            GSON.toJson(json, writer);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package net.flazesmp.flazesmpitems.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Reading or writing the config file of one item
+ */
+@Name(JfrEvents.PREFIX + "ConfigFile")
+@Label("Config File")
+@Category({"ItemTooltipEnhancer", "Config"})
+@Description("Reading or writing the config file of one item")
+@Enabled(false)
+@StackTrace(false)
+public class ConfigFileEvent extends Event {
+    @Label("Operation")
+    @Description("load or save")
+    public String operation;
+
+    @Label("Item")
+    public String itemId;
+
+    @Label("File")
+    public String fileName;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Success")
+    public boolean success;
+}
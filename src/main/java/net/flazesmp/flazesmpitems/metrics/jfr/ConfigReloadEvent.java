@@ -0,0 +1,27 @@
+package net.flazesmp.flazesmpitems.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Running /ite reload
+ */
+@Name(JfrEvents.PREFIX + "ConfigReload")
+@Label("Config Reload")
+@Category({"ItemTooltipEnhancer", "Config"})
+@Description("Running /ite reload")
+@Enabled(false)
+@StackTrace(false)
+public class ConfigReloadEvent extends Event {
+    @Label("Item Configs")
+    @Description("Items with a config file after the reload")
+    public int itemConfigCount;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,27 @@
+package net.flazesmp.flazesmpitems.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Resolving the default rarity of every registered item at startup
+ */
+@Name(JfrEvents.PREFIX + "DefaultRarities")
+@Label("Default Rarities")
+@Category({"ItemTooltipEnhancer", "Config"})
+@Description("Resolving the default rarity of every registered item at startup")
+@Enabled(false)
+@StackTrace(false)
+public class DefaultRaritiesEvent extends Event {
+    @Label("Source")
+    @Description("snapshot when restored from the config snapshot, computed otherwise")
+    public String source;
+
+    @Label("Items")
+    public int itemCount;
+}
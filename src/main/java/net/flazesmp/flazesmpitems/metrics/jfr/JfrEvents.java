@@ -0,0 +1,33 @@
+package net.flazesmp.flazesmpitems.metrics.jfr;
+
+import jdk.jfr.FlightRecorder;
+
+import java.util.List;
+
+/**
+ * Java Flight Recorder events of the mod.
+ *
+ * All events are disabled by default, so a recording only pays for them once they are enabled,
+ * for example with -XX:StartFlightRecording:itemtooltipenhancer.TooltipBuild#enabled=true or in
+ * a .jfc settings file. While disabled, begin/end/shouldCommit are no-ops the JIT removes.
+ *
+ * The events are created unconditionally, so the mod needs the jdk.jfr module. Minecraft needs it
+ * as well for its own profiler, so every runtime the game starts on has it.
+ */
+public class JfrEvents {
+    public static final String PREFIX = "itemtooltipenhancer.";
+
+    private static final List<Class<? extends jdk.jfr.Event>> EVENTS = List.of(
+        TooltipBuildEvent.class,
+        SpecialItemFormatEvent.class,
+        ConfigFileEvent.class,
+        DefaultRaritiesEvent.class,
+        ConfigReloadEvent.class);
+
+    /**
+     * Register the event types up front so they show in recordings and settings before their first commit
+     */
+    public static void register() {
+        EVENTS.forEach(FlightRecorder::register);
+    }
+}
@@ -0,0 +1,31 @@
+package net.flazesmp.flazesmpitems.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Formatting the tooltip of a potion or music disc
+ */
+@Name(JfrEvents.PREFIX + "SpecialItemFormat")
+@Label("Special Item Format")
+@Category({"ItemTooltipEnhancer", "Tooltip"})
+@Description("Formatting the tooltip of a potion or music disc")
+@Enabled(false)
+@StackTrace(false)
+public class SpecialItemFormatEvent extends Event {
+    @Label("Item")
+    public String itemId;
+
+    @Label("Handled")
+    @Description("Whether the item was a potion or music disc")
+    public boolean handled;
+
+    @Label("Lines")
+    @Description("Tooltip lines after formatting")
+    public int lineCount;
+}
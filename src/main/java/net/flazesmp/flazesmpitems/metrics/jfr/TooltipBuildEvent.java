@@ -0,0 +1,31 @@
+package net.flazesmp.flazesmpitems.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Building the tooltip of an item stack
+ */
+@Name(JfrEvents.PREFIX + "TooltipBuild")
+@Label("Tooltip Build")
+@Category({"ItemTooltipEnhancer", "Tooltip"})
+@Description("Building the tooltip of an item stack")
+@Enabled(false)
+@StackTrace(false)
+public class TooltipBuildEvent extends Event {
+    @Label("Item")
+    public String itemId;
+
+    @Label("Lines")
+    @Description("Tooltip lines once the mod is done")
+    public int lineCount;
+
+    @Label("Special Item")
+    @Description("Whether the special item formatting handled the stack")
+    public boolean specialItem;
+}
@@ -0,0 +1,173 @@
+package net.flazesmp.flazesmpitems.network;
+
+import net.flazesmp.flazesmpitems.FlazeSMPItems;
+import net.flazesmp.flazesmpitems.util.ItemRarity;
+import net.flazesmp.flazesmpitems.util.RarityRegistry;
+import net.flazesmp.flazesmpitems.util.RarityTierDefinition;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.fml.loading.FMLPaths;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * On-disk copy of the last customization table received from each server, so a client
+ * reconnecting to a server only needs what changed since. One file per server address,
+ * holding the server's custom rarity tiers, the table keyed by item ID and the server's content hash of it.
+ */
+public class ClientCustomizationCache {
+    private static final String CACHE_DIR = "itemtooltipenhancer-cache";
+    private static final int MAGIC = 0x49544343; // "ITCC"
+    private static final int FORMAT_VERSION = 2;
+
+    private final long tableHash;
+    private final Map<ResourceLocation, CustomizationSyncPacket.Entry> entries;
+
+    ClientCustomizationCache(long tableHash, Map<ResourceLocation, CustomizationSyncPacket.Entry> entries) {
+        this.tableHash = tableHash;
+        this.entries = entries;
+    }
+
+    public long getTableHash() {
+        return tableHash;
+    }
+
+    public Map<ResourceLocation, CustomizationSyncPacket.Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Gets the cache file for a server address
+     */
+    static Path pathFor(String serverAddress) {
+        // Hash the address so any host:port is a valid file name
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : serverAddress.toLowerCase().getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return FMLPaths.GAMEDIR.get().resolve(CACHE_DIR).resolve(String.format("%016x.bin", hash));
+    }
+
+    /**
+     * Read a cache file, registering the rarity tiers it was saved with
+     *
+     * @return The cached table, or null if there is none or it cannot be read
+     */
+    static ClientCustomizationCache read(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            long tableHash = in.readLong();
+
+            // Entries refer to the server's tiers by id, so they are registered before the entries are read
+            int tierCount = in.readUnsignedByte();
+            List<RarityTierDefinition> tiers = new ArrayList<>(tierCount);
+            for (int i = 0; i < tierCount; i++) {
+                tiers.add(new RarityTierDefinition(in.readUTF(), in.readUTF(), in.readUTF(),
+                    in.readInt(), in.readUTF(), in.readBoolean()));
+            }
+            RarityRegistry.setCustomTiers(tiers);
+
+            int count = in.readInt();
+
+            Map<ResourceLocation, CustomizationSyncPacket.Entry> entries = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                ResourceLocation id = new ResourceLocation(in.readUTF());
+                int flags = in.readUnsignedByte();
+
+                ItemRarity rarity = null;
+                if ((flags & CustomizationSyncPacket.FLAG_RARITY) != 0) {
+                    rarity = ItemRarity.byId(in.readUnsignedByte());
+                    if (rarity == null) {
+                        return null;
+                    }
+                }
+                String customName = (flags & CustomizationSyncPacket.FLAG_NAME) != 0 ? in.readUTF() : null;
+                String category = (flags & CustomizationSyncPacket.FLAG_CATEGORY) != 0 ? in.readUTF() : null;
+                String typeSuffix = (flags & CustomizationSyncPacket.FLAG_SUFFIX) != 0 ? in.readUTF() : null;
+
+                Map<Integer, String> tooltipLines = null;
+                if ((flags & CustomizationSyncPacket.FLAG_TOOLTIPS) != 0) {
+                    int lineCount = in.readInt();
+                    tooltipLines = new TreeMap<>();
+                    for (int l = 0; l < lineCount; l++) {
+                        int line = in.readInt();
+                        tooltipLines.put(line, in.readUTF());
+                    }
+                }
+
+                // Registry ids are resolved again when the table is applied
+                entries.put(id, new CustomizationSyncPacket.Entry(-1, rarity, customName, category, typeSuffix, tooltipLines));
+            }
+            return new ClientCustomizationCache(tableHash, entries);
+        } catch (Exception e) {
+            FlazeSMPItems.LOGGER.warn("Ignoring unreadable customization cache {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write a cache file, replacing the previous one atomically
+     */
+    static void write(Path path, long tableHash, List<RarityTierDefinition> tiers,
+                      Map<ResourceLocation, CustomizationSyncPacket.Entry> entries) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(tableHash);
+
+            out.writeByte(tiers.size());
+            for (RarityTierDefinition tier : tiers) {
+                out.writeUTF(tier.getKey());
+                out.writeUTF(tier.getName());
+                out.writeUTF(tier.getColor());
+                out.writeInt(tier.getOrder());
+                out.writeUTF(tier.getLineFormat());
+                out.writeBoolean(tier.isBold());
+            }
+
+            out.writeInt(entries.size());
+
+            for (Map.Entry<ResourceLocation, CustomizationSyncPacket.Entry> item : entries.entrySet()) {
+                CustomizationSyncPacket.Entry entry = item.getValue();
+                int flags = entry.flags();
+                out.writeUTF(item.getKey().toString());
+                out.writeByte(flags);
+
+                if ((flags & CustomizationSyncPacket.FLAG_RARITY) != 0) out.writeByte(entry.rarity.getId());
+                if ((flags & CustomizationSyncPacket.FLAG_NAME) != 0) out.writeUTF(entry.customName);
+                if ((flags & CustomizationSyncPacket.FLAG_CATEGORY) != 0) out.writeUTF(entry.category);
+                if ((flags & CustomizationSyncPacket.FLAG_SUFFIX) != 0) out.writeUTF(entry.typeSuffix);
+                if ((flags & CustomizationSyncPacket.FLAG_TOOLTIPS) != 0) {
+                    out.writeInt(entry.tooltipLines.size());
+                    for (Map.Entry<Integer, String> line : entry.tooltipLines.entrySet()) {
+                        out.writeInt(line.getKey());
+                        out.writeUTF(line.getValue());
+                    }
+                }
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
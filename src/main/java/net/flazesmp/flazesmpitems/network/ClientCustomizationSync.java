@@ -0,0 +1,232 @@
+package net.flazesmp.flazesmpitems.network;
+
+import net.flazesmp.flazesmpitems.FlazeSMPItems;
+import net.flazesmp.flazesmpitems.config.ConfigManager;
+import net.flazesmp.flazesmpitems.config.RarityTierConfig;
+import net.flazesmp.flazesmpitems.util.RarityManager;
+import net.flazesmp.flazesmpitems.util.RarityRegistry;
+import net.flazesmp.flazesmpitems.util.RarityTierDefinition;
+import net.flazesmp.flazesmpitems.util.StackRarityRules;
+import net.minecraft.Util;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ServerData;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client side of the customization sync. While connected to a server with the mod, the server's
+ * customizations replace the local ones in memory; nothing received is written to the config files,
+ * and the local configs are restored on disconnect.
+ *
+ * The last table received from each server is cached on disk. On join it is applied right away and
+ * its hash announced, so the server only sends what changed since.
+ */
+@Mod.EventBusSubscriber(modid = FlazeSMPItems.MOD_ID, value = Dist.CLIENT)
+public class ClientCustomizationSync {
+    // Whether the data in memory currently comes from a server
+    private static boolean serverDataActive = false;
+
+    // The server's table as last received, keyed by item ID
+    private static final Map<ResourceLocation, CustomizationSyncPacket.Entry> SERVER_TABLE = new HashMap<>();
+    private static long serverTableHash = ClientHelloPacket.NO_CACHE;
+
+    // Cache file of the current server, null when the server has no address to key it by
+    private static Path cachePath;
+    private static boolean cacheSaveScheduled = false;
+    private static CompletableFuture<Void> pendingCacheWrite = CompletableFuture.completedFuture(null);
+
+    @SubscribeEvent
+    public static void onLoggingIn(ClientPlayerNetworkEvent.LoggingIn event) {
+        Minecraft minecraft = Minecraft.getInstance();
+        if (minecraft.hasSingleplayerServer() || !ModNetwork.CHANNEL.isRemotePresent(event.getConnection())) {
+            return;
+        }
+
+        SERVER_TABLE.clear();
+        serverTableHash = ClientHelloPacket.NO_CACHE;
+        ServerData server = minecraft.getCurrentServer();
+        cachePath = server != null ? ClientCustomizationCache.pathFor(server.ip) : null;
+
+        // Show the cached tooltips right away, the server corrects them if they are stale
+        ClientCustomizationCache cache = cachePath != null ? ClientCustomizationCache.read(cachePath) : null;
+        if (cache != null) {
+            applyEntries(true, cache.getEntries());
+            serverTableHash = cache.getTableHash();
+            FlazeSMPItems.LOGGER.debug("Applied {} cached item customizations for {}", cache.getEntries().size(), server.ip);
+        }
+
+        ModNetwork.CHANNEL.sendToServer(new ClientHelloPacket(serverTableHash));
+    }
+
+    /**
+     * Register the server's rarity tiers and stack rules, on the network thread before the
+     * customizations using them are decoded
+     */
+    static void applyTiers(RarityTiersPacket packet) {
+        if (Minecraft.getInstance().hasSingleplayerServer()) {
+            return; // Our own integrated server already uses these tiers
+        }
+        RarityRegistry.setCustomTiers(packet.getTiers());
+        StackRarityRules.setRules(packet.getStackRules());
+    }
+
+    /**
+     * Apply a received packet, on the client thread
+     */
+    static void apply(CustomizationSyncPacket packet) {
+        if (Minecraft.getInstance().hasSingleplayerServer()) {
+            return; // Our own integrated server already uses this data
+        }
+
+        Map<ResourceLocation, CustomizationSyncPacket.Entry> entries = new LinkedHashMap<>();
+        for (CustomizationSyncPacket.Entry entry : packet.getEntries()) {
+            Item item = BuiltInRegistries.ITEM.byId(entry.registryId);
+            if (BuiltInRegistries.ITEM.getId(item) != entry.registryId) {
+                continue; // Not an item the client knows
+            }
+            entries.put(BuiltInRegistries.ITEM.getKey(item), entry);
+        }
+
+        applyEntries(packet.isReplace(), entries);
+        serverTableHash = packet.getTableHash();
+        scheduleCacheSave();
+
+        FlazeSMPItems.LOGGER.debug("Applied {} synced item customizations (full table: {})",
+            entries.size(), packet.isReplace());
+    }
+
+    /**
+     * Apply server entries to the in-memory data and to our copy of the server's table
+     */
+    private static void applyEntries(boolean replace, Map<ResourceLocation, CustomizationSyncPacket.Entry> entries) {
+        RarityManager.Batch changes = RarityManager.begin(false);
+        if (replace) {
+            clearAll(changes);
+            SERVER_TABLE.clear();
+        }
+
+        for (Map.Entry<ResourceLocation, CustomizationSyncPacket.Entry> server : entries.entrySet()) {
+            ResourceLocation id = server.getKey();
+            CustomizationSyncPacket.Entry entry = server.getValue();
+            if (entry.isReset()) {
+                SERVER_TABLE.remove(id);
+            } else {
+                SERVER_TABLE.put(id, entry);
+            }
+
+            Item item = ForgeRegistries.ITEMS.containsKey(id) ? ForgeRegistries.ITEMS.getValue(id) : null;
+            if (item == null) {
+                continue; // Kept in the table for the server, but nothing to show here
+            }
+            try {
+                applyEntry(changes, item, entry);
+            } catch (IllegalArgumentException e) {
+                FlazeSMPItems.LOGGER.warn("Ignoring invalid synced customization for {}: {}", id, e.getMessage());
+            }
+        }
+        changes.commit();
+        serverDataActive = true;
+    }
+
+    private static void applyEntry(RarityManager.Batch changes, Item item, CustomizationSyncPacket.Entry entry) {
+        // Each entry carries the complete state of its item
+        changes.clearItemData(item);
+        ConfigManager.setCustomTypeSuffix(item, entry.typeSuffix);
+        if (entry.isReset()) {
+            return;
+        }
+
+        if (entry.rarity != null) {
+            changes.setRarity(item, entry.rarity);
+        }
+        if (entry.customName != null) {
+            changes.setCustomName(item, entry.customName);
+        }
+        if (entry.category != null) {
+            changes.setItemCategory(item, entry.category);
+        }
+        if (entry.tooltipLines != null) {
+            for (Map.Entry<Integer, String> line : entry.tooltipLines.entrySet()) {
+                changes.setTooltipLine(item, line.getKey(), line.getValue());
+            }
+        }
+    }
+
+    /**
+     * Stage the reset of every customized item, and drop all custom type suffixes
+     */
+    private static void clearAll(RarityManager.Batch changes) {
+        for (ResourceLocation id : CustomizationSync.getCustomizedItemIds()) {
+            Item item = ForgeRegistries.ITEMS.getValue(id);
+            if (item != null) {
+                changes.clearItemData(item);
+                ConfigManager.setCustomTypeSuffix(item, null);
+            }
+        }
+    }
+
+    /**
+     * Save the table once the packets already queued are handled, so a chunked table is written once
+     */
+    private static void scheduleCacheSave() {
+        if (cachePath == null || cacheSaveScheduled) {
+            return;
+        }
+        cacheSaveScheduled = true;
+        Minecraft.getInstance().tell(ClientCustomizationSync::saveCache);
+    }
+
+    private static void saveCache() {
+        cacheSaveScheduled = false;
+        if (cachePath == null) {
+            return;
+        }
+
+        // Snapshot on the client thread, write on an IO thread; writes run one after another
+        Path path = cachePath;
+        long hash = serverTableHash;
+        List<RarityTierDefinition> tiers = RarityRegistry.getCustomDefinitions();
+        Map<ResourceLocation, CustomizationSyncPacket.Entry> snapshot = new HashMap<>(SERVER_TABLE);
+        pendingCacheWrite = pendingCacheWrite.thenRunAsync(() -> {
+            try {
+                ClientCustomizationCache.write(path, hash, tiers, snapshot);
+            } catch (IOException e) {
+                FlazeSMPItems.LOGGER.warn("Failed to write customization cache {}: {}", path, e.getMessage());
+            }
+        }, Util.ioPool());
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        if (!serverDataActive) {
+            return;
+        }
+        serverDataActive = false;
+        cachePath = null;
+        SERVER_TABLE.clear();
+        serverTableHash = ClientHelloPacket.NO_CACHE;
+
+        // Drop the server's data and load our own configs again
+        RarityManager.Batch changes = RarityManager.begin(false);
+        clearAll(changes);
+        changes.commit();
+        RarityTierConfig.restoreLocal();
+        ConfigManager.restoreLocalConfigs();
+
+        FlazeSMPItems.LOGGER.info("Restored local item customizations after leaving the server");
+    }
+}
@@ -0,0 +1,37 @@
+package net.flazesmp.flazesmpitems.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Client -> server packet sent on join, announcing the content hash of the customization
+ * table the client has cached for this server
+ */
+public class ClientHelloPacket {
+    // Sent when the client has nothing cached for the server
+    public static final long NO_CACHE = 0L;
+
+    private final long cachedTableHash;
+
+    public ClientHelloPacket(long cachedTableHash) {
+        this.cachedTableHash = cachedTableHash;
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeLong(cachedTableHash);
+    }
+
+    public static ClientHelloPacket decode(FriendlyByteBuf buf) {
+        return new ClientHelloPacket(buf.readLong());
+    }
+
+    public static void handle(ClientHelloPacket packet, Supplier<NetworkEvent.Context> context) {
+        ServerPlayer player = context.get().getSender();
+        if (player != null) {
+            CustomizationSync.onClientHello(player, packet.cachedTableHash);
+        }
+    }
+}
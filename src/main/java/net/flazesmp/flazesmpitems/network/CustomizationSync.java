@@ -0,0 +1,367 @@
+package net.flazesmp.flazesmpitems.network;
+
+import net.flazesmp.flazesmpitems.FlazeSMPItems;
+import net.flazesmp.flazesmpitems.config.ConfigManager;
+import net.flazesmp.flazesmpitems.core.ItemCustomization;
+import net.flazesmp.flazesmpitems.util.ForgeCustomizationStore;
+import net.flazesmp.flazesmpitems.util.ItemRarity;
+import net.flazesmp.flazesmpitems.util.RarityManager;
+import net.flazesmp.flazesmpitems.util.RarityRegistry;
+import net.flazesmp.flazesmpitems.util.StackRarityRules;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.Item;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.network.PacketDistributor;
+import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Server side of the customization sync.
+ *
+ * The server keeps its current table with a content hash (the sum of the entry hashes, updated per
+ * changed entry) and a short history of which items changed at each revision. A joining client
+ * announces the hash of the table it cached for this server: if it is current nothing is sent, if it
+ * is a recent revision only the items changed since then are sent, otherwise the full table is.
+ * All state is only touched on the server thread.
+ */
+@Mod.EventBusSubscriber(modid = FlazeSMPItems.MOD_ID)
+public class CustomizationSync {
+    // Keep every packet well below the client's payload size limit of 1 MiB
+    private static final int MAX_ENTRIES_PER_PACKET = 512;
+    private static final int MAX_PACKET_BYTES = 512 * 1024;
+
+    // Number of past revisions a client can catch up from with a delta
+    private static final int HISTORY_SIZE = 64;
+
+    private static final Map<ResourceLocation, CustomizationSyncPacket.Entry> TABLE = new HashMap<>();
+    private static final ArrayDeque<Revision> HISTORY = new ArrayDeque<>();
+    private static long tableHash;
+    private static boolean tableBuilt = false;
+
+    // Players that announced their cache and may receive deltas
+    private static final Set<UUID> SYNCED_PLAYERS = new HashSet<>();
+
+    static void register() {
+        RarityManager.addChangeListener(CustomizationSync::onItemsChanged);
+    }
+
+    /**
+     * Reply to a joining client according to the table it has cached
+     */
+    static void onClientHello(ServerPlayer player, long cachedTableHash) {
+        if (!shouldSync(player)) {
+            return;
+        }
+        ensureTable();
+        SYNCED_PLAYERS.add(player.getUUID());
+        String playerName = player.getGameProfile().getName();
+
+        // Always sent first, entries refer to the tiers by id
+        ModNetwork.CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), tiersPacket());
+
+        if (cachedTableHash == tableHash && cachedTableHash != ClientHelloPacket.NO_CACHE) {
+            FlazeSMPItems.LOGGER.debug("Cached customizations of {} are up to date", playerName);
+            return;
+        }
+
+        Set<ResourceLocation> changedSince = changedSince(cachedTableHash);
+        if (changedSince != null) {
+            List<CustomizationSyncPacket.Entry> entries = entriesFor(changedSince);
+            send(player, entries, false);
+            FlazeSMPItems.LOGGER.debug("Sent {} changed item customizations to {}", entries.size(), playerName);
+        } else {
+            List<CustomizationSyncPacket.Entry> entries = new ArrayList<>(TABLE.values());
+            send(player, entries, true);
+            FlazeSMPItems.LOGGER.debug("Sent all {} item customizations to {}", entries.size(), playerName);
+        }
+    }
+
+    /**
+     * Send the rarity tiers and stack rules again to every synced player, after the rules were reloaded
+     */
+    public static void resendRarityTiers(MinecraftServer server) {
+        RarityTiersPacket packet = tiersPacket();
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            if (SYNCED_PLAYERS.contains(player.getUUID()) && shouldSync(player)) {
+                ModNetwork.CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), packet);
+            }
+        }
+    }
+
+    private static RarityTiersPacket tiersPacket() {
+        String stackRules = StackRarityRules.getRulesJson();
+        if (stackRules.length() > RarityTiersPacket.MAX_STACK_RULES_LENGTH) {
+            // Sending them would fail the join, clients show item rarities only instead
+            FlazeSMPItems.LOGGER.error("Stack rarity rules are too long to sync ({} > {} chars), clients will not see them",
+                stackRules.length(), RarityTiersPacket.MAX_STACK_RULES_LENGTH);
+            stackRules = "[]";
+        }
+        return new RarityTiersPacket(RarityRegistry.getCustomDefinitions(), stackRules);
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        SYNCED_PLAYERS.remove(event.getEntity().getUUID());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        // An integrated server may be started again in the same game session
+        TABLE.clear();
+        HISTORY.clear();
+        SYNCED_PLAYERS.clear();
+        tableHash = 0L;
+        tableBuilt = false;
+    }
+
+    /**
+     * Record a new revision for changed items and push it to every synced player
+     */
+    private static void onItemsChanged(Set<ResourceLocation> itemIds) {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            return; // Startup or a client without a server, nobody to tell
+        }
+
+        Set<ResourceLocation> changedIds = new HashSet<>(itemIds);
+        server.execute(() -> {
+            if (!tableBuilt) {
+                ensureTable(); // Built from the current state, which already includes this change
+                return;
+            }
+
+            Set<ResourceLocation> changed = refresh(changedIds);
+            if (changed.isEmpty()) {
+                return;
+            }
+
+            List<CustomizationSyncPacket.Entry> entries = entriesFor(changed);
+            for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+                if (SYNCED_PLAYERS.contains(player.getUUID()) && shouldSync(player)) {
+                    send(player, entries, false);
+                }
+            }
+        });
+    }
+
+    /**
+     * The host of an integrated server already shares the server's data
+     */
+    private static boolean shouldSync(ServerPlayer player) {
+        return ModNetwork.hasChannel(player) && !player.server.isSingleplayerOwner(player.getGameProfile());
+    }
+
+    private static void send(ServerPlayer player, List<CustomizationSyncPacket.Entry> entries, boolean replace) {
+        PacketDistributor.PacketTarget target = PacketDistributor.PLAYER.with(() -> player);
+        if (entries.isEmpty()) {
+            ModNetwork.CHANNEL.send(target, new CustomizationSyncPacket(replace, tableHash, entries));
+            return;
+        }
+
+        // Chunks are cut by entry count and estimated size; only the first chunk replaces, the rest add to it
+        int start = 0;
+        while (start < entries.size()) {
+            int end = start;
+            int bytes = 0;
+            while (end < entries.size() && end - start < MAX_ENTRIES_PER_PACKET) {
+                int size = entries.get(end).estimatedSize();
+                if (end > start && bytes + size > MAX_PACKET_BYTES) {
+                    break;
+                }
+                bytes += size;
+                end++;
+            }
+            ModNetwork.CHANNEL.send(target, new CustomizationSyncPacket(replace && start == 0, tableHash, entries.subList(start, end)));
+            start = end;
+        }
+    }
+
+    /**
+     * Build the table from the current customizations, once per server run
+     */
+    private static void ensureTable() {
+        if (tableBuilt) {
+            return;
+        }
+        tableBuilt = true;
+        TABLE.clear();
+        HISTORY.clear();
+        // Starting from the tiers hash makes a client that cached other tiers get the full table
+        tableHash = RarityRegistry.getCustomTiersHash();
+
+        refresh(getCustomizedItemIds());
+        HISTORY.clear();
+        HISTORY.addLast(new Revision(tableHash, Set.of()));
+        FlazeSMPItems.LOGGER.debug("Built customization table with {} items, hash {}",
+            TABLE.size(), Long.toHexString(tableHash));
+    }
+
+    /**
+     * Re-read the given items into the table and record a revision if any of them changed
+     *
+     * @return The IDs of the items whose entry changed
+     */
+    private static Set<ResourceLocation> refresh(Collection<ResourceLocation> itemIds) {
+        Set<ResourceLocation> changed = new HashSet<>();
+        for (ResourceLocation id : itemIds) {
+            CustomizationSyncPacket.Entry current = buildEntry(id);
+            CustomizationSyncPacket.Entry previous = TABLE.get(id);
+            if (current == null || current.isReset()) {
+                if (previous == null) {
+                    continue;
+                }
+                TABLE.remove(id);
+                tableHash -= previous.contentHash(id);
+            } else {
+                if (current.sameContent(previous)) {
+                    continue;
+                }
+                if (previous != null) {
+                    tableHash -= previous.contentHash(id);
+                }
+                TABLE.put(id, current);
+                tableHash += current.contentHash(id);
+            }
+            changed.add(id);
+        }
+
+        if (!changed.isEmpty()) {
+            HISTORY.addLast(new Revision(tableHash, changed));
+            while (HISTORY.size() > HISTORY_SIZE) {
+                HISTORY.removeFirst();
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Gets the items changed since a past revision
+     *
+     * @return The changed item IDs, or null if the revision is unknown
+     */
+    private static Set<ResourceLocation> changedSince(long revisionHash) {
+        if (revisionHash == ClientHelloPacket.NO_CACHE) {
+            return null;
+        }
+
+        // Walk back from the newest revision, collecting changes until the client's revision
+        Set<ResourceLocation> changed = new HashSet<>();
+        Iterator<Revision> newestFirst = HISTORY.descendingIterator();
+        while (newestFirst.hasNext()) {
+            Revision revision = newestFirst.next();
+            if (revision.hash == revisionHash) {
+                return changed;
+            }
+            changed.addAll(revision.changedIds);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the entries to send for changed items, with a reset entry for items no longer customized
+     */
+    private static List<CustomizationSyncPacket.Entry> entriesFor(Set<ResourceLocation> itemIds) {
+        List<CustomizationSyncPacket.Entry> entries = new ArrayList<>(itemIds.size());
+        for (ResourceLocation id : itemIds) {
+            CustomizationSyncPacket.Entry entry = TABLE.get(id);
+            if (entry == null) {
+                Item item = ForgeRegistries.ITEMS.getValue(id);
+                if (item == null) {
+                    continue;
+                }
+                entry = new CustomizationSyncPacket.Entry(BuiltInRegistries.ITEM.getId(item), null, null, null, null, null);
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Gets every item with server-side customizations or data pack definitions
+     */
+    static Set<ResourceLocation> getCustomizedItemIds() {
+        Set<ResourceLocation> ids = new TreeSet<>(RarityManager.getCustomizedItemIds());
+        ids.addAll(ConfigManager.getCustomTypeSuffixes().keySet());
+        ids.addAll(RarityManager.getDataPackItemIds());
+        return ids;
+    }
+
+    /**
+     * Capture the current customizations of an item
+     *
+     * @return The entry, or null if the item is not registered
+     */
+    private static CustomizationSyncPacket.Entry buildEntry(ResourceLocation id) {
+        Item item = ForgeRegistries.ITEMS.containsKey(id) ? ForgeRegistries.ITEMS.getValue(id) : null;
+        if (item == null) {
+            return null;
+        }
+
+        ItemCustomization customization = ForgeCustomizationStore.INSTANCE.get(item);
+        if (customization == null) {
+            return null;
+        }
+
+        Map<Integer, String> tooltipLines = null;
+        for (Map.Entry<Integer, String> line : customization.getTooltips().entrySet()) {
+            String text = syncable(id, "tooltip line " + line.getKey(), line.getValue());
+            if (text != null) {
+                if (tooltipLines == null) {
+                    tooltipLines = new TreeMap<>();
+                }
+                tooltipLines.put(line.getKey(), text);
+            }
+        }
+        return new CustomizationSyncPacket.Entry(
+            BuiltInRegistries.ITEM.getId(item),
+            customization.getRarity() != null ? ItemRarity.valueOf(customization.getRarity()) : null,
+            syncable(id, "display name", customization.getDisplayName()),
+            syncable(id, "category", customization.getCategory()),
+            syncable(id, "type suffix", customization.getTypeSuffix()),
+            tooltipLines);
+    }
+
+    /**
+     * Gets a text if it fits in a packet string, otherwise logs it and leaves it out
+     */
+    private static String syncable(ResourceLocation id, String field, String text) {
+        if (text != null && text.length() > CustomizationSyncPacket.MAX_STRING_LENGTH) {
+            FlazeSMPItems.LOGGER.warn("Not syncing {} of {}, it is too long ({} > {} chars)",
+                field, id, text.length(), CustomizationSyncPacket.MAX_STRING_LENGTH);
+            return null;
+        }
+        return text;
+    }
+
+    /**
+     * The table hash after a revision and the items it changed
+     */
+    private static class Revision {
+        final long hash;
+        final Set<ResourceLocation> changedIds;
+
+        Revision(long hash, Set<ResourceLocation> changedIds) {
+            this.hash = hash;
+            this.changedIds = changedIds;
+        }
+    }
+}
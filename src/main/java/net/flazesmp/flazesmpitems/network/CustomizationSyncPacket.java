@@ -0,0 +1,301 @@
+package net.flazesmp.flazesmpitems.network;
+
+import io.netty.handler.codec.DecoderException;
+import net.flazesmp.flazesmpitems.util.ItemRarity;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Server -> client packet carrying item customizations, either the full table or a delta.
+ *
+ * Layout: replace flag, the content hash of the server's table after applying the packet, a string
+ * pool (every distinct name, category, suffix and tooltip text once), then one entry per item keyed
+ * by its integer registry id. Each entry has a flag byte saying which fields follow; strings are
+ * varint pool indices. An entry without fields resets the item.
+ */
+public class CustomizationSyncPacket {
+    static final int FLAG_RARITY = 1;
+    static final int FLAG_NAME = 1 << 1;
+    static final int FLAG_CATEGORY = 1 << 2;
+    static final int FLAG_SUFFIX = 1 << 3;
+    static final int FLAG_TOOLTIPS = 1 << 4;
+
+    // Longest string writeUtf accepts by default
+    static final int MAX_STRING_LENGTH = Short.MAX_VALUE;
+
+    // FNV-1a 64-bit constants used for entry content hashes
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final boolean replace;
+    private final long tableHash;
+    private final List<Entry> entries;
+
+    /**
+     * @param replace Whether the client drops all server data it holds before applying the entries
+     * @param tableHash The content hash of the server's whole table once the entries are applied
+     * @param entries The item entries
+     */
+    public CustomizationSyncPacket(boolean replace, long tableHash, List<Entry> entries) {
+        this.replace = replace;
+        this.tableHash = tableHash;
+        this.entries = entries;
+    }
+
+    public boolean isReplace() {
+        return replace;
+    }
+
+    public long getTableHash() {
+        return tableHash;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        // Build the string pool first so every entry can refer to it
+        Map<String, Integer> poolIndex = new HashMap<>();
+        List<String> pool = new ArrayList<>();
+        for (Entry entry : entries) {
+            intern(entry.customName, poolIndex, pool);
+            intern(entry.category, poolIndex, pool);
+            intern(entry.typeSuffix, poolIndex, pool);
+            if (entry.tooltipLines != null) {
+                entry.tooltipLines.values().forEach(text -> intern(text, poolIndex, pool));
+            }
+        }
+
+        buf.writeBoolean(replace);
+        buf.writeLong(tableHash);
+        buf.writeVarInt(pool.size());
+        for (String text : pool) {
+            buf.writeUtf(text);
+        }
+
+        buf.writeVarInt(entries.size());
+        for (Entry entry : entries) {
+            buf.writeVarInt(entry.registryId);
+
+            int flags = entry.flags();
+            buf.writeByte(flags);
+
+            if ((flags & FLAG_RARITY) != 0) buf.writeByte(entry.rarity.getId());
+            if ((flags & FLAG_NAME) != 0) buf.writeVarInt(poolIndex.get(entry.customName));
+            if ((flags & FLAG_CATEGORY) != 0) buf.writeVarInt(poolIndex.get(entry.category));
+            if ((flags & FLAG_SUFFIX) != 0) buf.writeVarInt(poolIndex.get(entry.typeSuffix));
+            if ((flags & FLAG_TOOLTIPS) != 0) {
+                buf.writeVarInt(entry.tooltipLines.size());
+                for (Map.Entry<Integer, String> line : entry.tooltipLines.entrySet()) {
+                    buf.writeVarInt(line.getKey());
+                    buf.writeVarInt(poolIndex.get(line.getValue()));
+                }
+            }
+        }
+    }
+
+    public static CustomizationSyncPacket decode(FriendlyByteBuf buf) {
+        boolean replace = buf.readBoolean();
+        long tableHash = buf.readLong();
+
+        String[] pool = new String[checkedCount(buf.readVarInt(), buf)];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = buf.readUtf();
+        }
+
+        int entryCount = checkedCount(buf.readVarInt(), buf);
+        List<Entry> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            int registryId = buf.readVarInt();
+            int flags = buf.readUnsignedByte();
+
+            ItemRarity rarity = null;
+            if ((flags & FLAG_RARITY) != 0) {
+                int rarityId = buf.readUnsignedByte();
+                rarity = ItemRarity.byId(rarityId);
+                if (rarity == null) {
+                    throw new DecoderException("Unknown rarity id " + rarityId);
+                }
+            }
+            String customName = (flags & FLAG_NAME) != 0 ? pooled(pool, buf.readVarInt()) : null;
+            String category = (flags & FLAG_CATEGORY) != 0 ? pooled(pool, buf.readVarInt()) : null;
+            String typeSuffix = (flags & FLAG_SUFFIX) != 0 ? pooled(pool, buf.readVarInt()) : null;
+
+            Map<Integer, String> tooltipLines = null;
+            if ((flags & FLAG_TOOLTIPS) != 0) {
+                int lineCount = checkedCount(buf.readVarInt(), buf);
+                tooltipLines = new TreeMap<>();
+                for (int l = 0; l < lineCount; l++) {
+                    int line = buf.readVarInt();
+                    tooltipLines.put(line, pooled(pool, buf.readVarInt()));
+                }
+            }
+
+            entries.add(new Entry(registryId, rarity, customName, category, typeSuffix, tooltipLines));
+        }
+        return new CustomizationSyncPacket(replace, tableHash, entries);
+    }
+
+    public static void handle(CustomizationSyncPacket packet, Supplier<NetworkEvent.Context> context) {
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientCustomizationSync.apply(packet));
+    }
+
+    private static void intern(String text, Map<String, Integer> poolIndex, List<String> pool) {
+        if (text != null && !poolIndex.containsKey(text)) {
+            poolIndex.put(text, pool.size());
+            pool.add(text);
+        }
+    }
+
+    private static String pooled(String[] pool, int index) {
+        if (index < 0 || index >= pool.length) {
+            throw new DecoderException("String pool index out of range: " + index);
+        }
+        return pool[index];
+    }
+
+    /**
+     * Reject counts that cannot fit in the remaining bytes, before allocating for them
+     */
+    private static int checkedCount(int count, FriendlyByteBuf buf) {
+        if (count < 0 || count > buf.readableBytes()) {
+            throw new DecoderException("Invalid element count " + count);
+        }
+        return count;
+    }
+
+    /**
+     * The server-side customizations of one item
+     */
+    public static class Entry {
+        final int registryId;
+        final ItemRarity rarity;
+        final String customName;
+        final String category;
+        final String typeSuffix;
+        final Map<Integer, String> tooltipLines;
+
+        public Entry(int registryId, ItemRarity rarity, String customName, String category,
+                     String typeSuffix, Map<Integer, String> tooltipLines) {
+            this.registryId = registryId;
+            this.rarity = rarity;
+            this.customName = customName;
+            this.category = category;
+            this.typeSuffix = typeSuffix;
+            this.tooltipLines = tooltipLines;
+        }
+
+        /**
+         * Gets an upper bound of the bytes this entry adds to a packet, counting every string as if
+         * it were not pooled and every char as 3 UTF-8 bytes
+         */
+        int estimatedSize() {
+            int size = 5 + 1 + 1;
+            size += estimatedSize(customName) + estimatedSize(category) + estimatedSize(typeSuffix);
+            if (tooltipLines != null) {
+                size += 5;
+                for (String text : tooltipLines.values()) {
+                    size += 5 + estimatedSize(text);
+                }
+            }
+            return size;
+        }
+
+        private static int estimatedSize(String text) {
+            // Pool index, length prefix and the text itself
+            return text == null ? 0 : 5 + 3 + text.length() * 3;
+        }
+
+        /**
+         * Whether the item has no customizations left and should be reset
+         */
+        boolean isReset() {
+            return flags() == 0;
+        }
+
+        /**
+         * Gets the flags of the fields this entry carries
+         */
+        int flags() {
+            int flags = 0;
+            if (rarity != null) flags |= FLAG_RARITY;
+            if (customName != null) flags |= FLAG_NAME;
+            if (category != null) flags |= FLAG_CATEGORY;
+            if (typeSuffix != null) flags |= FLAG_SUFFIX;
+            if (tooltipLines != null && !tooltipLines.isEmpty()) flags |= FLAG_TOOLTIPS;
+            return flags;
+        }
+
+        /**
+         * Hash the item ID and content, independent of registry ids so client and server agree.
+         * Table hashes are the sum of their entry hashes, so they can be updated one entry at a time.
+         */
+        long contentHash(ResourceLocation itemId) {
+            long hash = hashString(FNV_OFFSET, itemId.toString());
+            hash = hashInt(hash, flags());
+            hash = hashInt(hash, rarity != null ? rarity.getId() : -1);
+            hash = hashString(hash, customName);
+            hash = hashString(hash, category);
+            hash = hashString(hash, typeSuffix);
+            if (tooltipLines != null) {
+                for (Map.Entry<Integer, String> line : new TreeMap<>(tooltipLines).entrySet()) {
+                    hash = hashInt(hash, line.getKey());
+                    hash = hashString(hash, line.getValue());
+                }
+            }
+            // Final avalanche, so summing entry hashes does not cancel out similar entries
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+
+        /**
+         * Whether two entries carry the same customizations
+         */
+        boolean sameContent(Entry other) {
+            return other != null
+                && rarity == other.rarity
+                && Objects.equals(customName, other.customName)
+                && Objects.equals(category, other.category)
+                && Objects.equals(typeSuffix, other.typeSuffix)
+                && Objects.equals(normalizedLines(), other.normalizedLines());
+        }
+
+        private Map<Integer, String> normalizedLines() {
+            return tooltipLines == null || tooltipLines.isEmpty() ? Map.of() : tooltipLines;
+        }
+
+        private static long hashString(long hash, String text) {
+            if (text == null) {
+                return hashInt(hash, -1);
+            }
+            hash = hashInt(hash, text.length());
+            for (int i = 0; i < text.length(); i++) {
+                hash ^= text.charAt(i);
+                hash *= FNV_PRIME;
+            }
+            return hash;
+        }
+
+        private static long hashInt(long hash, int value) {
+            for (int shift = 0; shift < 32; shift += 8) {
+                hash ^= (value >>> shift) & 0xFF;
+                hash *= FNV_PRIME;
+            }
+            return hash;
+        }
+    }
+}
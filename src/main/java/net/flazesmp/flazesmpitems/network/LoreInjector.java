@@ -0,0 +1,272 @@
+package net.flazesmp.flazesmpitems.network;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import net.flazesmp.flazesmpitems.FlazeSMPItems;
+import net.flazesmp.flazesmpitems.config.ConfigManager;
+import net.flazesmp.flazesmpitems.config.ServerConfig;
+import net.flazesmp.flazesmpitems.core.TooltipTemplate;
+import net.flazesmp.flazesmpitems.util.ItemRarity;
+import net.flazesmp.flazesmpitems.util.RarityManager;
+import net.flazesmp.flazesmpitems.util.TooltipLines;
+import net.minecraft.ChatFormatting;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.Style;
+import net.minecraft.network.protocol.game.ClientboundContainerSetContentPacket;
+import net.minecraft.network.protocol.game.ClientboundContainerSetSlotPacket;
+import net.minecraft.network.protocol.game.ServerboundContainerClickPacket;
+import net.minecraft.network.protocol.game.ServerboundSetCreativeModeSlotPacket;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shows customizations to players without the mod by writing them into the item stacks of outgoing
+ * container and slot packets, as display name and lore.
+ *
+ * Those packets carry their own copies of the stacks, so the real inventory is never modified. The
+ * lore of each item is serialized once and cached. Injected stacks carry a marker holding the original
+ * display tag, which is used to strip the injected data from stacks the client sends back (creative
+ * mode and container clicks), so it can never end up on a real item.
+ */
+@Mod.EventBusSubscriber(modid = FlazeSMPItems.MOD_ID)
+public class LoreInjector extends ChannelDuplexHandler {
+    private static final String HANDLER_NAME = FlazeSMPItems.MOD_ID + ":lore_injector";
+    private static final String MARKER_TAG = "ItemTooltipEnhancerLore";
+
+    // Pre-serialized display data per item, dropped when the item changes
+    private static final Map<Item, Injection> CACHE = new ConcurrentHashMap<>();
+
+    static void register() {
+        RarityManager.addChangeListener(itemIds -> {
+            for (ResourceLocation id : itemIds) {
+                Item item = ForgeRegistries.ITEMS.getValue(id);
+                if (item != null) {
+                    CACHE.remove(item);
+                }
+            }
+        });
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        if (!(event.getEntity() instanceof ServerPlayer player)
+                || !ServerConfig.INJECT_LORE_FOR_VANILLA_CLIENTS.get()
+                || ModNetwork.hasChannel(player)
+                || player.connection.connection.isMemoryConnection()) {
+            return;
+        }
+
+        Channel channel = player.connection.connection.channel();
+        if (channel.pipeline().get(HANDLER_NAME) == null) {
+            channel.pipeline().addBefore("packet_handler", HANDLER_NAME, new LoreInjector());
+        }
+
+        // The inventory was sent before the handler was in place
+        player.inventoryMenu.sendAllDataToRemote();
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        try {
+            if (msg instanceof ClientboundContainerSetContentPacket packet) {
+                for (ItemStack stack : packet.getItems()) {
+                    inject(stack);
+                }
+                inject(packet.getCarriedItem());
+            } else if (msg instanceof ClientboundContainerSetSlotPacket packet) {
+                inject(packet.getItem());
+            }
+        } catch (Exception e) {
+            FlazeSMPItems.LOGGER.error("Failed to add lore to outgoing items", e);
+        }
+        super.write(ctx, msg, promise);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof ServerboundSetCreativeModeSlotPacket packet) {
+            strip(packet.getItem());
+        } else if (msg instanceof ServerboundContainerClickPacket packet) {
+            packet.getChangedSlots().values().forEach(LoreInjector::strip);
+            strip(packet.getCarriedItem());
+        }
+        super.channelRead(ctx, msg);
+    }
+
+    /**
+     * Add the cached display name and lore to a packet's copy of a stack
+     */
+    static void inject(ItemStack stack) {
+        if (stack.isEmpty()) {
+            return;
+        }
+        Injection injection = CACHE.computeIfAbsent(stack.getItem(), LoreInjector::buildInjection);
+        if (injection.isEmpty()) {
+            return;
+        }
+
+        CompoundTag tag = stack.getOrCreateTag();
+        if (tag.contains(MARKER_TAG)) {
+            return;
+        }
+
+        // Remember the original display tag so it can be restored exactly
+        CompoundTag original = new CompoundTag();
+        CompoundTag display;
+        if (tag.contains("display", Tag.TAG_COMPOUND)) {
+            display = tag.getCompound("display");
+            original.put("display", display.copy());
+        } else {
+            display = new CompoundTag();
+        }
+        tag.put(MARKER_TAG, original);
+
+        // An anvil name wins over the configured one
+        if (injection.name != null && !display.contains("Name", Tag.TAG_STRING)) {
+            display.putString("Name", injection.name);
+        }
+
+        if (injection.lore != null) {
+            ListTag injectedLore = injection.loreFor(stack);
+            if (display.contains("Lore", Tag.TAG_LIST)) {
+                ListTag lore = display.getList("Lore", Tag.TAG_STRING).copy();
+                lore.addAll(injectedLore);
+                display.put("Lore", lore);
+            } else {
+                // Shared between packets unless it has placeholders: it is only read while encoding
+                display.put("Lore", injectedLore);
+            }
+        }
+        tag.put("display", display);
+    }
+
+    /**
+     * Remove injected data from a stack sent by the client, restoring its original display tag
+     */
+    static void strip(ItemStack stack) {
+        if (stack.isEmpty() || !stack.hasTag() || !stack.getTag().contains(MARKER_TAG, Tag.TAG_COMPOUND)) {
+            return;
+        }
+
+        CompoundTag tag = stack.getTag();
+        CompoundTag original = tag.getCompound(MARKER_TAG);
+        tag.remove(MARKER_TAG);
+        if (original.contains("display", Tag.TAG_COMPOUND)) {
+            tag.put("display", original.getCompound("display"));
+        } else {
+            tag.remove("display");
+        }
+
+        if (tag.isEmpty()) {
+            stack.setTag(null);
+        }
+    }
+
+    /**
+     * Serialize the display name and lore the tooltip handler would show for an item
+     */
+    private static Injection buildInjection(Item item) {
+        // Vanilla renders names and lore in italics unless told otherwise
+        Style plain = Style.EMPTY.withItalic(false);
+
+        String name = null;
+        String customName = RarityManager.getCustomName(item);
+        if (customName != null && !customName.isEmpty()) {
+            name = Component.Serializer.toJson(Component.literal(customName).withStyle(plain));
+        }
+
+        List<Component> lines = new ArrayList<>();
+        Map<Integer, TooltipTemplate<ItemStack>> templates = new HashMap<>();
+        TooltipLines tooltipLines = RarityManager.getTooltipLines(item);
+        if (!tooltipLines.isEmpty()) {
+            lines.add(Component.literal(""));
+            for (int i = 0; i < tooltipLines.size(); i++) {
+                // Vanilla clients cannot toggle sections, so lines shown on a key press are always shown
+                String line = tooltipLines.componentAt(i).getString();
+                if (!tooltipLines.textAt(i).isEmpty()) {
+                    // Lines with placeholders are rendered for each stack when injected
+                    if (tooltipLines.templateAt(i) != null) {
+                        templates.put(lines.size(), tooltipLines.templateAt(i));
+                    }
+                    lines.add(Component.literal(line).withStyle(plain.withColor(ChatFormatting.GRAY)));
+                }
+            }
+            lines.add(Component.literal(""));
+        }
+
+        // Only customized items get a rarity line, everything else keeps the vanilla look
+        ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
+        if (name != null || !lines.isEmpty() || ConfigManager.hasCustomItemData(id)) {
+            String category = RarityManager.getItemCategory(item);
+            if (category != null && !category.isEmpty()) {
+                lines.add(Component.literal(category).withStyle(plain.withColor(ChatFormatting.DARK_GRAY)));
+            }
+
+            ItemRarity rarity = RarityManager.getRarity(item);
+            String suffix = RarityManager.getItemTypeSuffix(item);
+            lines.add(Component.literal(rarity.getRarityLine(suffix).getString())
+                .withStyle(rarity.getStyle().withItalic(false)));
+        }
+
+        ListTag lore = null;
+        if (!lines.isEmpty()) {
+            lore = new ListTag();
+            for (Component line : lines) {
+                lore.add(StringTag.valueOf(Component.Serializer.toJson(line)));
+            }
+        }
+        return new Injection(name, lore, templates.isEmpty() ? null : templates);
+    }
+
+    /**
+     * Pre-serialized display data of one item
+     */
+    private static class Injection {
+        final String name;
+        final ListTag lore;
+        // Lore lines with placeholders by index, or null if there are none
+        final Map<Integer, TooltipTemplate<ItemStack>> templates;
+
+        Injection(String name, ListTag lore, Map<Integer, TooltipTemplate<ItemStack>> templates) {
+            this.name = name;
+            this.lore = lore;
+            this.templates = templates;
+        }
+
+        boolean isEmpty() {
+            return name == null && lore == null;
+        }
+
+        /**
+         * Gets the lore for a stack, rendering the lines with placeholders against it
+         */
+        ListTag loreFor(ItemStack stack) {
+            if (templates == null) {
+                return lore;
+            }
+            ListTag rendered = lore.copy();
+            Style style = Style.EMPTY.withItalic(false).withColor(ChatFormatting.GRAY);
+            templates.forEach((index, template) -> rendered.set(index, StringTag.valueOf(
+                Component.Serializer.toJson(Component.literal(template.render(stack)).withStyle(style)))));
+            return rendered;
+        }
+    }
+}
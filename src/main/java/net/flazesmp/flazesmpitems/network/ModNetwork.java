@@ -0,0 +1,53 @@
+package net.flazesmp.flazesmpitems.network;
+
+import net.flazesmp.flazesmpitems.FlazeSMPItems;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkRegistry;
+import net.minecraftforge.network.simple.SimpleChannel;
+
+/**
+ * Network channel of the mod. Either side may lack the mod: clients without it simply
+ * keep vanilla tooltips, and clients joining a server without it use their local configs.
+ */
+public class ModNetwork {
+    private static final String PROTOCOL_VERSION = "3";
+
+    public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
+        FlazeSMPItems.id("sync"),
+        () -> PROTOCOL_VERSION,
+        NetworkRegistry.acceptMissingOr(PROTOCOL_VERSION),
+        NetworkRegistry.acceptMissingOr(PROTOCOL_VERSION));
+
+    /**
+     * Register the packets of the channel
+     */
+    public static void register() {
+        int id = 0;
+        CHANNEL.messageBuilder(CustomizationSyncPacket.class, id++, NetworkDirection.PLAY_TO_CLIENT)
+            .encoder(CustomizationSyncPacket::encode)
+            .decoder(CustomizationSyncPacket::decode)
+            .consumerMainThread(CustomizationSyncPacket::handle)
+            .add();
+        CHANNEL.messageBuilder(ClientHelloPacket.class, id++, NetworkDirection.PLAY_TO_SERVER)
+            .encoder(ClientHelloPacket::encode)
+            .decoder(ClientHelloPacket::decode)
+            .consumerMainThread(ClientHelloPacket::handle)
+            .add();
+        CHANNEL.messageBuilder(RarityTiersPacket.class, id++, NetworkDirection.PLAY_TO_CLIENT)
+            .encoder(RarityTiersPacket::encode)
+            .decoder(RarityTiersPacket::decode)
+            .consumerNetworkThread(RarityTiersPacket::handle)
+            .add();
+
+        CustomizationSync.register();
+        LoreInjector.register();
+    }
+
+    /**
+     * Check if a player's client has this channel
+     */
+    public static boolean hasChannel(ServerPlayer player) {
+        return CHANNEL.isRemotePresent(player.connection.connection);
+    }
+}
@@ -0,0 +1,71 @@
+package net.flazesmp.flazesmpitems.network;
+
+import io.netty.handler.codec.DecoderException;
+import net.flazesmp.flazesmpitems.util.RarityRegistry;
+import net.flazesmp.flazesmpitems.util.RarityTierDefinition;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Server -> client packet with the server's custom rarity tiers, in id order, and its stack rarity
+ * rules as JSON. Sent on join before any customization, and handled on the network thread so the
+ * tiers are registered before the following sync packets are decoded.
+ */
+public class RarityTiersPacket {
+    // Long item lists can take the rules past the default string limit of 32767 chars, this keeps
+    // the packet under the 1 MiB payload limit even with 3 bytes per char
+    static final int MAX_STACK_RULES_LENGTH = 262144;
+
+    private final List<RarityTierDefinition> tiers;
+    private final String stackRules;
+
+    public RarityTiersPacket(List<RarityTierDefinition> tiers, String stackRules) {
+        this.tiers = tiers;
+        this.stackRules = stackRules;
+    }
+
+    public List<RarityTierDefinition> getTiers() {
+        return tiers;
+    }
+
+    public String getStackRules() {
+        return stackRules;
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeVarInt(tiers.size());
+        for (RarityTierDefinition tier : tiers) {
+            buf.writeUtf(tier.getKey());
+            buf.writeUtf(tier.getName());
+            buf.writeUtf(tier.getColor());
+            buf.writeVarInt(tier.getOrder());
+            buf.writeUtf(tier.getLineFormat());
+            buf.writeBoolean(tier.isBold());
+        }
+        buf.writeUtf(stackRules, MAX_STACK_RULES_LENGTH);
+    }
+
+    public static RarityTiersPacket decode(FriendlyByteBuf buf) {
+        int count = buf.readVarInt();
+        if (count < 0 || count > RarityRegistry.MAX_TIERS) {
+            throw new DecoderException("Invalid rarity tier count " + count);
+        }
+        List<RarityTierDefinition> tiers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tiers.add(new RarityTierDefinition(buf.readUtf(), buf.readUtf(), buf.readUtf(),
+                buf.readVarInt(), buf.readUtf(), buf.readBoolean()));
+        }
+        return new RarityTiersPacket(tiers, buf.readUtf(MAX_STACK_RULES_LENGTH));
+    }
+
+    public static void handle(RarityTiersPacket packet, Supplier<NetworkEvent.Context> context) {
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientCustomizationSync.applyTiers(packet));
+        context.get().setPacketHandled(true);
+    }
+}
@@ -0,0 +1,153 @@
+package net.flazesmp.flazesmpitems.tooltip;
+
+import com.google.common.collect.MapMaker;
+import net.flazesmp.flazesmpitems.config.MessageConfig;
+import net.flazesmp.flazesmpitems.metrics.ModMetrics;
+import net.flazesmp.flazesmpitems.util.ItemRarity;
+import net.flazesmp.flazesmpitems.util.RarityManager;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.BlockItem;
+import net.minecraft.world.item.BundleItem;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.ShulkerBoxBlock;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summarizes the contents of shulker boxes and bundles: the highest rarity inside and the largest
+ * entries, grouped by rarity.
+ *
+ * Reading the contents means decoding every contained stack and looking up its rarity, so the
+ * summary lines are cached per item list instance. Hashing the list would walk all of its NBT on
+ * every frame; instead a list is only read once, and a box whose contents change gets a new list
+ * from the server. The cache is dropped when rarities change.
+ */
+public class ContainerSummaryTooltip {
+    // Entries listed before the rest is counted as "and N more"
+    private static final int TOP_ENTRIES = 5;
+
+    // Weak keys are compared by identity, entries go away with their stacks
+    private static final Map<ListTag, List<Component>> CACHE = new MapMaker().weakKeys().makeMap();
+
+    static {
+        RarityManager.addChangeListener(itemIds -> invalidate());
+    }
+
+    /**
+     * Add the contents summary of a shulker box or bundle
+     *
+     * @return true if the stack is a non-empty container and a summary was added
+     */
+    public static boolean addSummary(List<Component> tooltip, ItemStack stack) {
+        ListTag items = getContents(stack);
+        if (items == null || items.isEmpty()) {
+            return false;
+        }
+
+        List<Component> lines = CACHE.get(items);
+        if (lines != null) {
+            ModMetrics.CONTAINER_SUMMARY_LOOKUPS.hit();
+        } else {
+            ModMetrics.CONTAINER_SUMMARY_LOOKUPS.miss();
+            lines = buildSummary(items);
+            CACHE.put(items, lines);
+        }
+
+        if (lines.isEmpty()) {
+            return false;
+        }
+        tooltip.add(Component.literal(""));
+        tooltip.addAll(lines);
+        return true;
+    }
+
+    /**
+     * Drop all cached summaries, for when rarities, tiers or stack rules change
+     */
+    public static void invalidate() {
+        CACHE.clear();
+    }
+
+    /**
+     * Gets the item list of a shulker box or bundle, or null for other items
+     */
+    private static ListTag getContents(ItemStack stack) {
+        CompoundTag tag;
+        if (stack.getItem() instanceof BundleItem) {
+            tag = stack.getTag();
+        } else if (stack.getItem() instanceof BlockItem && Block.byItem(stack.getItem()) instanceof ShulkerBoxBlock) {
+            tag = BlockItem.getBlockEntityData(stack);
+        } else {
+            return null;
+        }
+        return tag != null && tag.contains("Items", Tag.TAG_LIST) ? tag.getList("Items", Tag.TAG_COMPOUND) : null;
+    }
+
+    private static List<Component> buildSummary(ListTag items) {
+        // Merge stacks of the same item and rarity, keeping the order they first appear in
+        Map<String, Entry> merged = new LinkedHashMap<>();
+        int total = 0;
+        for (int i = 0; i < items.size(); i++) {
+            ItemStack contained = ItemStack.of(items.getCompound(i));
+            if (contained.isEmpty()) {
+                continue;
+            }
+            ItemRarity rarity = RarityManager.getRarity(contained);
+            String name = contained.getHoverName().getString();
+            Entry entry = merged.computeIfAbsent(rarity.name() + '|' + name, k -> new Entry(name, rarity));
+            entry.count += contained.getCount();
+            total += contained.getCount();
+        }
+        if (merged.isEmpty()) {
+            return List.of();
+        }
+
+        // Highest rarity first, in the reverse of the registry's tier order so tiers sharing an order
+        // never merge into one group; then the largest entries first
+        List<Entry> entries = new ArrayList<>(merged.values());
+        entries.sort(Comparator.comparingInt((Entry entry) -> entry.rarity.getOrder())
+            .thenComparingInt(entry -> entry.rarity.getId())
+            .reversed()
+            .thenComparing(Comparator.comparingInt((Entry entry) -> entry.count).reversed()));
+
+        List<Component> lines = new ArrayList<>();
+        lines.add(Component.literal(MessageConfig.getMessage("tooltip.container.header", total)));
+        lines.add(Component.literal(MessageConfig.getMessage("tooltip.container.highest"))
+            .append(entries.get(0).rarity.getNameComponent()));
+
+        // The top entries, under a line for each rarity
+        ItemRarity group = null;
+        int shown = Math.min(TOP_ENTRIES, entries.size());
+        for (int i = 0; i < shown; i++) {
+            Entry entry = entries.get(i);
+            if (entry.rarity != group) {
+                group = entry.rarity;
+                lines.add(group.getNameComponent());
+            }
+            lines.add(Component.literal(MessageConfig.getMessage("tooltip.container.entry", entry.name, entry.count)));
+        }
+        if (entries.size() > shown) {
+            lines.add(Component.literal(MessageConfig.getMessage("tooltip.container.more", entries.size() - shown)));
+        }
+        return List.copyOf(lines);
+    }
+
+    private static class Entry {
+        final String name;
+        final ItemRarity rarity;
+        int count;
+
+        Entry(String name, ItemRarity rarity) {
+            this.name = name;
+            this.rarity = rarity;
+        }
+    }
+}
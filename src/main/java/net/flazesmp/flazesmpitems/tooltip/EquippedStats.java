@@ -0,0 +1,77 @@
+package net.flazesmp.flazesmpitems.tooltip;
+
+import net.flazesmp.flazesmpitems.FlazeSMPItems;
+import net.flazesmp.flazesmpitems.util.ItemStats;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.player.LocalPlayer;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Arrays;
+
+/**
+ * The stats of what the local player wears and holds, per equipment slot, for comparing hovered
+ * gear against it.
+ *
+ * Equipment change events only fire on the server, so the slots are checked once per client tick
+ * instead. A slot's stats are only computed again when its stack is replaced by a different one,
+ * so hovering and most ticks only read the cached stats.
+ */
+@Mod.EventBusSubscriber(modid = FlazeSMPItems.MOD_ID, value = Dist.CLIENT)
+public class EquippedStats {
+    private static final EquipmentSlot[] EQUIPMENT_SLOTS = EquipmentSlot.values();
+    private static final ItemStats[] SLOTS = new ItemStats[EQUIPMENT_SLOTS.length];
+    // The stacks the slots were computed from
+    private static final ItemStack[] STACKS = new ItemStack[EQUIPMENT_SLOTS.length];
+    // The player entity the slots belong to, replaced on respawn and dimension change
+    private static volatile Player owner;
+
+    static {
+        clear();
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) {
+            return;
+        }
+
+        LocalPlayer player = Minecraft.getInstance().player;
+        if (player != owner) {
+            clear();
+            owner = player;
+        }
+        if (player == null) {
+            return;
+        }
+
+        for (EquipmentSlot slot : EQUIPMENT_SLOTS) {
+            int index = slot.ordinal();
+            ItemStack stack = player.getItemBySlot(slot);
+            if (stack == STACKS[index] || ItemStack.matches(stack, STACKS[index])) {
+                continue;
+            }
+            STACKS[index] = stack;
+            SLOTS[index] = ItemStats.of(stack);
+        }
+    }
+
+    /**
+     * Gets the stats of what a player has equipped in a slot
+     *
+     * @return The stats, or NONE if the slot is empty or the player is not the local player
+     */
+    public static ItemStats get(Player player, EquipmentSlot slot) {
+        return player != null && player == owner ? SLOTS[slot.ordinal()] : ItemStats.NONE;
+    }
+
+    private static void clear() {
+        Arrays.fill(SLOTS, ItemStats.NONE);
+        Arrays.fill(STACKS, ItemStack.EMPTY);
+    }
+}
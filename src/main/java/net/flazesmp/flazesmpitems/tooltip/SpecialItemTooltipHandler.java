@@ -2,6 +2,7 @@ package net.flazesmp.flazesmpitems.tooltip;
 
 import net.flazesmp.flazesmpitems.FlazeSMPItems;
 import net.flazesmp.flazesmpitems.config.MessageConfig;
+import net.flazesmp.flazesmpitems.metrics.jfr.SpecialItemFormatEvent;
 import net.minecraft.ChatFormatting;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -35,14 +36,27 @@ public class SpecialItemTooltipHandler {
      * @return true if this item was handled specially
      */
     public static boolean handleSpecialItem(List<Component> tooltip, ItemStack stack) {
+        SpecialItemFormatEvent formatEvent = new SpecialItemFormatEvent();
+        formatEvent.begin();
+        
+        boolean handled = false;
         if (isPotionItem(stack)) {
             formatPotionTooltip(tooltip, stack);
-            return true;
+            handled = true;
         } else if (isMusicDisc(stack)) {
             formatMusicDiscTooltip(tooltip, stack);
-            return true;
+            handled = true;
+        }
+        
+        formatEvent.end();
+        if (formatEvent.shouldCommit()) {
+            ResourceLocation itemId = ForgeRegistries.ITEMS.getKey(stack.getItem());
+            formatEvent.itemId = String.valueOf(itemId);
+            formatEvent.handled = handled;
+            formatEvent.lineCount = tooltip.size();
+            formatEvent.commit();
         }
-        return false;
+        return handled;
     }
     
     /**
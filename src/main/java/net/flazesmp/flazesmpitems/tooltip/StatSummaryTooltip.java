@@ -0,0 +1,154 @@
+package net.flazesmp.flazesmpitems.tooltip;
+
+import net.flazesmp.flazesmpitems.config.MessageConfig;
+import net.flazesmp.flazesmpitems.util.ItemStats;
+import net.minecraft.ChatFormatting;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.contents.TranslatableContents;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces vanilla's attribute modifier block of weapons, tools and armor with a compact stat
+ * section in the style of the potion effects, with the difference to the gear the player has
+ * equipped in the same slot.
+ */
+public class StatSummaryTooltip {
+
+    /**
+     * Replace the attribute modifier block of a stack with its stats
+     *
+     * @param tooltip The tooltip list to modify
+     * @param stack The item stack
+     * @param player The player looking at the tooltip, or null if there is none
+     * @return true if the block was replaced
+     */
+    public static boolean replaceModifierLines(List<Component> tooltip, ItemStack stack, Player player) {
+        // Stacks that hide their modifiers have no block to replace
+        CompoundTag tag = stack.getTag();
+        if (tag != null && (tag.getInt("HideFlags") & ItemStack.TooltipPart.MODIFIERS.getMask()) != 0) {
+            return false;
+        }
+
+        ItemStats stats = ItemStats.of(stack);
+        if (stats.isEmpty()) {
+            return false;
+        }
+
+        int index = removeModifierLines(tooltip);
+        if (index < 0) {
+            return false;
+        }
+        tooltip.addAll(index, buildStatLines(stats, EquippedStats.get(player, stats.getSlot()), stack));
+        return true;
+    }
+
+    /**
+     * Build the stat section, starting with an empty line
+     *
+     * @param equipped The stats of the gear to compare with, NONE for no comparison
+     */
+    static List<Component> buildStatLines(ItemStats stats, ItemStats equipped, ItemStack stack) {
+        List<Component> lines = new ArrayList<>();
+        lines.add(Component.literal(""));
+        lines.add(Component.literal(MessageConfig.getMessage("tooltip.stats.header"))
+            .withStyle(ChatFormatting.GOLD)
+            .withStyle(ChatFormatting.BOLD));
+
+        if (stats.isWeapon()) {
+            boolean compare = equipped.isWeapon();
+            String damage = MessageConfig.getMessage("tooltip.stats.damage", format(stats.getAttackDamage()));
+            if (stats.getDamageBonus() > 0) {
+                damage += MessageConfig.getMessage("tooltip.stats.bonus", format(stats.getDamageBonus()));
+            }
+            if (compare) {
+                damage += delta(stats.getAttackDamage() + stats.getDamageBonus(),
+                    equipped.getAttackDamage() + equipped.getDamageBonus());
+            }
+            lines.add(Component.literal(damage));
+            lines.add(Component.literal(MessageConfig.getMessage("tooltip.stats.speed", format(stats.getAttackSpeed()))
+                + (compare ? delta(stats.getAttackSpeed(), equipped.getAttackSpeed()) : "")));
+        }
+        if (stats.isArmorPiece()) {
+            boolean compare = equipped.isArmorPiece();
+            lines.add(Component.literal(MessageConfig.getMessage("tooltip.stats.armor", format(stats.getArmor()))
+                + (compare ? delta(stats.getArmor(), equipped.getArmor()) : "")));
+            if (stats.getToughness() > 0 || compare && equipped.getToughness() > 0) {
+                lines.add(Component.literal(MessageConfig.getMessage("tooltip.stats.toughness", format(stats.getToughness()))
+                    + (compare ? delta(stats.getToughness(), equipped.getToughness()) : "")));
+            }
+        }
+        if (stack.isDamageableItem()) {
+            lines.add(Component.literal(MessageConfig.getMessage("tooltip.stats.durability",
+                stack.getMaxDamage() - stack.getDamageValue(), stack.getMaxDamage())));
+        }
+        return lines;
+    }
+
+    /**
+     * Remove every "When in Main Hand:" style block with the empty line before it
+     *
+     * @return The index of the first removed line, or -1 if there was none
+     */
+    private static int removeModifierLines(List<Component> tooltip) {
+        int first = -1;
+        int i = 0;
+        while (i < tooltip.size()) {
+            String key = translationKey(tooltip.get(i));
+            if (key == null || !key.startsWith("item.modifiers.")) {
+                i++;
+                continue;
+            }
+
+            int start = i > 0 && tooltip.get(i - 1).getString().isEmpty() ? i - 1 : i;
+            int end = i + 1;
+            while (end < tooltip.size()) {
+                String modifierKey = translationKey(tooltip.get(end));
+                if (modifierKey == null || !modifierKey.startsWith("attribute.modifier.")) {
+                    break;
+                }
+                end++;
+            }
+            tooltip.subList(start, end).clear();
+            if (first < 0) {
+                first = start;
+            }
+            i = start;
+        }
+        return first;
+    }
+
+    /**
+     * Gets the translation key of a line, or of its first part for lines like " 7 Attack Damage"
+     */
+    private static String translationKey(Component line) {
+        if (line.getContents() instanceof TranslatableContents translatable) {
+            return translatable.getKey();
+        }
+        if (!line.getSiblings().isEmpty() && line.getSiblings().get(0).getContents() instanceof TranslatableContents translatable) {
+            return translatable.getKey();
+        }
+        return null;
+    }
+
+    /**
+     * Gets the difference of a stat to the equipped one, or nothing when they are equal
+     */
+    private static String delta(double value, double equipped) {
+        double difference = value - equipped;
+        if (Math.abs(difference) < 0.005) {
+            return "";
+        }
+        return difference > 0
+            ? MessageConfig.getMessage("tooltip.stats.better", format(difference))
+            : MessageConfig.getMessage("tooltip.stats.worse", format(difference));
+    }
+
+    private static String format(double value) {
+        return ItemStack.ATTRIBUTE_MODIFIER_FORMAT.format(value);
+    }
+}
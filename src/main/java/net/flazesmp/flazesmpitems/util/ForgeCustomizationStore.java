@@ -0,0 +1,115 @@
+package net.flazesmp.flazesmpitems.util;
+
+import net.flazesmp.flazesmpitems.config.ConfigManager;
+import net.flazesmp.flazesmpitems.core.CustomizationStore;
+import net.flazesmp.flazesmpitems.core.ItemCustomization;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The customization store of the core module over the live RarityManager and ConfigManager state.
+ * Explicitly set values and data pack definitions are part of a customization, automatic rarities
+ * and categories are not.
+ */
+public class ForgeCustomizationStore implements CustomizationStore {
+    public static final ForgeCustomizationStore INSTANCE = new ForgeCustomizationStore();
+
+    private ForgeCustomizationStore() {
+    }
+
+    @Override
+    public ItemCustomization get(String itemId) {
+        Item item = itemOf(itemId);
+        return item != null ? get(item) : null;
+    }
+
+    /**
+     * Gets the customization of an item
+     *
+     * @return The customization, or null if the item is not customized
+     */
+    public ItemCustomization get(Item item) {
+        ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
+        if (id == null) {
+            return null;
+        }
+
+        ItemRarity rarity = RarityManager.getExplicitRarity(item);
+        if (rarity == null) {
+            rarity = RarityManager.getDataPackRarity(item);
+        }
+        ItemCustomization customization = new ItemCustomization(
+            id.toString(),
+            rarity != null ? rarity.name() : null,
+            RarityManager.getCustomName(item),
+            RarityManager.getExplicitCategory(item),
+            RarityManager.getTooltipLines(item).toMap(),
+            ConfigManager.getCustomTypeSuffix(item));
+        return customization.isEmpty() ? null : customization;
+    }
+
+    /**
+     * Replace the customization of an item in one batch, which also writes its config file
+     */
+    @Override
+    public void put(ItemCustomization customization) {
+        Item item = requireItem(customization.getItemId());
+        ItemRarity rarity = customization.getRarity() != null ? ItemRarity.valueOf(customization.getRarity()) : null;
+        
+        // The suffix is not part of a batch, so it is set first to be included in the saved file
+        ConfigManager.setCustomTypeSuffix(item, customization.getTypeSuffix());
+        int changed = RarityManager.batch(changes -> {
+            changes.clearItemData(item);
+            if (rarity != null) {
+                changes.setRarity(item, rarity);
+            }
+            if (customization.getDisplayName() != null) {
+                changes.setCustomName(item, customization.getDisplayName());
+            }
+            if (customization.getCategory() != null) {
+                changes.setItemCategory(item, customization.getCategory());
+            }
+            customization.getTooltips().forEach((line, text) -> changes.setTooltipLine(item, line, text));
+        });
+        if (changed == 0) {
+            ConfigManager.saveItemConfig(item);
+        }
+    }
+
+    @Override
+    public boolean remove(String itemId) {
+        Item item = requireItem(itemId);
+        boolean customized = RarityManager.hasCustomizations(item) || ConfigManager.getCustomTypeSuffix(item) != null;
+        ConfigManager.setCustomTypeSuffix(item, null);
+        RarityManager.clearItemData(item);
+        return customized;
+    }
+
+    @Override
+    public Set<String> getItemIds() {
+        Set<ResourceLocation> ids = new HashSet<>(RarityManager.getCustomizedItemIds());
+        ids.addAll(ConfigManager.getCustomTypeSuffixes().keySet());
+        ids.addAll(RarityManager.getDataPackItemIds());
+        return ids.stream()
+            .map(ResourceLocation::toString)
+            .collect(Collectors.toSet());
+    }
+
+    private static Item itemOf(String itemId) {
+        ResourceLocation id = ResourceLocation.tryParse(itemId);
+        return id != null && ForgeRegistries.ITEMS.containsKey(id) ? ForgeRegistries.ITEMS.getValue(id) : null;
+    }
+
+    private static Item requireItem(String itemId) {
+        Item item = itemOf(itemId);
+        if (item == null) {
+            throw new IllegalArgumentException("Unknown item: " + itemId);
+        }
+        return item;
+    }
+}
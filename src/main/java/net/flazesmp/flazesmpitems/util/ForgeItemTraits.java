@@ -0,0 +1,65 @@
+package net.flazesmp.flazesmpitems.util;
+
+import net.flazesmp.flazesmpitems.FlazeSMPItems;
+import net.flazesmp.flazesmpitems.core.ItemTraits;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ArmorItem;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.TieredItem;
+import net.minecraft.world.item.Tiers;
+import net.minecraftforge.registries.ForgeRegistries;
+
+/**
+ * The traits of a registered item, read for the rarity rules of the core module
+ */
+public class ForgeItemTraits implements ItemTraits {
+    private final Item item;
+
+    public ForgeItemTraits(Item item) {
+        this.item = item;
+    }
+
+    @Override
+    public String getItemId() {
+        ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
+        return id != null ? id.toString() : "";
+    }
+
+    @Override
+    public String getVanillaRarity() {
+        return item.getRarity(new ItemStack(item)).name();
+    }
+
+    @Override
+    public String getTierName() {
+        return item instanceof TieredItem tieredItem ? tieredItem.getTier().toString() : null;
+    }
+
+    @Override
+    public String getVanillaTierName() {
+        // By identity, a modded tier printing as a vanilla one is not that tier
+        if (item instanceof TieredItem tieredItem && tieredItem.getTier() instanceof Tiers vanillaTier) {
+            return vanillaTier.name();
+        }
+        return null;
+    }
+
+    @Override
+    public int getTierUses() {
+        try {
+            if (item instanceof TieredItem tieredItem) {
+                return tieredItem.getTier().getUses();
+            }
+        } catch (Exception e) {
+            // Log error but don't crash
+            FlazeSMPItems.LOGGER.debug("Error reading the tier of {}: {}", getItemId(), e.getMessage());
+        }
+        return -1;
+    }
+
+    @Override
+    public String getArmorMaterial() {
+        return item instanceof ArmorItem armorItem ? armorItem.getMaterial().getName() : null;
+    }
+}
@@ -0,0 +1,112 @@
+package net.flazesmp.flazesmpitems.util;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.MapMaker;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deduplicates the values of item customizations, so thousands of items sharing the same tooltip
+ * lines, categories and suffixes hold one copy of each instead of one per item.
+ *
+ * Values are held weakly: once no item uses a value anymore it can be collected. The byte counts are
+ * estimates of the shallow size of the duplicates that were dropped.
+ */
+public final class InternPool {
+    // Object header plus fields of a String, and the header of its backing array
+    private static final int STRING_OVERHEAD = 24 + 16;
+
+    // A literal component: the component, its contents and its empty sibling list
+    private static final int COMPONENT_SIZE = 40 + 16 + 24;
+
+    private static final Interner<String> STRINGS = Interners.newWeakInterner();
+    private static final ConcurrentMap<String, Component> COMPONENTS = new MapMaker().weakValues().makeMap();
+
+    private static final AtomicLong DUPLICATES = new AtomicLong();
+    private static final AtomicLong BYTES_SAVED = new AtomicLong();
+
+    private InternPool() {
+    }
+
+    /**
+     * Gets the pooled copy of a string
+     */
+    public static String intern(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        String pooled = STRINGS.intern(value);
+        if (pooled != value) {
+            DUPLICATES.incrementAndGet();
+            BYTES_SAVED.addAndGet(estimateSize(value));
+        }
+        return pooled;
+    }
+
+    /**
+     * Gets a shared literal component for a text. Callers must not modify it.
+     */
+    public static Component component(String text) {
+        String pooled = intern(text);
+        Component existing = COMPONENTS.get(pooled);
+        if (existing != null) {
+            DUPLICATES.incrementAndGet();
+            BYTES_SAVED.addAndGet(COMPONENT_SIZE);
+            return existing;
+        }
+        Component created = Component.literal(pooled);
+        existing = COMPONENTS.putIfAbsent(pooled, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * Gets the registry's own instance of an item ID, so maps keyed by item share the registry's keys
+     *
+     * @return The registry key, or the given ID if no such item is registered
+     */
+    public static ResourceLocation itemId(ResourceLocation id) {
+        if (id == null || !ForgeRegistries.ITEMS.containsKey(id)) {
+            return id;
+        }
+        Item item = ForgeRegistries.ITEMS.getValue(id);
+        ResourceLocation key = ForgeRegistries.ITEMS.getKey(item);
+        if (key != null && key != id) {
+            DUPLICATES.incrementAndGet();
+            BYTES_SAVED.addAndGet(16 + estimateSize(id.getNamespace()) + estimateSize(id.getPath()));
+            return key;
+        }
+        return id;
+    }
+
+    /**
+     * Gets the number of duplicate values replaced by a pooled one
+     */
+    public static long getDuplicateCount() {
+        return DUPLICATES.get();
+    }
+
+    /**
+     * Gets the estimated number of bytes saved by pooling
+     */
+    public static long getBytesSaved() {
+        return BYTES_SAVED.get();
+    }
+
+    private static long estimateSize(String value) {
+        // Compact strings use one byte per char unless a char needs two
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return STRING_OVERHEAD + ((value.length() * bytesPerChar + 7L) & ~7L);
+    }
+}
@@ -0,0 +1,236 @@
+package net.flazesmp.flazesmpitems.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable search index over item IDs used for command tab completion.
+ *
+ * Prefix queries are answered by binary search over sorted arrays of full IDs and of paths.
+ * Substring queries use a trigram index: only the IDs listed under the rarest trigram of the
+ * query are checked, instead of every registered ID.
+ */
+public class ItemIdIndex {
+    private static final int[] NO_POSTINGS = new int[0];
+
+    // Match ranks, best first
+    private static final int RANK_EXACT = 0;
+    private static final int RANK_ID_PREFIX = 1;
+    private static final int RANK_PATH_PREFIX = 2;
+    private static final int RANK_WORD_START = 3;
+    private static final int RANK_CONTAINS = 4;
+    private static final int RANK_COUNT = 5;
+
+    // Lowercase IDs in sorted order, and their paths sorted separately
+    private final String[] ids;
+    private final String[] sortedPaths;
+    private final int[] sortedPathOwners;
+    private final int[] pathStarts;
+    private final Map<Long, int[]> trigramPostings;
+    private final List<String> namespaces;
+
+    public ItemIdIndex(Collection<String> itemIds) {
+        this.ids = itemIds.stream()
+            .map(id -> id.toLowerCase(Locale.ROOT))
+            .distinct()
+            .sorted()
+            .toArray(String[]::new);
+
+        // Path of each ID (the part after the namespace separator)
+        this.pathStarts = new int[ids.length];
+        Integer[] pathOrder = new Integer[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            pathStarts[i] = ids[i].indexOf(':') + 1;
+            pathOrder[i] = i;
+        }
+        this.namespaces = Arrays.stream(ids)
+            .map(id -> id.substring(0, Math.max(0, id.indexOf(':'))))
+            .distinct()
+            .sorted()
+            .toList();
+        Arrays.sort(pathOrder, (a, b) -> ids[a].substring(pathStarts[a]).compareTo(ids[b].substring(pathStarts[b])));
+
+        this.sortedPaths = new String[ids.length];
+        this.sortedPathOwners = new int[ids.length];
+        for (int i = 0; i < pathOrder.length; i++) {
+            sortedPathOwners[i] = pathOrder[i];
+            sortedPaths[i] = ids[pathOrder[i]].substring(pathStarts[pathOrder[i]]);
+        }
+
+        this.trigramPostings = buildTrigramPostings(ids);
+    }
+
+    /**
+     * Gets the number of indexed IDs
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Gets the namespaces of the indexed IDs in sorted order
+     */
+    public List<String> namespaces() {
+        return namespaces;
+    }
+
+    /**
+     * Find the best matching IDs for a partially typed input
+     *
+     * @param input The typed text, matched case-insensitively
+     * @param limit The maximum number of results
+     * @return Matching IDs, best ranked first
+     */
+    public List<String> search(String input, int limit) {
+        String query = input.toLowerCase(Locale.ROOT);
+        List<String> results = new ArrayList<>(Math.min(limit, ids.length));
+        if (limit <= 0) {
+            return results;
+        }
+
+        if (query.isEmpty()) {
+            for (int i = 0; i < ids.length && results.size() < limit; i++) {
+                results.add(ids[i]);
+            }
+            return results;
+        }
+
+        // Matches are bucketed by rank, each bucket holds at most `limit` entries
+        int[][] buckets = new int[RANK_COUNT][limit];
+        int[] bucketSizes = new int[RANK_COUNT];
+
+        // Full ID prefix (also covers exact matches)
+        int start = lowerBound(ids, query);
+        for (int i = start; i < ids.length && ids[i].startsWith(query); i++) {
+            addToBucket(buckets, bucketSizes, ids[i].length() == query.length() ? RANK_EXACT : RANK_ID_PREFIX, i, limit);
+        }
+
+        // Path prefix, so "diamond" finds "minecraft:diamond_sword"
+        start = lowerBound(sortedPaths, query);
+        for (int i = start; i < sortedPaths.length && sortedPaths[i].startsWith(query); i++) {
+            int owner = sortedPathOwners[i];
+            addToBucket(buckets, bucketSizes, sortedPaths[i].length() == query.length() ? RANK_EXACT : RANK_PATH_PREFIX, owner, limit);
+        }
+
+        // Substring matches, checked only against the candidates of the rarest trigram
+        if (bucketSizes[RANK_EXACT] + bucketSizes[RANK_ID_PREFIX] + bucketSizes[RANK_PATH_PREFIX] < limit) {
+            int[] candidates = query.length() >= 3 ? rarestTrigramPostings(query) : null;
+            int candidateCount = candidates != null ? candidates.length : ids.length;
+
+            for (int c = 0; c < candidateCount; c++) {
+                int i = candidates != null ? candidates[c] : c;
+                int position = ids[i].indexOf(query);
+                if (position < 0 || ids[i].startsWith(query) || (position == pathStarts[i])) {
+                    continue; // No match, or already ranked as a prefix match
+                }
+
+                char before = ids[i].charAt(position - 1);
+                boolean wordStart = before == '_' || before == '/' || before == ':';
+                addToBucket(buckets, bucketSizes, wordStart ? RANK_WORD_START : RANK_CONTAINS, i, limit);
+
+                if (bucketSizes[RANK_WORD_START] >= limit) {
+                    break; // Nothing of a lower rank can make the cut anymore
+                }
+            }
+        }
+
+        // Concatenate buckets in rank order, skipping IDs already taken at a better rank
+        for (int rank = 0; rank < RANK_COUNT && results.size() < limit; rank++) {
+            for (int b = 0; b < bucketSizes[rank] && results.size() < limit; b++) {
+                String id = ids[buckets[rank][b]];
+                if (!results.contains(id)) {
+                    results.add(id);
+                }
+            }
+        }
+        return results;
+    }
+
+    private static void addToBucket(int[][] buckets, int[] bucketSizes, int rank, int index, int limit) {
+        if (bucketSizes[rank] < limit) {
+            buckets[rank][bucketSizes[rank]++] = index;
+        }
+    }
+
+    /**
+     * Gets the shortest posting list among the trigrams of the query
+     */
+    private int[] rarestTrigramPostings(String query) {
+        int[] rarest = null;
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            int[] postings = trigramPostings.getOrDefault(trigramKey(query, i), NO_POSTINGS);
+            if (rarest == null || postings.length < rarest.length) {
+                rarest = postings;
+                if (rarest.length == 0) {
+                    break; // Some trigram never occurs, so nothing can match
+                }
+            }
+        }
+        return rarest;
+    }
+
+    /**
+     * Build the trigram -> sorted ID indices map
+     */
+    private static Map<Long, int[]> buildTrigramPostings(String[] ids) {
+        Map<Long, int[]> growing = new HashMap<>();
+        Map<Long, Integer> sizes = new HashMap<>();
+
+        for (int i = 0; i < ids.length; i++) {
+            String id = ids[i];
+            for (int p = 0; p + 3 <= id.length(); p++) {
+                Long key = trigramKey(id, p);
+                int[] postings = growing.get(key);
+                int size = sizes.getOrDefault(key, 0);
+
+                // Each ID is added at most once per trigram
+                if (postings != null && size > 0 && postings[size - 1] == i) {
+                    continue;
+                }
+                if (postings == null) {
+                    postings = new int[4];
+                } else if (size == postings.length) {
+                    postings = Arrays.copyOf(postings, size * 2);
+                }
+                postings[size] = i;
+                growing.put(key, postings);
+                sizes.put(key, size + 1);
+            }
+        }
+
+        // Trim every posting list to its exact size
+        Map<Long, int[]> postings = new HashMap<>(growing.size() * 2);
+        for (Map.Entry<Long, int[]> entry : growing.entrySet()) {
+            postings.put(entry.getKey(), Arrays.copyOf(entry.getValue(), sizes.get(entry.getKey())));
+        }
+        return postings;
+    }
+
+    private static long trigramKey(String text, int offset) {
+        return ((long) text.charAt(offset) << 32)
+            | ((long) text.charAt(offset + 1) << 16)
+            | text.charAt(offset + 2);
+    }
+
+    /**
+     * Index of the first element that is not less than the key
+     */
+    private static int lowerBound(String[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -121,19 +121,13 @@ public class ItemManager {
     }
     
     /**
-     * Gets the color code for a rarity
+     * Gets the color code for a rarity, common items stay gray here
      */
     private static String getRarityColor(ItemRarity rarity) {
-        return switch (rarity) {
-            case COMMON -> "§7"; // Gray
-            case UNCOMMON -> "§a"; // Green
-            case RARE -> "§9"; // Blue
-            case EPIC -> "§5"; // Purple
-            case LEGENDARY -> "§6"; // Gold
-            case SPECIAL -> "§c"; // Red
-            case MYTHIC -> "§d"; // Light Purple
-            case ADMIN -> "§c"; // Red
-        };
+        if (rarity == ItemRarity.COMMON) {
+            return "§7"; // Gray
+        }
+        return "§" + rarity.getLegacyColor().getChar();
     }
     
     /**
@@ -1,46 +1,230 @@
 package net.flazesmp.flazesmpitems.util;
 
+import net.flazesmp.flazesmpitems.core.RarityLevel;
 import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.Style;
+import net.minecraft.network.chat.TextColor;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Enum representing different item rarities
+ * A rarity tier. The eight built-in tiers are constants, servers can add their own tiers in
+ * itemtooltipenhancer-rarities.json; every tier is registered in the {@link RarityRegistry}.
+ *
+ * Each tier has a dense id used in snapshots and packets, and precomputes the style and components
+ * of its rarity line so tooltips do not rebuild them for every stack.
  */
-public enum ItemRarity {
-    COMMON("Common", ChatFormatting.WHITE),
-    UNCOMMON("Uncommon", ChatFormatting.GREEN),
-    RARE("Rare", ChatFormatting.BLUE),
-    EPIC("Epic", ChatFormatting.DARK_PURPLE),
-    LEGENDARY("Legendary", ChatFormatting.GOLD),
-    MYTHIC("Mythic", ChatFormatting.LIGHT_PURPLE),
-    SPECIAL("Special", ChatFormatting.RED),
-    ADMIN("Admin", ChatFormatting.RED);
+public final class ItemRarity {
+    public static final String DEFAULT_LINE_FORMAT = "{rarity} {suffix}";
+
+    // Rarity lines cached per type suffix, there are only a few suffixes in practice
+    private static final int MAX_CACHED_LINES = 64;
+
+    public static final ItemRarity COMMON = builtIn(0, "COMMON", "Common", ChatFormatting.WHITE);
+    public static final ItemRarity UNCOMMON = builtIn(1, "UNCOMMON", "Uncommon", ChatFormatting.GREEN);
+    public static final ItemRarity RARE = builtIn(2, "RARE", "Rare", ChatFormatting.BLUE);
+    public static final ItemRarity EPIC = builtIn(3, "EPIC", "Epic", ChatFormatting.DARK_PURPLE);
+    public static final ItemRarity LEGENDARY = builtIn(4, "LEGENDARY", "Legendary", ChatFormatting.GOLD);
+    public static final ItemRarity MYTHIC = builtIn(5, "MYTHIC", "Mythic", ChatFormatting.LIGHT_PURPLE);
+    public static final ItemRarity SPECIAL = builtIn(6, "SPECIAL", "Special", ChatFormatting.RED);
+    public static final ItemRarity ADMIN = builtIn(7, "ADMIN", "Admin", ChatFormatting.RED);
+
+    private final int id;
+    private final RarityTierDefinition definition;
+    private final boolean builtIn;
+    private final TextColor color;
+    private final ChatFormatting legacyColor;
+    private final Style style;
+    private final Component nameComponent;
+    private final Component plainRarityLine;
+    private final Map<String, Component> rarityLines = new ConcurrentHashMap<>();
+
+    /**
+     * @throws IllegalArgumentException If the color of the definition is not valid
+     */
+    ItemRarity(int id, RarityTierDefinition definition, boolean builtIn) {
+        this.id = id;
+        this.definition = definition;
+        this.builtIn = builtIn;
+
+        ChatFormatting named = ChatFormatting.getByName(definition.getColor());
+        if (named != null && named.isColor()) {
+            this.color = TextColor.fromLegacyFormat(named);
+            this.legacyColor = named;
+        } else {
+            this.color = TextColor.parseColor(definition.getColor());
+            if (this.color == null) {
+                throw new IllegalArgumentException("Invalid color: " + definition.getColor());
+            }
+            this.legacyColor = nearestLegacyColor(this.color.getValue());
+        }
 
-    private final String name;
-    private final ChatFormatting color;
+        this.style = Style.EMPTY.withColor(this.color).withBold(definition.isBold());
+        this.nameComponent = Component.literal(definition.getName().toUpperCase(Locale.ROOT)).withStyle(this.style);
+        this.plainRarityLine = Component.literal(formatLine("")).withStyle(this.style);
+    }
 
-    ItemRarity(String name, ChatFormatting color) {
-        this.name = name;
-        this.color = color;
+    private static ItemRarity builtIn(int id, String key, String name, ChatFormatting color) {
+        return new ItemRarity(id, new RarityTierDefinition(key, name, color.getName(), id * 100,
+            DEFAULT_LINE_FORMAT, true), true);
+    }
+
+    /**
+     * Gets the dense id of this tier, the built-in tiers are 0 to 7 and custom tiers follow
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Gets the key of this tier as used in config files and commands
+     */
+    public String name() {
+        return this.definition.getKey();
     }
 
     public String getName() {
-        return this.name;
+        return this.definition.getName();
     }
 
-    public ChatFormatting getColor() {
+    public TextColor getColor() {
         return this.color;
     }
 
+    public int getColorValue() {
+        return this.color.getValue();
+    }
+
+    /**
+     * Gets the named chat color for '§' color codes, the nearest one for custom hex colors
+     */
+    public ChatFormatting getLegacyColor() {
+        return this.legacyColor;
+    }
+
+    public int getOrder() {
+        return this.definition.getOrder();
+    }
+
+    public boolean isBuiltIn() {
+        return this.builtIn;
+    }
+
+    public RarityTierDefinition getDefinition() {
+        return this.definition;
+    }
+
+    /**
+     * Gets the style of the rarity line
+     */
+    public Style getStyle() {
+        return this.style;
+    }
+
+    /**
+     * Gets the upper case name of this tier in its style, shared so it must not be modified
+     */
+    public Component getNameComponent() {
+        return this.nameComponent;
+    }
+
+    /**
+     * Gets the rarity line for an item type suffix, shared so it must not be modified
+     *
+     * @param suffix The type suffix, or null for none
+     */
+    public Component getRarityLine(String suffix) {
+        if (suffix == null || suffix.isEmpty()) {
+            return this.plainRarityLine;
+        }
+
+        Component line = this.rarityLines.get(suffix);
+        if (line == null) {
+            line = Component.literal(formatLine(suffix)).withStyle(this.style);
+            if (this.rarityLines.size() >= MAX_CACHED_LINES) {
+                this.rarityLines.clear();
+            }
+            this.rarityLines.put(suffix, line);
+        }
+        return line;
+    }
+
+    private String formatLine(String suffix) {
+        String line = this.definition.getLineFormat()
+            .replace("{rarity}", this.definition.getName().toUpperCase(Locale.ROOT))
+            .replace("{suffix}", suffix);
+        return suffix.isEmpty() ? line.replaceAll(" {2,}", " ").trim() : line;
+    }
+
+    @Override
+    public String toString() {
+        return name();
+    }
+
+    /**
+     * Gets every registered tier, ordered for display
+     */
+    public static ItemRarity[] values() {
+        return RarityRegistry.values();
+    }
+
+    /**
+     * Gets a tier by its key or display name, ignoring case
+     *
+     * @throws IllegalArgumentException If no such tier is registered
+     */
+    public static ItemRarity valueOf(String rarityName) {
+        ItemRarity rarity = RarityRegistry.get(rarityName);
+        if (rarity == null) {
+            throw new IllegalArgumentException("Unknown rarity: " + rarityName);
+        }
+        return rarity;
+    }
+
+    /**
+     * Gets a tier by its id
+     *
+     * @return The tier, or null if no tier has this id
+     */
+    public static ItemRarity byId(int id) {
+        return RarityRegistry.byId(id);
+    }
+
+    /**
+     * Gets the rarity of a Minecraft-independent level, the built-in tiers are declared in the same order
+     */
+    public static ItemRarity fromLevel(RarityLevel level) {
+        return RarityRegistry.byId(level.ordinal());
+    }
+
     /**
      * Parse a rarity from its string name
      */
     public static ItemRarity fromString(String rarityName) {
-        for (ItemRarity rarity : values()) {
-            if (rarity.name().equalsIgnoreCase(rarityName) || 
-                rarity.getName().equalsIgnoreCase(rarityName)) {
-                return rarity;
+        ItemRarity rarity = RarityRegistry.get(rarityName);
+        return rarity != null ? rarity : COMMON; // Default to common if not found
+    }
+
+    private static ChatFormatting nearestLegacyColor(int rgb) {
+        ChatFormatting nearest = ChatFormatting.WHITE;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (ChatFormatting formatting : ChatFormatting.values()) {
+            if (!formatting.isColor()) {
+                continue;
+            }
+            int other = formatting.getColor();
+            int dr = ((rgb >> 16) & 0xFF) - ((other >> 16) & 0xFF);
+            int dg = ((rgb >> 8) & 0xFF) - ((other >> 8) & 0xFF);
+            int db = (rgb & 0xFF) - (other & 0xFF);
+            int distance = dr * dr + dg * dg + db * db;
+            if (distance < nearestDistance) {
+                nearest = formatting;
+                nearestDistance = distance;
             }
         }
-        return COMMON; // Default to common if not found
+        return nearest;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,175 @@
+package net.flazesmp.flazesmpitems.util;
+
+import com.google.common.collect.Multimap;
+import net.flazesmp.flazesmpitems.metrics.ModMetrics;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.MobType;
+import net.minecraft.world.entity.ai.attributes.Attribute;
+import net.minecraft.world.entity.ai.attributes.AttributeModifier;
+import net.minecraft.world.entity.ai.attributes.Attributes;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.enchantment.EnchantmentHelper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The combat stats an item gives in the slot it is used in: attack damage and speed for weapons and
+ * tools, armor and toughness for armor.
+ *
+ * The base stats of each item come from its default attribute modifiers, which never change, so
+ * they are read once and cached. Only what depends on the stack, enchantment damage and modifiers
+ * set in NBT, is evaluated per stack.
+ */
+public final class ItemStats {
+    // Player base values the modifiers of weapons are added to, as vanilla shows them
+    private static final double PLAYER_ATTACK_DAMAGE = 1.0;
+    private static final double PLAYER_ATTACK_SPEED = 4.0;
+
+    public static final ItemStats NONE = new ItemStats(EquipmentSlot.MAINHAND, false, 0, 0, false, 0, 0, 0);
+
+    private static final Map<Item, ItemStats> BASE_STATS = new ConcurrentHashMap<>();
+
+    private final EquipmentSlot slot;
+    private final boolean weapon;
+    private final double attackDamage;
+    private final double attackSpeed;
+    private final boolean armorPiece;
+    private final double armor;
+    private final double toughness;
+    private final double damageBonus;
+
+    private ItemStats(EquipmentSlot slot, boolean weapon, double attackDamage, double attackSpeed,
+                      boolean armorPiece, double armor, double toughness, double damageBonus) {
+        this.slot = slot;
+        this.weapon = weapon;
+        this.attackDamage = attackDamage;
+        this.attackSpeed = attackSpeed;
+        this.armorPiece = armorPiece;
+        this.armor = armor;
+        this.toughness = toughness;
+        this.damageBonus = damageBonus;
+    }
+
+    /**
+     * Gets the cached base stats of an item
+     *
+     * @return The stats, or NONE if the item has no combat stats
+     */
+    public static ItemStats base(Item item) {
+        ItemStats stats = BASE_STATS.get(item);
+        if (stats != null) {
+            ModMetrics.ITEM_STATS_LOOKUPS.hit();
+            return stats;
+        }
+
+        ModMetrics.ITEM_STATS_LOOKUPS.miss();
+        ItemStack defaultStack = item.getDefaultInstance();
+        EquipmentSlot slot = Mob.getEquipmentSlotForItem(defaultStack);
+        stats = compute(slot, item.getAttributeModifiers(slot, defaultStack), 0);
+        BASE_STATS.put(item, stats);
+        return stats;
+    }
+
+    /**
+     * Gets the stats of a stack: the base stats of its item with its enchantment damage, or the
+     * stats of its own modifiers when set in NBT
+     */
+    public static ItemStats of(ItemStack stack) {
+        if (stack.isEmpty()) {
+            return NONE;
+        }
+
+        double damageBonus = EnchantmentHelper.getDamageBonus(stack, MobType.UNDEFINED);
+        CompoundTag tag = stack.getTag();
+        if (tag != null && tag.contains("AttributeModifiers", Tag.TAG_LIST)) {
+            EquipmentSlot slot = Mob.getEquipmentSlotForItem(stack);
+            return compute(slot, stack.getAttributeModifiers(slot), damageBonus);
+        }
+
+        ItemStats base = base(stack.getItem());
+        return damageBonus == 0 || !base.weapon ? base : base.withDamageBonus(damageBonus);
+    }
+
+    private static ItemStats compute(EquipmentSlot slot, Multimap<Attribute, AttributeModifier> modifiers, double damageBonus) {
+        boolean weapon = modifiers.containsKey(Attributes.ATTACK_DAMAGE);
+        boolean armorPiece = modifiers.containsKey(Attributes.ARMOR) || modifiers.containsKey(Attributes.ARMOR_TOUGHNESS);
+        if (!weapon && !armorPiece) {
+            return NONE;
+        }
+
+        return new ItemStats(slot, weapon,
+            PLAYER_ATTACK_DAMAGE + sum(modifiers, Attributes.ATTACK_DAMAGE),
+            PLAYER_ATTACK_SPEED + sum(modifiers, Attributes.ATTACK_SPEED),
+            armorPiece,
+            sum(modifiers, Attributes.ARMOR),
+            sum(modifiers, Attributes.ARMOR_TOUGHNESS),
+            weapon ? damageBonus : 0);
+    }
+
+    /**
+     * Sum the flat modifiers of an attribute, the ones items use for their base stats
+     */
+    private static double sum(Multimap<Attribute, AttributeModifier> modifiers, Attribute attribute) {
+        double total = 0;
+        for (AttributeModifier modifier : modifiers.get(attribute)) {
+            if (modifier.getOperation() == AttributeModifier.Operation.ADDITION) {
+                total += modifier.getAmount();
+            }
+        }
+        return total;
+    }
+
+    private ItemStats withDamageBonus(double bonus) {
+        return new ItemStats(slot, weapon, attackDamage, attackSpeed, armorPiece, armor, toughness, bonus);
+    }
+
+    public boolean isEmpty() {
+        return !weapon && !armorPiece;
+    }
+
+    /**
+     * Gets the slot the stats apply in
+     */
+    public EquipmentSlot getSlot() {
+        return slot;
+    }
+
+    public boolean isWeapon() {
+        return weapon;
+    }
+
+    public boolean isArmorPiece() {
+        return armorPiece;
+    }
+
+    /**
+     * Gets the attack damage, without the enchantment bonus
+     */
+    public double getAttackDamage() {
+        return attackDamage;
+    }
+
+    public double getAttackSpeed() {
+        return attackSpeed;
+    }
+
+    public double getArmor() {
+        return armor;
+    }
+
+    public double getToughness() {
+        return toughness;
+    }
+
+    /**
+     * Gets the extra damage from enchantments such as Sharpness
+     */
+    public double getDamageBonus() {
+        return damageBonus;
+    }
+}
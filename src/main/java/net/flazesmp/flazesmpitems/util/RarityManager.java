@@ -1,6 +1,12 @@
 package net.flazesmp.flazesmpitems.util;
 
+import net.flazesmp.flazesmpitems.FlazeSMPItems;
 import net.flazesmp.flazesmpitems.config.ConfigManager;
+import net.flazesmp.flazesmpitems.config.ConfigSnapshot;
+import net.flazesmp.flazesmpitems.config.DataPackCustomizations;
+import net.flazesmp.flazesmpitems.core.RarityRules;
+import net.flazesmp.flazesmpitems.metrics.ModMetrics;
+import net.flazesmp.flazesmpitems.metrics.jfr.DefaultRaritiesEvent;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.StringTag;
@@ -10,7 +16,6 @@ import net.minecraft.tags.ItemTags;
 import net.minecraft.tags.TagKey;
 import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.item.ArmorItem;
-import net.minecraft.world.item.ArmorMaterial;
 import net.minecraft.world.item.AxeItem;
 import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.DiggerItem;
@@ -22,14 +27,11 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.item.PickaxeItem;
 import net.minecraft.world.item.PotionItem;
-import net.minecraft.world.item.Rarity;
 import net.minecraft.world.item.RecordItem;
 import net.minecraft.world.item.ShearsItem;
 import net.minecraft.world.item.ShovelItem;
 import net.minecraft.world.item.SwordItem;
-import net.minecraft.world.item.Tier;
 import net.minecraft.world.item.Tiers;
-import net.minecraft.world.item.TieredItem;
 import net.minecraft.world.item.enchantment.Enchantment;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
 import net.minecraft.world.level.block.AnvilBlock;
@@ -39,13 +41,14 @@ import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.ChestBlock;
 import net.minecraft.world.level.block.EnchantmentTableBlock;
 import net.minecraftforge.registries.ForgeRegistries;
-import net.flazesmp.flazesmpitems.FlazeSMPItems;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.io.File;
@@ -63,12 +66,14 @@ import com.google.gson.JsonObject;
 public class RarityManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(RarityManager.class);
     
-    // Maps to track item data
-    private static final Map<ResourceLocation, ItemRarity> ITEM_RARITIES = new ConcurrentHashMap<>();
-    private static final Map<ResourceLocation, String> ITEM_CATEGORIES = new ConcurrentHashMap<>();
-    private static final Map<ResourceLocation, String> CUSTOM_NAMES = new ConcurrentHashMap<>();
-    private static final Map<ResourceLocation, Map<Integer, String>> TOOLTIPS = new ConcurrentHashMap<>();
+    // File the calculated default rarities are written to for reference/editing
+    public static final String DEFAULT_RARITIES_FILE = "itemtooltipenhancer-default-rarities.json";
+    
+    // Rarities, names, categories and tooltips set for items, replaced as a whole on every change
+    private static volatile ItemTable items = ItemTable.EMPTY;
     private static final Map<ResourceLocation, ItemRarity> DEFAULT_RARITIES = new ConcurrentHashMap<>();
+    // Items whose default rarity is one of the hard-coded manual rarities, which are also explicit rarities
+    private static final Set<ResourceLocation> MANUAL_RARITIES = ConcurrentHashMap.newKeySet();
 
     // Default rarity
     private static final ItemRarity DEFAULT_RARITY = ItemRarity.COMMON;
@@ -76,15 +81,43 @@ public class RarityManager {
     // Cache for automatic rarity calculations
     private static final Map<ResourceLocation, ItemRarity> AUTO_RARITY_CACHE = new ConcurrentHashMap<>();
     
+    // Serializes changes to the item table, so no change is lost between copying and swapping it
+    private static final Object PUBLISH_LOCK = new Object();
+    
+    // Notified with the IDs of the items each committed batch changed
+    private static final List<Consumer<Set<ResourceLocation>>> CHANGE_LISTENERS = new CopyOnWriteArrayList<>();
+    
+    private static boolean initialized = false;
+    
+    // Rarities and tooltips from data packs, below the config files and above automatic rarities
+    private static volatile DataPackCustomizations dataPack = DataPackCustomizations.EMPTY;
+    
     /**
-     * Initialize the RarityManager - called during mod startup
+     * Initialize the RarityManager - called once the registries are frozen, see {@link FlazeSMPItems}.
+     * Only the first call does anything, later ones return at once.
      */
-    public static void initialize() {
+    public static synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+        initialized = true;
         LOGGER.info("Initializing RarityManager");
         
         // Initialize config system first
         ConfigManager.initialize();
         
+        DefaultRaritiesEvent raritiesEvent = new DefaultRaritiesEvent();
+        raritiesEvent.begin();
+        
+        // Unchanged sources: the snapshot already holds the pre-resolved default rarities
+        ConfigSnapshot snapshot = ConfigManager.getFreshSnapshot();
+        if (snapshot != null) {
+            int restored = snapshot.applyDefaultRarities();
+            LOGGER.info("Restored {} default rarities from config snapshot", restored);
+            commitRaritiesEvent(raritiesEvent, "snapshot");
+            return;
+        }
+        
         // Load any custom default rarities from config file
         loadDefaultRaritiesFromConfig();
         
@@ -93,6 +126,19 @@ public class RarityManager {
         
         // Store default rarities for all items
         saveDefaultRarities();
+        commitRaritiesEvent(raritiesEvent, "computed");
+        
+        // Compile everything that was just parsed so the next start can skip it
+        ConfigManager.writeSnapshot();
+    }
+    
+    private static void commitRaritiesEvent(DefaultRaritiesEvent raritiesEvent, String source) {
+        raritiesEvent.end();
+        if (raritiesEvent.shouldCommit()) {
+            raritiesEvent.source = source;
+            raritiesEvent.itemCount = DEFAULT_RARITIES.size();
+            raritiesEvent.commit();
+        }
     }
     
     /**
@@ -109,58 +155,66 @@ public class RarityManager {
      * Sets up manual rarity assignments for special items
      */
     private static void setupManualRarities() {
+        Map<ResourceLocation, ItemRarity> manual = new LinkedHashMap<>();
+        
         // Admin tier items - operator/creative only items
-        storeAndSetRarity(Items.COMMAND_BLOCK, ItemRarity.ADMIN);
-        storeAndSetRarity(Items.CHAIN_COMMAND_BLOCK, ItemRarity.ADMIN);
-        storeAndSetRarity(Items.REPEATING_COMMAND_BLOCK, ItemRarity.ADMIN);
-        storeAndSetRarity(Items.COMMAND_BLOCK_MINECART, ItemRarity.ADMIN);
-        storeAndSetRarity(Items.STRUCTURE_BLOCK, ItemRarity.ADMIN);
-        storeAndSetRarity(Items.STRUCTURE_VOID, ItemRarity.ADMIN);
-        storeAndSetRarity(Items.JIGSAW, ItemRarity.ADMIN);
-        storeAndSetRarity(Items.BARRIER, ItemRarity.ADMIN);
-        storeAndSetRarity(Items.LIGHT, ItemRarity.ADMIN);
-        storeAndSetRarity(Items.DEBUG_STICK, ItemRarity.ADMIN);
-        storeAndSetRarity(Items.KNOWLEDGE_BOOK, ItemRarity.ADMIN);
-        storeAndSetRarity(Items.BEDROCK, ItemRarity.ADMIN);
+        storeAndSetRarity(manual, Items.COMMAND_BLOCK, ItemRarity.ADMIN);
+        storeAndSetRarity(manual, Items.CHAIN_COMMAND_BLOCK, ItemRarity.ADMIN);
+        storeAndSetRarity(manual, Items.REPEATING_COMMAND_BLOCK, ItemRarity.ADMIN);
+        storeAndSetRarity(manual, Items.COMMAND_BLOCK_MINECART, ItemRarity.ADMIN);
+        storeAndSetRarity(manual, Items.STRUCTURE_BLOCK, ItemRarity.ADMIN);
+        storeAndSetRarity(manual, Items.STRUCTURE_VOID, ItemRarity.ADMIN);
+        storeAndSetRarity(manual, Items.JIGSAW, ItemRarity.ADMIN);
+        storeAndSetRarity(manual, Items.BARRIER, ItemRarity.ADMIN);
+        storeAndSetRarity(manual, Items.LIGHT, ItemRarity.ADMIN);
+        storeAndSetRarity(manual, Items.DEBUG_STICK, ItemRarity.ADMIN);
+        storeAndSetRarity(manual, Items.KNOWLEDGE_BOOK, ItemRarity.ADMIN);
+        storeAndSetRarity(manual, Items.BEDROCK, ItemRarity.ADMIN);
         
         // Legendary tier - unique or extremely rare items
-        storeAndSetRarity(Items.DRAGON_EGG, ItemRarity.LEGENDARY);
-        storeAndSetRarity(Items.DRAGON_HEAD, ItemRarity.LEGENDARY);
-        storeAndSetRarity(Items.ELYTRA, ItemRarity.LEGENDARY);
-        storeAndSetRarity(Items.END_PORTAL_FRAME, ItemRarity.LEGENDARY);
-        storeAndSetRarity(Items.NETHER_STAR, ItemRarity.LEGENDARY);
+        storeAndSetRarity(manual, Items.DRAGON_EGG, ItemRarity.LEGENDARY);
+        storeAndSetRarity(manual, Items.DRAGON_HEAD, ItemRarity.LEGENDARY);
+        storeAndSetRarity(manual, Items.ELYTRA, ItemRarity.LEGENDARY);
+        storeAndSetRarity(manual, Items.END_PORTAL_FRAME, ItemRarity.LEGENDARY);
+        storeAndSetRarity(manual, Items.NETHER_STAR, ItemRarity.LEGENDARY);
         
         // Mythic tier - very powerful or sought-after items
-        storeAndSetRarity(Items.BEACON, ItemRarity.MYTHIC);
-        storeAndSetRarity(Items.ENCHANTED_GOLDEN_APPLE, ItemRarity.MYTHIC);
-        storeAndSetRarity(Items.NETHERITE_BLOCK, ItemRarity.MYTHIC);
+        storeAndSetRarity(manual, Items.BEACON, ItemRarity.MYTHIC);
+        storeAndSetRarity(manual, Items.ENCHANTED_GOLDEN_APPLE, ItemRarity.MYTHIC);
+        storeAndSetRarity(manual, Items.NETHERITE_BLOCK, ItemRarity.MYTHIC);
         
         // Special tier - unique items that are special but not necessarily legendary
-        storeAndSetRarity(Items.HEART_OF_THE_SEA, ItemRarity.SPECIAL);
-        storeAndSetRarity(Items.MUSIC_DISC_PIGSTEP, ItemRarity.SPECIAL); // Rarest music disc
-        storeAndSetRarity(Items.CONDUIT, ItemRarity.SPECIAL);
-        storeAndSetRarity(Items.TOTEM_OF_UNDYING, ItemRarity.SPECIAL);
+        storeAndSetRarity(manual, Items.HEART_OF_THE_SEA, ItemRarity.SPECIAL);
+        storeAndSetRarity(manual, Items.MUSIC_DISC_PIGSTEP, ItemRarity.SPECIAL); // Rarest music disc
+        storeAndSetRarity(manual, Items.CONDUIT, ItemRarity.SPECIAL);
+        storeAndSetRarity(manual, Items.TOTEM_OF_UNDYING, ItemRarity.SPECIAL);
         
         // Epic tier adjustments
-        storeAndSetRarity(Items.ANCIENT_DEBRIS, ItemRarity.EPIC);
-        storeAndSetRarity(Items.NETHERITE_INGOT, ItemRarity.EPIC);
-        storeAndSetRarity(Items.NETHERITE_SCRAP, ItemRarity.EPIC);
+        storeAndSetRarity(manual, Items.ANCIENT_DEBRIS, ItemRarity.EPIC);
+        storeAndSetRarity(manual, Items.NETHERITE_INGOT, ItemRarity.EPIC);
+        storeAndSetRarity(manual, Items.NETHERITE_SCRAP, ItemRarity.EPIC);
         
         // Apply to all other music discs
         ForgeRegistries.ITEMS.getValues().stream()
             .filter(item -> item.getDescriptionId().contains("music_disc"))
             .filter(item -> item != Items.MUSIC_DISC_PIGSTEP) // Already set to SPECIAL
-            .forEach(item -> storeAndSetRarity(item, ItemRarity.RARE));
+            .forEach(item -> storeAndSetRarity(manual, item, ItemRarity.RARE));
         
+        publish(table -> table.rarities.putAll(manual));
+        manual.keySet().forEach(AUTO_RARITY_CACHE::remove);
         LOGGER.info("Manual rarities configured for special items");
     }
     
     /**
-     * Helper method to both store default rarity and set current rarity
+     * Helper method to both store default rarity and stage it as the current rarity
      */
-    private static void storeAndSetRarity(Item item, ItemRarity rarity) {
+    private static void storeAndSetRarity(Map<ResourceLocation, ItemRarity> manual, Item item, ItemRarity rarity) {
         storeDefaultRarity(item, rarity);
-        setRarityForItem(item, rarity);
+        ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
+        if (id != null) {
+            manual.put(id, rarity);
+            MANUAL_RARITIES.add(id);
+        }
     }
     
     /**
@@ -170,211 +224,98 @@ public class RarityManager {
      * @param rarity The rarity to set
      */
     public static void setRarity(Item item, ItemRarity rarity) {
-        ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
-        ITEM_RARITIES.put(id, rarity);
-        
-        // Update custom name color if needed
-        String customName = getCustomName(item);
-        if (customName != null && !customName.isEmpty()) {
-            // Strip any existing color codes from the name
-            customName = stripLeadingColorCode(customName);
-            // Apply new rarity color
-            setCustomName(item, applyRarityColor(customName, rarity));
-        }
-        
-        // Save config file
-        ConfigManager.saveItemConfig(item);
+        batch(changes -> changes.setRarity(item, rarity));
     }
     
     /**
-     * Gets the rarity for an item - with automatic determination if not set manually
+     * Apply several changes as one transaction. The changes are staged while the consumer
+     * runs, then published together and each touched item's config file is written once.
+     * If the consumer throws, nothing is applied.
      * 
-     * @param item The item
-     * @return The item's rarity
-     */
-    public static ItemRarity getRarity(Item item) {
-        ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
-        if (id == null) return DEFAULT_RARITY;
-        
-        // If manually set, return that rarity
-        if (ITEM_RARITIES.containsKey(id)) {
-            return ITEM_RARITIES.get(id);
-        }
-        
-        // Check cache first
-        if (AUTO_RARITY_CACHE.containsKey(id)) {
-            return AUTO_RARITY_CACHE.get(id);
-        }
-        
-        // Determine rarity automatically based on item properties
-        ItemRarity determinedRarity = determineItemRarity(item);
-        AUTO_RARITY_CACHE.put(id, determinedRarity);
-        
-        return determinedRarity;
-    }
-    
-    /**
-     * Determine item rarity automatically based on various criteria
+     * @param changes Stages the changes on the given batch
+     * @return The number of items changed
      */
-    private static ItemRarity determineItemRarity(Item item) {
-        // Check vanilla rarity first
-        Rarity vanillaRarity = item.getRarity(new ItemStack(item));
-        
-        // Map vanilla rarities to our rarities
-        if (vanillaRarity == Rarity.UNCOMMON) {
-            return ItemRarity.UNCOMMON;
-        } else if (vanillaRarity == Rarity.RARE) {
-            return ItemRarity.RARE;
-        } else if (vanillaRarity == Rarity.EPIC) {
-            return ItemRarity.EPIC;
-        }
-        
-        // Check for special items
-        if (isSpecialItem(item)) {
-            return ItemRarity.SPECIAL;
-        }
-        
-        // Check for legendary items
-        if (isLegendaryItem(item)) {
-            return ItemRarity.LEGENDARY;
-        }
-        
-        // Check for mythic items (very rare or powerful)
-        if (isMythicItem(item)) {
-            return ItemRarity.MYTHIC;
-        }
-        
-        // Check for epic items based on material and tier
-        if (isEpicItem(item)) {
-            return ItemRarity.EPIC;
-        }
-        
-        // Check for rare items based on material and tier
-        if (isRareItem(item)) {
-            return ItemRarity.RARE;
-        }
-        
-        // Check for uncommon items based on material and tier
-        if (isUncommonItem(item)) {
-            return ItemRarity.UNCOMMON;
-        }
-        
-        // Default to common rarity
-        return ItemRarity.COMMON;
+    public static int batch(Consumer<Batch> changes) {
+        Batch batch = begin();
+        changes.accept(batch);
+        return batch.commit();
     }
     
     /**
-     * Check if an item is considered special (quest rewards, crafting components)
+     * Start a batch whose changes are saved to the config files on commit
      */
-    private static boolean isSpecialItem(Item item) {
-        // Special quest items and rare crafting components
-        return item == Items.NETHER_STAR || 
-               item == Items.DRAGON_EGG || 
-               item == Items.DRAGON_HEAD || 
-               item == Items.ENCHANTED_GOLDEN_APPLE ||
-               item == Items.BEDROCK;
+    public static Batch begin() {
+        return begin(true);
     }
     
     /**
-     * Check if an item is considered legendary (extremely rare or end-game)
+     * Start a batch of changes
+     * 
+     * @param persist Whether to write config files on commit. Loaders applying data that
+     *                is already on disk pass false.
      */
-    private static boolean isLegendaryItem(Item item) {
-        // End-game and extremely rare items
-        return item == Items.ELYTRA || 
-               item == Items.BEACON || 
-               item == Items.END_CRYSTAL ||
-               item == Items.COMMAND_BLOCK ||
-               item == Items.BARRIER;
+    public static Batch begin(boolean persist) {
+        return new Batch(persist);
     }
     
     /**
-     * Check if an item is considered mythic (extraordinarily rare or unique)
+     * Register a listener called after every committed batch, with the IDs of the changed items
      */
-    private static boolean isMythicItem(Item item) {
-        // Custom mythic items would go here
-        return item == Items.DRAGON_EGG ||
-               item == Items.COMMAND_BLOCK_MINECART ||
-               item == Items.STRUCTURE_BLOCK;
+    public static void addChangeListener(Consumer<Set<ResourceLocation>> listener) {
+        CHANGE_LISTENERS.add(listener);
     }
     
     /**
-     * Check if an item is considered epic (diamond tier, high-value)
+     * Gets the rarity for an item - with automatic determination if not set manually
+     * 
+     * @param item The item
+     * @return The item's rarity
      */
-    private static boolean isEpicItem(Item item) {
-        // Check if item is diamond tier
-        if (item instanceof TieredItem tieredItem && tieredItem.getTier() == Tiers.NETHERITE) {
-            return true;
+    public static ItemRarity getRarity(Item item) {
+        ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
+        if (id == null) return DEFAULT_RARITY;
+        
+        // If manually set, return that rarity
+        ItemRarity rarity = items.rarities.get(id);
+        if (rarity != null) {
+            ModMetrics.RARITY_LOOKUPS.hit();
+            return rarity;
         }
         
-        // Check for diamond armor
-        if (item instanceof ArmorItem armorItem) {
-            ArmorMaterial material = armorItem.getMaterial();
-            String materialName = material.getName();
-            if (materialName.contains("netherite")) {
-                return true;
-            }
+        // Then a rarity defined by a data pack
+        rarity = dataPack.getRarity(id);
+        if (rarity != null) {
+            ModMetrics.RARITY_LOOKUPS.hit();
+            return rarity;
+        }
+        
+        // Check cache first
+        rarity = AUTO_RARITY_CACHE.get(id);
+        if (rarity != null) {
+            ModMetrics.RARITY_LOOKUPS.hit();
+            return rarity;
         }
         
-        // Check for other epic items
-        return item == Items.NETHERITE_BLOCK ||
-               item == Items.NETHERITE_INGOT ||
-               item == Items.NETHERITE_SCRAP ||
-               item == Items.ANCIENT_DEBRIS;
+        // Determine rarity automatically based on item properties
+        ModMetrics.RARITY_LOOKUPS.miss();
+        ItemRarity determinedRarity = determineItemRarity(item);
+        AUTO_RARITY_CACHE.put(id, determinedRarity);
+        
+        return determinedRarity;
     }
     
     /**
-     * Check if an item is considered rare (diamond tier, high-value)
+     * Gets the rarity of a single stack: the rarity of its item, raised by any matching stack rule
      */
-    private static boolean isRareItem(Item item) {
-        // Check if item is diamond tier
-        if (item instanceof TieredItem tieredItem && tieredItem.getTier() == Tiers.DIAMOND) {
-            return true;
-        }
-        
-        // Check for diamond armor
-        if (item instanceof ArmorItem armorItem) {
-            ArmorMaterial material = armorItem.getMaterial();
-            String materialName = material.getName();
-            if (materialName.contains("diamond")) {
-                return true;
-            }
-        }
-        
-        // Check for other rare items
-        return item == Items.DIAMOND ||
-               item == Items.DIAMOND_BLOCK ||
-               item == Items.ENCHANTED_BOOK ||
-               item == Items.GOLDEN_APPLE ||
-               item == Items.EXPERIENCE_BOTTLE ||
-               item == Items.END_CRYSTAL;
+    public static ItemRarity getRarity(ItemStack stack) {
+        return StackRarityRules.apply(stack, getRarity(stack.getItem()));
     }
     
     /**
-     * Check if an item should be considered uncommon based on its material
+     * Determine item rarity automatically with the core rarity rules
      */
-    private static boolean isUncommonItem(Item item) {
-        try {
-            if (item instanceof TieredItem tieredItem) {
-                Tier tier = tieredItem.getTier();
-                // Check if it's a vanilla tier without casting
-                if (tier.toString().equals("IRON") || tier.toString().equals("GOLD")) {
-                    return true;
-                }
-                
-                // Check durability as a fallback for modded tiers
-                // Items with durability between iron and diamond can be considered uncommon
-                if (tier.getUses() >= 250 && tier.getUses() < 1561) {
-                    return true;
-                }
-            }
-            
-            // Rest of your existing checks...
-            
-        } catch (Exception e) {
-            // Log error but don't crash
-            FlazeSMPItems.LOGGER.debug("Error checking if item is uncommon: {}", e.getMessage());
-        }
-        return false;
+    private static ItemRarity determineItemRarity(Item item) {
+        return ItemRarity.fromLevel(RarityRules.evaluate(new ForgeItemTraits(item)));
     }
     
     /**
@@ -384,11 +325,7 @@ public class RarityManager {
      * @param category The category to set
      */
     public static void setItemCategory(Item item, String category) {
-        ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
-        ITEM_CATEGORIES.put(id, category);
-        
-        // Save config file
-        ConfigManager.saveItemConfig(item);
+        batch(changes -> changes.setItemCategory(item, category));
     }
     
     /**
@@ -399,14 +336,16 @@ public class RarityManager {
      */
     public static String getItemCategory(Item item) {
         ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
-        String category = ITEM_CATEGORIES.get(id);
+        String category = items.categories.get(id);
         
         // If manually set, return that category
         if (category != null) {
+            ModMetrics.CATEGORY_LOOKUPS.hit();
             return category;
         }
         
         // Otherwise determine automatically
+        ModMetrics.CATEGORY_LOOKUPS.miss();
         return determineItemCategory(item);
     }
     
@@ -417,18 +356,7 @@ public class RarityManager {
      * @param name The custom name to set
      */
     public static void setCustomName(Item item, String name) {
-        ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
-        
-        // Apply color based on rarity if name doesn't already have a color code
-        if (name != null && !name.isEmpty() && !name.startsWith("§")) {
-            ItemRarity rarity = getRarity(item);
-            name = applyRarityColor(name, rarity);
-        }
-        
-        CUSTOM_NAMES.put(id, name);
-        
-        // Save config file
-        ConfigManager.saveItemConfig(item);
+        batch(changes -> changes.setCustomName(item, name));
     }
     
     /**
@@ -439,7 +367,7 @@ public class RarityManager {
      */
     public static String getCustomName(Item item) {
         ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
-        return CUSTOM_NAMES.get(id);
+        return items.names.get(id);
     }
     
     /**
@@ -450,23 +378,94 @@ public class RarityManager {
      * @param text The tooltip text
      */
     public static void setTooltipLine(Item item, int line, String text) {
-        ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
-        Map<Integer, String> itemTooltips = TOOLTIPS.computeIfAbsent(id, k -> new HashMap<>());
-        itemTooltips.put(line, text);
-        
-        // Save config file
-        ConfigManager.saveItemConfig(item);
+        batch(changes -> changes.setTooltipLine(item, line, text));
     }
     
     /**
      * Gets all tooltip lines for an item
      * 
      * @param item The item
-     * @return Map of line numbers to tooltip text
+     * @return The tooltip lines, sorted by line number
      */
-    public static Map<Integer, String> getTooltipLines(Item item) {
+    public static TooltipLines getTooltipLines(Item item) {
         ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
-        return TOOLTIPS.getOrDefault(id, Collections.emptyMap());
+        TooltipLines lines = items.tooltips.get(id);
+        if (lines == null) {
+            lines = dataPack.getTooltipLines(id);
+        }
+        return lines != null ? lines : TooltipLines.EMPTY;
+    }
+    
+    /**
+     * Gets the tooltip lines set through commands or config files, without data pack lines
+     * 
+     * @param item The item
+     * @return The tooltip lines, sorted by line number
+     */
+    public static TooltipLines getConfiguredTooltipLines(Item item) {
+        ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
+        return items.tooltips.getOrDefault(id, TooltipLines.EMPTY);
+    }
+    
+    /**
+     * Gets the rarity to write to an item's config file: the explicit rarity, or the automatic one
+     * unless a data pack defines the rarity, so data pack values are never copied into the file
+     * 
+     * @return The rarity, or null if the file should not pin one
+     */
+    public static ItemRarity getConfiguredRarity(Item item) {
+        ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
+        ItemRarity rarity = items.rarities.get(id);
+        if (rarity != null) {
+            return rarity;
+        }
+        return dataPack.getRarity(id) != null ? null : getRarity(item);
+    }
+    
+    /**
+     * Gets the rarity a data pack defines for an item
+     * 
+     * @return The rarity, or null if no data pack defines one
+     */
+    public static ItemRarity getDataPackRarity(Item item) {
+        return dataPack.getRarity(ForgeRegistries.ITEMS.getKey(item));
+    }
+    
+    /**
+     * Gets the IDs of all items with a rarity or tooltip defined by a data pack
+     */
+    public static Set<ResourceLocation> getDataPackItemIds() {
+        return dataPack.getItemIds();
+    }
+    
+    /**
+     * Swap in the definitions of the loaded data packs and notify the change listeners of every
+     * item they define, before or after
+     */
+    public static void applyDataPack(DataPackCustomizations customizations) {
+        Set<ResourceLocation> changedIds;
+        synchronized (PUBLISH_LOCK) {
+            DataPackCustomizations previous = dataPack;
+            if (previous == customizations) {
+                return;
+            }
+            dataPack = customizations;
+            changedIds = new HashSet<>(previous.getItemIds());
+            changedIds.addAll(customizations.getItemIds());
+        }
+        if (!changedIds.isEmpty()) {
+            notifyChangeListeners(Collections.unmodifiableSet(changedIds));
+        }
+    }
+    
+    private static void notifyChangeListeners(Set<ResourceLocation> changedIds) {
+        for (Consumer<Set<ResourceLocation>> listener : CHANGE_LISTENERS) {
+            try {
+                listener.accept(changedIds);
+            } catch (Exception e) {
+                LOGGER.error("Item change listener failed", e);
+            }
+        }
     }
     
     /**
@@ -477,7 +476,7 @@ public class RarityManager {
         text = stripLeadingColorCode(text);
         
         // Apply the rarity color code (section symbol + color code)
-        return "§" + rarity.getColor().getChar() + text;
+        return "§" + rarity.getLegacyColor().getChar() + text;
     }
     
     /**
@@ -503,14 +502,7 @@ public class RarityManager {
      * @param line The line number to remove
      */
     public static void removeTooltipLine(Item item, int line) {
-        ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
-        Map<Integer, String> itemTooltips = TOOLTIPS.get(id);
-        if (itemTooltips != null) {
-            itemTooltips.remove(line);
-            
-            // Save config file
-            ConfigManager.saveItemConfig(item);
-        }
+        batch(changes -> changes.removeTooltipLine(item, line));
     }
     
     /**
@@ -521,27 +513,11 @@ public class RarityManager {
     public static void clearItemData(Item item) {
         ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
         
-        // Get the default rarity before clearing any data
-        ItemRarity defaultRarity = getDefaultRarity(item);
-        LOGGER.info("Clearing data for {}, default rarity: {}", id, defaultRarity.getName());
-        
-        // Remove custom data
-        ITEM_RARITIES.remove(id);
-        ITEM_CATEGORIES.remove(id);
-        CUSTOM_NAMES.remove(id);
-        TOOLTIPS.remove(id);
-        AUTO_RARITY_CACHE.remove(id);
-        
-        // Restore default rarity (if not common)
-        // CRITICAL: For all items, restore the default rarity that was stored previously  
-        ITEM_RARITIES.put(id, defaultRarity);
-        LOGGER.info("Restored default rarity: {}", defaultRarity.getName());
-        
-        // Also delete the config file
-        ConfigManager.deleteItemConfig(item);
+        // Removes the custom data, restores the stored default rarity and deletes the config file
+        batch(changes -> changes.clearItemData(item));
         
         LOGGER.info("Cleared all custom data for item: {}. Reset to default rarity: {}", 
-            id, defaultRarity.getName());
+            id, getDefaultRarity(item).getName());
     }
     
     /**
@@ -557,10 +533,18 @@ public class RarityManager {
         
         Item item = stack.getItem();
         ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
+        ItemTable current = items;
+        String customName = current.names.get(id);
+        TooltipLines tooltipLines = current.tooltips.get(id);
+        
+        // Leave stacks without anything to apply untouched, so they keep stacking with fresh ones
+        boolean hasName = customName != null && !customName.isEmpty();
+        if (!hasName && (tooltipLines == null || tooltipLines.isEmpty())) {
+            return;
+        }
         
         // Apply custom name if set
-        String customName = CUSTOM_NAMES.get(id);
-        if (customName != null && !customName.isEmpty()) {
+        if (hasName) {
             stack.setHoverName(Component.literal(customName));
         }
         
@@ -568,7 +552,6 @@ public class RarityManager {
         CompoundTag tag = stack.getOrCreateTag();
         
         // Apply tooltips if set
-        Map<Integer, String> tooltipLines = TOOLTIPS.get(id);
         if (tooltipLines != null && !tooltipLines.isEmpty()) {
             CompoundTag display = tag.contains("display") ? 
                 tag.getCompound("display") : new CompoundTag();
@@ -579,12 +562,12 @@ public class RarityManager {
             // Add a blank line before custom tooltips if we have any
             lore.add(StringTag.valueOf(Component.Serializer.toJson(Component.literal(""))));
             
-            // Sort tooltips by line number and add them
-            TreeMap<Integer, String> sortedTooltips = new TreeMap<>(tooltipLines);
-            for (Map.Entry<Integer, String> entry : sortedTooltips.entrySet()) {
-                String line = entry.getValue();
-                if (line != null && !line.isEmpty()) {
-                    lore.add(StringTag.valueOf(Component.Serializer.toJson(Component.literal(line))));
+            // Tooltips are already sorted by line number. Lines shown on a key press and lines with
+            // placeholders, whose values change with the stack, are left to the tooltip handler
+            for (int i = 0; i < tooltipLines.size(); i++) {
+                if (!tooltipLines.textAt(i).isEmpty() && tooltipLines.templateAt(i) == null
+                        && tooltipLines.conditionAt(i) == TooltipLines.Condition.ALWAYS) {
+                    lore.add(StringTag.valueOf(Component.Serializer.toJson(tooltipLines.componentAt(i))));
                 }
             }
             
@@ -601,6 +584,33 @@ public class RarityManager {
         tag.putBoolean("TooltipProcessed", true);
     }
 
+    /**
+     * Whether the custom name of a stack is the one applyCustomDataToItemStack set from the item's config
+     */
+    public static boolean hasInjectedName(ItemStack stack) {
+        if (!isProcessed(stack)) {
+            return false;
+        }
+        String customName = items.names.get(ForgeRegistries.ITEMS.getKey(stack.getItem()));
+        return customName != null && !customName.isEmpty() && customName.equals(stack.getHoverName().getString());
+    }
+    
+    /**
+     * Whether the lore of a stack was written by applyCustomDataToItemStack, which replaces any lore
+     */
+    public static boolean hasInjectedLore(ItemStack stack) {
+        if (!isProcessed(stack)) {
+            return false;
+        }
+        TooltipLines tooltipLines = items.tooltips.get(ForgeRegistries.ITEMS.getKey(stack.getItem()));
+        return tooltipLines != null && !tooltipLines.isEmpty();
+    }
+    
+    private static boolean isProcessed(ItemStack stack) {
+        CompoundTag tag = stack.getTag();
+        return tag != null && tag.contains("TooltipProcessed");
+    }
+    
     /**
      * Reset an ItemStack to its default state
      * 
@@ -718,29 +728,86 @@ public class RarityManager {
         return null;
     }
 
+    public static boolean hasCustomizations(Item item) {
+        return items.contains(ForgeRegistries.ITEMS.getKey(item));
+    }
+
     /**
-     * Helper method to set rarity for an item by its Item instance
-     * Used primarily for setting up manual rarities
+     * Gets the IDs of all items with a rarity, name, tooltip or category set
+     */
+    public static Set<ResourceLocation> getCustomizedItemIds() {
+        ItemTable current = items;
+        Set<ResourceLocation> ids = new HashSet<>(current.rarities.keySet());
+        ids.addAll(current.names.keySet());
+        ids.addAll(current.tooltips.keySet());
+        ids.addAll(current.categories.keySet());
+        return ids;
+    }
+
+    /**
+     * Gets the rarity explicitly set for an item, without automatic determination
      * 
-     * @param item The item to set rarity for
-     * @param rarity The rarity to assign
+     * @param item The item
+     * @return The explicit rarity, or null if not set
      */
-    private static void setRarityForItem(Item item, ItemRarity rarity) {
-        if (item == null) return;
-        
+    public static ItemRarity getExplicitRarity(Item item) {
+        return items.rarities.get(ForgeRegistries.ITEMS.getKey(item));
+    }
+
+    /**
+     * Gets the category explicitly set for an item, without automatic determination
+     * 
+     * @param item The item
+     * @return The explicit category, or null if not set
+     */
+    public static String getExplicitCategory(Item item) {
+        return items.categories.get(ForgeRegistries.ITEMS.getKey(item));
+    }
+
+    /**
+     * Restore previously persisted data of many items without writing their config files.
+     * The data is published together once the consumer returns.
+     * 
+     * @param restore Restores the items on the given table
+     */
+    public static void restore(Consumer<Restore> restore) {
+        Restore restorer = new Restore();
+        publish(table -> {
+            restorer.table = table;
+            restore.accept(restorer);
+        });
+        restorer.restored.forEach(AUTO_RARITY_CACHE::remove);
+    }
+
+    /**
+     * Restore a pre-resolved default rarity. Items without an explicit rarity also get
+     * their automatic rarity cached, since both come from the same calculation.
+     */
+    public static void restoreDefaultRarity(Item item, ItemRarity rarity) {
         ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
-        if (id != null) {
-            ITEM_RARITIES.put(id, rarity);
-            AUTO_RARITY_CACHE.remove(id); // Clear from cache if it was there
+        if (id == null) return;
+        
+        DEFAULT_RARITIES.put(id, rarity);
+        if (!items.rarities.containsKey(id)) {
+            AUTO_RARITY_CACHE.put(id, rarity);
         }
     }
 
-    public static boolean hasCustomizations(Item item) {
+    /**
+     * Whether the default rarity of an item is one of the hard-coded manual rarities
+     */
+    public static boolean isManualRarity(Item item) {
+        return MANUAL_RARITIES.contains(ForgeRegistries.ITEMS.getKey(item));
+    }
+
+    /**
+     * Gets the stored default rarity for an item without calculating it
+     * 
+     * @return The stored default rarity, or null if none was stored
+     */
+    public static ItemRarity getStoredDefaultRarity(Item item) {
         ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
-        return ITEM_RARITIES.containsKey(id) ||
-               CUSTOM_NAMES.containsKey(id) ||
-               TOOLTIPS.containsKey(id) ||
-               ITEM_CATEGORIES.containsKey(id);
+        return id != null ? DEFAULT_RARITIES.get(id) : null;
     }
 
     /**
@@ -753,10 +820,12 @@ public class RarityManager {
         // Check for custom suffix first
         String customSuffix = ConfigManager.getCustomTypeSuffix(item);
         if (customSuffix != null && !customSuffix.isEmpty()) {
+            ModMetrics.SUFFIX_LOOKUPS.hit();
             return customSuffix;
         }
         
         // Otherwise use automatic detection
+        ModMetrics.SUFFIX_LOOKUPS.miss();
         return determineItemTypeSuffix(item);
     }
 
@@ -891,6 +960,13 @@ public class RarityManager {
      */
     public static ItemRarity getDefaultRarity(Item item) {
         ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
+        
+        // A data pack rarity replaces the built-in default
+        ItemRarity dataPackRarity = dataPack.getRarity(id);
+        if (dataPackRarity != null) {
+            return dataPackRarity;
+        }
+        
         if (id != null && DEFAULT_RARITIES.containsKey(id)) {
             ItemRarity rarity = DEFAULT_RARITIES.get(id);
             LOGGER.debug("Found stored default rarity for {}: {}", id, rarity.getName());
@@ -914,7 +990,7 @@ public class RarityManager {
             Path configDir = FMLPaths.CONFIGDIR.get();
             Files.createDirectories(configDir);
             
-            File defaultRaritiesFile = configDir.resolve("itemtooltipenhancer-default-rarities.json").toFile();
+            File defaultRaritiesFile = configDir.resolve(DEFAULT_RARITIES_FILE).toFile();
             
             JsonObject rootJson = new JsonObject();
             JsonObject defaultRaritiesJson = new JsonObject();
@@ -947,7 +1023,7 @@ public class RarityManager {
     public static void loadDefaultRaritiesFromConfig() {
         try {
             Path configDir = FMLPaths.CONFIGDIR.get();
-            File defaultRaritiesFile = configDir.resolve("itemtooltipenhancer-default-rarities.json").toFile();
+            File defaultRaritiesFile = configDir.resolve(DEFAULT_RARITIES_FILE).toFile();
             
             if (!defaultRaritiesFile.exists()) {
                 LOGGER.info("No default rarities config file found, using calculated defaults");
@@ -996,8 +1072,9 @@ public class RarityManager {
             
             // Determine the rarity - either manually set or calculated
             ItemRarity rarity;
-            if (ITEM_RARITIES.containsKey(id)) {
-                rarity = ITEM_RARITIES.get(id);
+            ItemRarity explicit = items.rarities.get(id);
+            if (explicit != null) {
+                rarity = explicit;
             } else {
                 rarity = determineItemRarity(item);
             }
@@ -1011,4 +1088,409 @@ public class RarityManager {
         
         LOGGER.info("Stored default rarities for {} items", DEFAULT_RARITIES.size());
     }
+    
+    /**
+     * Changes to item data staged for a single commit. Each setter returns whether it
+     * changes the item; changes that would leave an item as it is are not staged.
+     * A batch is meant to be filled and committed by a single thread.
+     */
+    public static final class Batch {
+        private final boolean persist;
+        private final Map<ResourceLocation, StagedItem> staged = new LinkedHashMap<>();
+        private boolean committed = false;
+        
+        private Batch(boolean persist) {
+            this.persist = persist;
+        }
+        
+        /**
+         * Stage a new rarity, recoloring the item's custom name to match
+         */
+        public boolean setRarity(Item item, ItemRarity rarity) {
+            if (rarity == null) {
+                throw new IllegalArgumentException("Rarity cannot be null");
+            }
+            ResourceLocation id = requireId(item);
+            StagedItem entry = staged.get(id);
+            if (entry == null && items.rarities.get(id) == rarity
+                    && isPersisted(id, ConfigManager.CustomizationField.RARITY)) {
+                return false;
+            }
+            
+            entry = stage(item, id);
+            entry.rarity = rarity;
+            
+            // Update custom name color if needed
+            String customName = effectiveName(id, entry);
+            if (customName != null && !customName.isEmpty()) {
+                entry.setName(applyRarityColor(stripLeadingColorCode(customName), rarity));
+            }
+            return true;
+        }
+        
+        /**
+         * Stage a custom name, colored by the item's rarity unless it starts with a color code
+         */
+        public boolean setCustomName(Item item, String name) {
+            ResourceLocation id = requireId(item);
+            StagedItem entry = staged.get(id);
+            
+            if (name != null && !name.isEmpty() && !name.startsWith("§")) {
+                name = applyRarityColor(name, effectiveRarity(item, entry));
+            }
+            name = InternPool.intern(name);
+            if (entry == null && Objects.equals(items.names.get(id), name)
+                    && isPersisted(id, ConfigManager.CustomizationField.DISPLAY_NAME)) {
+                return false;
+            }
+            
+            stage(item, id).setName(name);
+            return true;
+        }
+        
+        /**
+         * Stage a category
+         */
+        public boolean setItemCategory(Item item, String category) {
+            ResourceLocation id = requireId(item);
+            category = InternPool.intern(category);
+            if (!staged.containsKey(id) && Objects.equals(items.categories.get(id), category)
+                    && isPersisted(id, ConfigManager.CustomizationField.CATEGORY)) {
+                return false;
+            }
+            
+            stage(item, id).setCategory(category);
+            return true;
+        }
+        
+        /**
+         * Stage a tooltip line
+         */
+        public boolean setTooltipLine(Item item, int line, String text) {
+            if (line < 1) {
+                throw new IllegalArgumentException("Tooltip line numbers start at 1, got " + line);
+            }
+            if (text == null) {
+                throw new IllegalArgumentException("Tooltip text cannot be null");
+            }
+            ResourceLocation id = requireId(item);
+            StagedItem entry = staged.get(id);
+            TooltipLines current = effectiveTooltips(id, entry);
+            if (entry == null && text.equals(current.get(line))
+                    && isPersisted(id, ConfigManager.CustomizationField.TOOLTIPS)) {
+                return false;
+            }
+            
+            stage(item, id).tooltips = current.with(line, text);
+            return true;
+        }
+        
+        /**
+         * Stage the removal of a tooltip line
+         */
+        public boolean removeTooltipLine(Item item, int line) {
+            ResourceLocation id = requireId(item);
+            StagedItem entry = staged.get(id);
+            TooltipLines current = effectiveTooltips(id, entry);
+            if (!current.contains(line)) {
+                return false;
+            }
+            
+            stage(item, id).tooltips = current.without(line);
+            return true;
+        }
+        
+        /**
+         * Stage clearing all custom data of an item, resetting it to its default rarity
+         */
+        public boolean clearItemData(Item item) {
+            ResourceLocation id = requireId(item);
+            StagedItem entry = staged.get(id);
+            ItemRarity defaultRarity = getDefaultRarity(item);
+            if (entry == null && !ConfigManager.hasCustomItemData(id)
+                    && !items.names.containsKey(id)
+                    && !items.tooltips.containsKey(id)
+                    && !items.categories.containsKey(id)
+                    && items.rarities.get(id) == defaultRarity) {
+                return false;
+            }
+            
+            entry = stage(item, id);
+            entry.clear(defaultRarity);
+            return true;
+        }
+        
+        /**
+         * Publish every staged change as one new item table, then write each touched item's config file.
+         * Readers see either none or all of the changes.
+         * 
+         * @return The number of items changed
+         */
+        public int commit() {
+            if (committed) {
+                throw new IllegalStateException("Batch has already been committed");
+            }
+            committed = true;
+            if (staged.isEmpty()) {
+                return 0;
+            }
+            
+            publish(table -> {
+                for (StagedItem entry : staged.values()) {
+                    entry.publishTo(table);
+                }
+            });
+            staged.keySet().forEach(AUTO_RARITY_CACHE::remove);
+            
+            if (persist) {
+                for (StagedItem entry : staged.values()) {
+                    if (entry.isPureClear()) {
+                        ConfigManager.deleteItemConfig(entry.item);
+                    } else {
+                        ConfigManager.saveItemConfig(entry.item);
+                    }
+                }
+            }
+            
+            notifyChangeListeners(Collections.unmodifiableSet(staged.keySet()));
+            return staged.size();
+        }
+        
+        private StagedItem stage(Item item, ResourceLocation id) {
+            if (committed) {
+                throw new IllegalStateException("Batch has already been committed");
+            }
+            return staged.computeIfAbsent(id, key -> new StagedItem(item, key));
+        }
+        
+        private boolean isPersisted(ResourceLocation id, ConfigManager.CustomizationField field) {
+            return !persist || ConfigManager.hasCustomField(id, field);
+        }
+        
+        private static ResourceLocation requireId(Item item) {
+            ResourceLocation id = item != null ? ForgeRegistries.ITEMS.getKey(item) : null;
+            if (id == null) {
+                throw new IllegalArgumentException("Item is not registered: " + item);
+            }
+            return id;
+        }
+        
+        private static ItemRarity effectiveRarity(Item item, StagedItem entry) {
+            if (entry != null && entry.rarity != null) return entry.rarity;
+            if (entry != null && entry.cleared) return entry.defaultRarity;
+            return getRarity(item);
+        }
+        
+        private static String effectiveName(ResourceLocation id, StagedItem entry) {
+            if (entry != null && entry.nameSet) return entry.name;
+            if (entry != null && entry.cleared) return null;
+            return items.names.get(id);
+        }
+        
+        private static TooltipLines effectiveTooltips(ResourceLocation id, StagedItem entry) {
+            if (entry != null && entry.tooltips != null) return entry.tooltips;
+            if (entry != null && entry.cleared) return TooltipLines.EMPTY;
+            return items.tooltips.getOrDefault(id, TooltipLines.EMPTY);
+        }
+    }
+    
+    /**
+     * The staged state of one item within a batch
+     */
+    private static final class StagedItem {
+        private final Item item;
+        private final ResourceLocation id;
+        
+        private boolean cleared;
+        private ItemRarity defaultRarity;
+        private ItemRarity rarity;
+        private boolean nameSet;
+        private String name;
+        private boolean categorySet;
+        private String category;
+        private TooltipLines tooltips;
+        
+        private StagedItem(Item item, ResourceLocation id) {
+            this.item = item;
+            this.id = id;
+        }
+        
+        private void setName(String name) {
+            this.nameSet = true;
+            this.name = name;
+        }
+        
+        private void setCategory(String category) {
+            this.categorySet = true;
+            this.category = category;
+        }
+        
+        private void clear(ItemRarity defaultRarity) {
+            this.cleared = true;
+            this.defaultRarity = defaultRarity;
+            this.rarity = null;
+            this.nameSet = false;
+            this.name = null;
+            this.categorySet = false;
+            this.category = null;
+            this.tooltips = null;
+        }
+        
+        /**
+         * Whether the item is only being reset, so its config file goes away
+         */
+        private boolean isPureClear() {
+            return cleared && rarity == null && !nameSet && !categorySet && tooltips == null;
+        }
+        
+        /**
+         * Apply the staged state to the next item table
+         */
+        private void publishTo(ItemTableBuilder table) {
+            if (cleared) {
+                table.names.remove(id);
+                table.categories.remove(id);
+                table.tooltips.remove(id);
+                
+                // Restore the default rarity that was stored previously
+                table.rarities.put(id, defaultRarity);
+            }
+            
+            if (rarity != null) {
+                table.rarities.put(id, rarity);
+            }
+            if (nameSet) {
+                if (name != null) {
+                    table.names.put(id, name);
+                } else {
+                    table.names.remove(id);
+                }
+            }
+            if (categorySet) {
+                if (category != null) {
+                    table.categories.put(id, category);
+                } else {
+                    table.categories.remove(id);
+                }
+            }
+            if (tooltips != null) {
+                if (tooltips.isEmpty()) {
+                    table.tooltips.remove(id);
+                } else {
+                    table.tooltips.put(id, tooltips);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Restores persisted item data, see {@link #restore}
+     */
+    public static final class Restore {
+        private final Set<ResourceLocation> restored = new HashSet<>();
+        private ItemTableBuilder table;
+        
+        private Restore() {
+        }
+        
+        /**
+         * Restore the data of one item
+         * 
+         * @param item The item
+         * @param rarity The explicit rarity, or null
+         * @param customName The custom name (already colored), or null
+         * @param category The category, or null
+         * @param tooltipLines The tooltip lines, or null
+         */
+        public void item(Item item, ItemRarity rarity, String customName,
+                         String category, Map<Integer, String> tooltipLines) {
+            ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
+            if (id == null) return;
+            
+            if (rarity != null) {
+                table.rarities.put(id, rarity);
+                restored.add(id);
+            }
+            if (customName != null) {
+                table.names.put(id, InternPool.intern(customName));
+            }
+            if (category != null) {
+                table.categories.put(id, InternPool.intern(category));
+            }
+            if (tooltipLines != null && !tooltipLines.isEmpty()) {
+                table.tooltips.put(id, TooltipLines.of(tooltipLines));
+            }
+        }
+        
+        /**
+         * Restore a hard-coded manual rarity, as an explicit rarity like setupManualRarities sets it
+         */
+        public void manualRarity(Item item, ItemRarity rarity) {
+            ResourceLocation id = ForgeRegistries.ITEMS.getKey(item);
+            if (id == null) return;
+            
+            table.rarities.put(id, rarity);
+            MANUAL_RARITIES.add(id);
+            restored.add(id);
+        }
+    }
+    
+    /**
+     * Copy the item table, apply changes to the copy and swap it in
+     */
+    private static void publish(Consumer<ItemTableBuilder> changes) {
+        synchronized (PUBLISH_LOCK) {
+            ItemTableBuilder table = new ItemTableBuilder(items);
+            changes.accept(table);
+            items = table.build();
+        }
+    }
+    
+    /**
+     * The customizations of every item. Never modified once published, so a reader holding one
+     * table sees every field of every item as of the same change.
+     */
+    private static final class ItemTable {
+        static final ItemTable EMPTY = new ItemTable(Map.of(), Map.of(), Map.of(), Map.of());
+        
+        final Map<ResourceLocation, ItemRarity> rarities;
+        final Map<ResourceLocation, String> names;
+        final Map<ResourceLocation, String> categories;
+        final Map<ResourceLocation, TooltipLines> tooltips;
+        
+        ItemTable(Map<ResourceLocation, ItemRarity> rarities, Map<ResourceLocation, String> names,
+                  Map<ResourceLocation, String> categories, Map<ResourceLocation, TooltipLines> tooltips) {
+            this.rarities = rarities;
+            this.names = names;
+            this.categories = categories;
+            this.tooltips = tooltips;
+        }
+        
+        boolean contains(ResourceLocation id) {
+            return rarities.containsKey(id) || names.containsKey(id)
+                || tooltips.containsKey(id) || categories.containsKey(id);
+        }
+    }
+    
+    /**
+     * Mutable copy of an item table, the next table while changes are applied
+     */
+    private static final class ItemTableBuilder {
+        final Map<ResourceLocation, ItemRarity> rarities;
+        final Map<ResourceLocation, String> names;
+        final Map<ResourceLocation, String> categories;
+        final Map<ResourceLocation, TooltipLines> tooltips;
+        
+        ItemTableBuilder(ItemTable table) {
+            this.rarities = new HashMap<>(table.rarities);
+            this.names = new HashMap<>(table.names);
+            this.categories = new HashMap<>(table.categories);
+            this.tooltips = new HashMap<>(table.tooltips);
+        }
+        
+        ItemTable build() {
+            return new ItemTable(Collections.unmodifiableMap(rarities), Collections.unmodifiableMap(names),
+                Collections.unmodifiableMap(categories), Collections.unmodifiableMap(tooltips));
+        }
+    }
 }
\ No newline at end of file
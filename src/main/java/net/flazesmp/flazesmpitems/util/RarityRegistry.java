@@ -0,0 +1,162 @@
+package net.flazesmp.flazesmpitems.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Registry of the rarity tiers: the eight built-in tiers followed by the custom tiers of the
+ * server. Custom tiers get dense ids in the order they are defined, which keeps ids small enough
+ * for the byte snapshots and packets use.
+ *
+ * The tier tables are replaced as a whole, so lookups never lock.
+ */
+public class RarityRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RarityRegistry.class);
+
+    // Ids are written as an unsigned byte, 255 marks a missing rarity in the snapshot
+    public static final int MAX_TIERS = 255;
+
+    private static final ItemRarity[] BUILT_IN_TIERS = {
+        ItemRarity.COMMON, ItemRarity.UNCOMMON, ItemRarity.RARE, ItemRarity.EPIC,
+        ItemRarity.LEGENDARY, ItemRarity.MYTHIC, ItemRarity.SPECIAL, ItemRarity.ADMIN
+    };
+
+    private static volatile Tiers tiers = new Tiers(BUILT_IN_TIERS);
+
+    /**
+     * Gets a tier by its id
+     *
+     * @return The tier, or null if no tier has this id
+     */
+    public static ItemRarity byId(int id) {
+        ItemRarity[] byId = tiers.byId;
+        return id >= 0 && id < byId.length ? byId[id] : null;
+    }
+
+    /**
+     * Gets a tier by its key or display name, ignoring case
+     *
+     * @return The tier, or null if none matches
+     */
+    public static ItemRarity get(String name) {
+        return name != null ? tiers.byName.get(name.toUpperCase(Locale.ROOT)) : null;
+    }
+
+    /**
+     * Gets every registered tier, ordered for display
+     */
+    public static ItemRarity[] values() {
+        return tiers.ordered.clone();
+    }
+
+    /**
+     * Gets the number of registered tiers, every id below it is in use
+     */
+    public static int size() {
+        return tiers.byId.length;
+    }
+
+    /**
+     * Gets the definitions of the custom tiers, in id order
+     */
+    public static List<RarityTierDefinition> getCustomDefinitions() {
+        return tiers.customDefinitions;
+    }
+
+    /**
+     * Gets a hash of the custom tier definitions that is the same on every JVM, 0 without custom tiers
+     */
+    public static long getCustomTiersHash() {
+        return tiers.customHash;
+    }
+
+    /**
+     * Replace the custom tiers. Invalid or duplicate definitions are skipped with a warning.
+     * Tiers whose id and definition did not change keep their instance.
+     */
+    public static synchronized void setCustomTiers(List<RarityTierDefinition> definitions) {
+        ItemRarity[] previous = tiers.byId;
+        List<ItemRarity> all = new ArrayList<>(Arrays.asList(BUILT_IN_TIERS));
+        Map<String, ItemRarity> names = new HashMap<>();
+        for (ItemRarity builtIn : BUILT_IN_TIERS) {
+            names.put(builtIn.name(), builtIn);
+            names.put(builtIn.getName().toUpperCase(Locale.ROOT), builtIn);
+        }
+
+        for (RarityTierDefinition definition : definitions) {
+            String key = definition.getKey().toUpperCase(Locale.ROOT);
+            String name = definition.getName().toUpperCase(Locale.ROOT);
+            if (names.containsKey(key) || names.containsKey(name)) {
+                LOGGER.warn("Skipping rarity tier {}: its key or name is already used", definition.getKey());
+                continue;
+            }
+            if (all.size() >= MAX_TIERS) {
+                LOGGER.warn("Skipping rarity tier {}: at most {} tiers are supported", definition.getKey(), MAX_TIERS);
+                continue;
+            }
+
+            int id = all.size();
+            ItemRarity rarity;
+            if (id < previous.length && previous[id].getDefinition().equals(definition)) {
+                rarity = previous[id];
+            } else {
+                try {
+                    rarity = new ItemRarity(id, definition, false);
+                } catch (IllegalArgumentException e) {
+                    LOGGER.warn("Skipping rarity tier {}: {}", definition.getKey(), e.getMessage());
+                    continue;
+                }
+            }
+            all.add(rarity);
+            names.put(key, rarity);
+            names.put(name, rarity);
+        }
+
+        tiers = new Tiers(all.toArray(new ItemRarity[0]));
+        if (all.size() > BUILT_IN_TIERS.length) {
+            LOGGER.info("Registered {} custom rarity tiers", all.size() - BUILT_IN_TIERS.length);
+        }
+    }
+
+    /**
+     * Immutable lookup tables for one set of tiers
+     */
+    private static class Tiers {
+        final ItemRarity[] byId;
+        final ItemRarity[] ordered;
+        final Map<String, ItemRarity> byName = new HashMap<>();
+        final List<RarityTierDefinition> customDefinitions;
+        final long customHash;
+
+        Tiers(ItemRarity[] byId) {
+            this.byId = byId;
+            this.ordered = byId.clone();
+            Arrays.sort(this.ordered, Comparator.comparingInt(ItemRarity::getOrder).thenComparingInt(ItemRarity::getId));
+
+            List<RarityTierDefinition> custom = new ArrayList<>();
+            long hash = 0L;
+            for (ItemRarity rarity : byId) {
+                // Keys first so a display name can never shadow another tier's key
+                byName.put(rarity.name().toUpperCase(Locale.ROOT), rarity);
+                if (!rarity.isBuiltIn()) {
+                    custom.add(rarity.getDefinition());
+                    hash = hash * 31 + rarity.getDefinition().hashCode();
+                }
+            }
+            for (ItemRarity rarity : byId) {
+                byName.putIfAbsent(rarity.getName().toUpperCase(Locale.ROOT), rarity);
+            }
+            this.customDefinitions = Collections.unmodifiableList(custom);
+            this.customHash = custom.isEmpty() ? 0L : hash ^ ((long) custom.size() << 32);
+        }
+    }
+}
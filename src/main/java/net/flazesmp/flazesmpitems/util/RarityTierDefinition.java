@@ -0,0 +1,71 @@
+package net.flazesmp.flazesmpitems.util;
+
+import java.util.Objects;
+
+/**
+ * The configurable properties of a rarity tier, as read from the tiers file or sent by a server
+ */
+public final class RarityTierDefinition {
+    private final String key;
+    private final String name;
+    private final String color;
+    private final int order;
+    private final String lineFormat;
+    private final boolean bold;
+
+    /**
+     * @param key The upper case key used in config files and commands
+     * @param name The display name
+     * @param color A named chat color such as "gold", or a hex color such as "#D4AF37"
+     * @param order Position of the tier when tiers are listed, built-in tiers use multiples of 100
+     * @param lineFormat Format of the rarity line, with {rarity} and {suffix} placeholders
+     * @param bold Whether the rarity line is bold
+     */
+    public RarityTierDefinition(String key, String name, String color, int order, String lineFormat, boolean bold) {
+        this.key = key;
+        this.name = name;
+        this.color = color;
+        this.order = order;
+        this.lineFormat = lineFormat;
+        this.bold = bold;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    public String getLineFormat() {
+        return lineFormat;
+    }
+
+    public boolean isBold() {
+        return bold;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RarityTierDefinition)) return false;
+        RarityTierDefinition other = (RarityTierDefinition) o;
+        return order == other.order && bold == other.bold && key.equals(other.key) && name.equals(other.name)
+            && color.equals(other.color) && lineFormat.equals(other.lineFormat);
+    }
+
+    @Override
+    public int hashCode() {
+        // Only built from strings, ints and booleans so it is the same on every JVM
+        return Objects.hash(key, name, color, order, lineFormat, bold);
+    }
+}
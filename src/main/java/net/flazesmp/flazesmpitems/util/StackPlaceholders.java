@@ -0,0 +1,65 @@
+package net.flazesmp.flazesmpitems.util;
+
+import net.flazesmp.flazesmpitems.core.Placeholder;
+import net.flazesmp.flazesmpitems.core.TooltipTemplate;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.EnchantedBookItem;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The placeholders custom tooltip lines can use, resolved against the hovered stack:
+ * {durability}, {max_durability}, {damage}, {count}, {enchant_count}, {name}, {item} and
+ * {nbt:Key} for a tag value, with dots for nested keys as in {nbt:display.Name}
+ */
+public class StackPlaceholders {
+    private static final Map<String, Placeholder<ItemStack>> PLACEHOLDERS = new HashMap<>();
+
+    static {
+        PLACEHOLDERS.put("durability", (stack, arg) ->
+            stack.isDamageableItem() ? Integer.toString(stack.getMaxDamage() - stack.getDamageValue()) : null);
+        PLACEHOLDERS.put("max_durability", (stack, arg) ->
+            stack.isDamageableItem() ? Integer.toString(stack.getMaxDamage()) : null);
+        PLACEHOLDERS.put("damage", (stack, arg) -> Integer.toString(stack.getDamageValue()));
+        PLACEHOLDERS.put("count", (stack, arg) -> Integer.toString(stack.getCount()));
+        PLACEHOLDERS.put("enchant_count", (stack, arg) -> Integer.toString(
+            stack.getItem() instanceof EnchantedBookItem
+                ? EnchantedBookItem.getEnchantments(stack).size()
+                : stack.getEnchantmentTags().size()));
+        PLACEHOLDERS.put("name", (stack, arg) -> stack.getHoverName().getString());
+        PLACEHOLDERS.put("item", (stack, arg) -> String.valueOf(ForgeRegistries.ITEMS.getKey(stack.getItem())));
+        PLACEHOLDERS.put("nbt", StackPlaceholders::nbtValue);
+    }
+
+    /**
+     * Parse a tooltip line
+     *
+     * @return The template, or null if the line has no placeholders
+     */
+    public static TooltipTemplate<ItemStack> compile(String text) {
+        return text.indexOf('{') < 0 ? null : TooltipTemplate.parse(text, PLACEHOLDERS);
+    }
+
+    private static String nbtValue(ItemStack stack, String path) {
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+
+        Tag current = stack.getTag();
+        int start = 0;
+        while (current instanceof CompoundTag compound) {
+            int dot = path.indexOf('.', start);
+            String key = dot < 0 ? path.substring(start) : path.substring(start, dot);
+            current = compound.get(key);
+            if (dot < 0) {
+                return current != null ? current.getAsString() : null;
+            }
+            start = dot + 1;
+        }
+        return null;
+    }
+}
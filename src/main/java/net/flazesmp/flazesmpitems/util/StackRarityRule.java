@@ -0,0 +1,60 @@
+package net.flazesmp.flazesmpitems.util;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A compiled per-stack rarity rule: a predicate over the stack's NBT and the tier it raises
+ * matching stacks to. Rules never lower a rarity.
+ */
+public final class StackRarityRule {
+    private final ItemRarity rarity;
+    private final Set<Item> items;
+    private final Predicate<ItemStack> condition;
+
+    /**
+     * @param rarity The tier of matching stacks
+     * @param items The items the rule applies to, or null for every item
+     * @param condition The compiled stack conditions
+     */
+    StackRarityRule(ItemRarity rarity, Set<Item> items, Predicate<ItemStack> condition) {
+        this.rarity = rarity;
+        this.items = items;
+        this.condition = condition;
+    }
+
+    public ItemRarity getRarity() {
+        return rarity;
+    }
+
+    /**
+     * Gets the items the rule applies to, or null for every item
+     */
+    Set<Item> getItems() {
+        return items;
+    }
+
+    /**
+     * Whether the rule may apply to stacks of an item
+     */
+    public boolean appliesTo(Item item) {
+        return items == null || items.contains(item);
+    }
+
+    /**
+     * Whether a stack with a tag matches this rule
+     */
+    public boolean matches(ItemStack stack) {
+        return appliesTo(stack.getItem()) && condition.test(stack);
+    }
+
+    /**
+     * Gets the rarity of a matching stack from the rarity of its item
+     */
+    public ItemRarity apply(ItemRarity base) {
+        return rarity.getOrder() > base.getOrder() ? rarity : base;
+    }
+}
@@ -0,0 +1,260 @@
+package net.flazesmp.flazesmpitems.util;
+
+import com.google.common.collect.MapMaker;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.flazesmp.flazesmpitems.metrics.ModMetrics;
+import net.flazesmp.flazesmpitems.tooltip.ContainerSummaryTooltip;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.EnchantedBookItem;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.enchantment.EnchantmentHelper;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Optional per-stack rarity rules, from the "stackRules" array of itemtooltipenhancer-rarities.json.
+ * A rule raises the rarity of stacks with enough enchantments, specific NBT keys or a custom name;
+ * the first matching rule wins.
+ *
+ * Which rule matched is cached per tag instance, in a weak identity map, so the conditions are only
+ * evaluated once for each stack the client holds rather than on every frame, and no tag is hashed or
+ * compared. Stacks synced from the server get a new tag whenever they change; a tag edited in place
+ * keeps its cached result. The cache holds rule indexes rather than rarities, so it stays valid when
+ * item rarities change.
+ */
+public class StackRarityRules {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StackRarityRules.class);
+
+    private static final int NO_MATCH = -1;
+
+    private static final CompiledRules NONE = new CompiledRules("[]", List.of());
+    private static volatile CompiledRules rules = NONE;
+
+    /**
+     * Gets the rarity of a stack, given the rarity of its item
+     */
+    public static ItemRarity apply(ItemStack stack, ItemRarity base) {
+        CompiledRules current = rules;
+        CompoundTag tag = stack.getTag();
+        // Every condition reads the tag, so stacks without one keep the item's rarity
+        if (current.rules.isEmpty() || tag == null || !current.appliesTo(stack.getItem())) {
+            return base;
+        }
+
+        int index = current.match(stack, tag);
+        return index == NO_MATCH ? base : current.rules.get(index).apply(base);
+    }
+
+    /**
+     * Whether any stack rule is loaded
+     */
+    public static boolean hasRules() {
+        return !rules.rules.isEmpty();
+    }
+
+    /**
+     * Gets the JSON the current rules were compiled from, to send them to clients
+     */
+    public static String getRulesJson() {
+        return rules.json;
+    }
+
+    /**
+     * Compile and use the rules of a JSON array. Invalid rules are skipped with a warning.
+     */
+    public static void setRules(JsonArray json) {
+        List<StackRarityRule> compiled = new ArrayList<>();
+        int index = 0;
+        for (JsonElement element : json) {
+            index++;
+            try {
+                compiled.add(compile(element.getAsJsonObject()));
+            } catch (Exception e) {
+                LOGGER.warn("Skipping invalid stack rarity rule #{}: {}", index, e.getMessage());
+            }
+        }
+        rules = compiled.isEmpty() ? NONE : new CompiledRules(json.toString(), compiled);
+        // Called whenever tiers are set too, so cached summaries never show a replaced tier
+        ContainerSummaryTooltip.invalidate();
+        if (!compiled.isEmpty()) {
+            LOGGER.info("Loaded {} stack rarity rules", compiled.size());
+        }
+    }
+
+    /**
+     * Compile and use the rules of a JSON array string, as received from a server
+     */
+    public static void setRules(String json) {
+        try {
+            setRules(JsonParser.parseString(json).getAsJsonArray());
+        } catch (Exception e) {
+            LOGGER.warn("Ignoring invalid stack rarity rules: {}", e.getMessage());
+            rules = NONE;
+            ContainerSummaryTooltip.invalidate();
+        }
+    }
+
+    private static StackRarityRule compile(JsonObject json) {
+        ItemRarity rarity = ItemRarity.valueOf(json.get("rarity").getAsString());
+
+        Set<Item> items = null;
+        if (json.has("items")) {
+            items = new HashSet<>();
+            for (JsonElement id : json.getAsJsonArray("items")) {
+                ResourceLocation itemId = new ResourceLocation(id.getAsString());
+                if (!ForgeRegistries.ITEMS.containsKey(itemId)) {
+                    throw new IllegalArgumentException("Unknown item " + itemId);
+                }
+                items.add(ForgeRegistries.ITEMS.getValue(itemId));
+            }
+        }
+
+        List<Predicate<ItemStack>> conditions = new ArrayList<>();
+        if (json.has("minEnchantments")) {
+            int min = json.get("minEnchantments").getAsInt();
+            conditions.add(stack -> enchantments(stack).size() >= min);
+        }
+        if (json.has("minEnchantmentLevel")) {
+            int min = json.get("minEnchantmentLevel").getAsInt();
+            conditions.add(stack -> maxEnchantmentLevel(enchantments(stack)) >= min);
+        }
+        if (json.has("minTotalEnchantmentLevels")) {
+            int min = json.get("minTotalEnchantmentLevels").getAsInt();
+            conditions.add(stack -> totalEnchantmentLevels(enchantments(stack)) >= min);
+        }
+        if (json.has("nbtKeys")) {
+            for (JsonElement key : json.getAsJsonArray("nbtKeys")) {
+                String[] path = key.getAsString().split("\\.");
+                conditions.add(stack -> hasPath(stack.getTag(), path) && !isInjected(stack, path));
+            }
+        }
+        if (json.has("customName") && json.get("customName").getAsBoolean()) {
+            // A name set from the item's config is not the player's own
+            conditions.add(stack -> stack.hasCustomHoverName() && !RarityManager.hasInjectedName(stack));
+        }
+
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("no stack condition, use an item config for item rarities");
+        }
+        Predicate<ItemStack> condition = conditions.get(0);
+        for (int i = 1; i < conditions.size(); i++) {
+            condition = condition.and(conditions.get(i));
+        }
+        return new StackRarityRule(rarity, items, condition);
+    }
+
+    private static ListTag enchantments(ItemStack stack) {
+        return stack.getItem() instanceof EnchantedBookItem
+            ? EnchantedBookItem.getEnchantments(stack)
+            : stack.getEnchantmentTags();
+    }
+
+    private static int maxEnchantmentLevel(ListTag enchantments) {
+        int max = 0;
+        for (int i = 0; i < enchantments.size(); i++) {
+            max = Math.max(max, EnchantmentHelper.getEnchantmentLevel(enchantments.getCompound(i)));
+        }
+        return max;
+    }
+
+    private static int totalEnchantmentLevels(ListTag enchantments) {
+        int total = 0;
+        for (int i = 0; i < enchantments.size(); i++) {
+            total += EnchantmentHelper.getEnchantmentLevel(enchantments.getCompound(i));
+        }
+        return total;
+    }
+
+    /**
+     * Whether a key path points at the name or lore written from the item's config
+     */
+    private static boolean isInjected(ItemStack stack, String[] path) {
+        if (path.length != 2 || !path[0].equals("display")) {
+            return false;
+        }
+        return path[1].equals("Name") && RarityManager.hasInjectedName(stack)
+            || path[1].equals("Lore") && RarityManager.hasInjectedLore(stack);
+    }
+
+    /**
+     * Whether a tag has a dotted key path such as "display.Lore"
+     */
+    private static boolean hasPath(CompoundTag tag, String[] path) {
+        CompoundTag current = tag;
+        for (int i = 0; i < path.length - 1; i++) {
+            if (current == null || !current.contains(path[i], Tag.TAG_COMPOUND)) {
+                return false;
+            }
+            current = current.getCompound(path[i]);
+        }
+        return current != null && current.contains(path[path.length - 1]);
+    }
+
+    /**
+     * One set of compiled rules with its own match cache, replaced as a whole
+     */
+    private static class CompiledRules {
+        final String json;
+        final List<StackRarityRule> rules;
+        // Null when some rule applies to every item
+        final Set<Item> items;
+        // Weak keys are compared by identity, entries go away with their stacks
+        final Map<CompoundTag, Integer> matches = new MapMaker().weakKeys().makeMap();
+
+        CompiledRules(String json, List<StackRarityRule> rules) {
+            this.json = json;
+            this.rules = List.copyOf(rules);
+
+            Set<Item> items = new HashSet<>();
+            for (StackRarityRule rule : rules) {
+                if (rule.getItems() == null) {
+                    items = null;
+                    break;
+                }
+                items.addAll(rule.getItems());
+            }
+            this.items = items;
+        }
+
+        boolean appliesTo(Item item) {
+            return items == null || items.contains(item);
+        }
+
+        /**
+         * Gets the index of the first rule matching a stack, from the cache when the stack was seen before
+         */
+        int match(ItemStack stack, CompoundTag tag) {
+            Integer cached = matches.get(tag);
+            if (cached != null) {
+                ModMetrics.STACK_RARITY_LOOKUPS.hit();
+                return cached;
+            }
+
+            ModMetrics.STACK_RARITY_LOOKUPS.miss();
+            int index = NO_MATCH;
+            for (int i = 0; i < rules.size(); i++) {
+                if (rules.get(i).matches(stack)) {
+                    index = i;
+                    break;
+                }
+            }
+            matches.put(tag, index);
+            return index;
+        }
+    }
+}
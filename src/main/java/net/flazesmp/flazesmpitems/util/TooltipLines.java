@@ -0,0 +1,315 @@
+package net.flazesmp.flazesmpitems.util;
+
+import net.flazesmp.flazesmpitems.core.TooltipTemplate;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable custom tooltip lines of one item, sorted by line number.
+ *
+ * Stored as parallel arrays of line numbers, texts and ready-made components, so reading the lines
+ * in order allocates nothing and gaps in the numbering are kept. Texts and components come from the
+ * {@link InternPool}, so items with the same lines share them. Lines with placeholders are also
+ * compiled once into a template, rendered against the stack when shown. A line starting with
+ * "[shift]" or "[ctrl]" is only shown while that key is held. Iterate by index:
+ * {@code for (int i = 0; i < lines.size(); i++)}. Edits return a new instance.
+ */
+public final class TooltipLines {
+    public static final TooltipLines EMPTY = new TooltipLines(new int[0], new String[0], new Component[0]);
+
+    private final int[] lineNumbers;
+    private final String[] texts;
+    private final Component[] components;
+    // Null for lines without placeholders, and entirely when no line has any
+    private final TooltipTemplate<ItemStack>[] templates;
+    // Null when every line is always shown
+    private final Condition[] conditions;
+    private final int conditionMask;
+
+    private TooltipLines(int[] lineNumbers, String[] texts, Component[] components) {
+        this.lineNumbers = lineNumbers;
+        this.texts = texts;
+        this.components = components;
+        this.templates = compileTemplates(texts);
+
+        Condition[] conditions = null;
+        int conditionMask = 0;
+        for (int i = 0; i < texts.length; i++) {
+            Condition condition = Condition.of(texts[i]);
+            if (condition != Condition.ALWAYS) {
+                if (conditions == null) {
+                    conditions = new Condition[texts.length];
+                    Arrays.fill(conditions, Condition.ALWAYS);
+                }
+                conditions[i] = condition;
+                conditionMask |= condition.mask();
+            }
+        }
+        this.conditions = conditions;
+        this.conditionMask = conditionMask;
+    }
+
+    /**
+     * When a line is shown, from the marker at the start of its text
+     */
+    public enum Condition {
+        ALWAYS(""),
+        SHIFT("[shift]"),
+        CTRL("[ctrl]");
+
+        private final String marker;
+
+        Condition(String marker) {
+            this.marker = marker;
+        }
+
+        public int mask() {
+            return 1 << ordinal();
+        }
+
+        static Condition of(String text) {
+            if (text.startsWith("[")) {
+                if (text.startsWith(SHIFT.marker)) return SHIFT;
+                if (text.startsWith(CTRL.marker)) return CTRL;
+            }
+            return ALWAYS;
+        }
+
+        /**
+         * Gets the text of a line without its marker
+         */
+        static String strip(String text) {
+            Condition condition = of(text);
+            if (condition == ALWAYS) {
+                return text;
+            }
+            String stripped = text.substring(condition.marker.length());
+            return stripped.startsWith(" ") ? stripped.substring(1) : stripped;
+        }
+    }
+
+    /**
+     * Gets the component a line is shown as
+     */
+    private static Component displayComponent(String text) {
+        return InternPool.component(Condition.strip(text));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TooltipTemplate<ItemStack>[] compileTemplates(String[] texts) {
+        TooltipTemplate<ItemStack>[] templates = null;
+        for (int i = 0; i < texts.length; i++) {
+            TooltipTemplate<ItemStack> template = StackPlaceholders.compile(Condition.strip(texts[i]));
+            if (template != null) {
+                if (templates == null) {
+                    templates = new TooltipTemplate[texts.length];
+                }
+                templates[i] = template;
+            }
+        }
+        return templates;
+    }
+
+    /**
+     * Create the lines from a map of line numbers to texts, ignoring null texts
+     */
+    public static TooltipLines of(Map<Integer, String> lines) {
+        if (lines == null || lines.isEmpty()) {
+            return EMPTY;
+        }
+
+        int[] lineNumbers = new int[lines.size()];
+        String[] texts = new String[lines.size()];
+        Component[] components = new Component[lines.size()];
+        int count = 0;
+        for (Map.Entry<Integer, String> entry : new TreeMap<>(lines).entrySet()) {
+            if (entry.getKey() != null && entry.getValue() != null) {
+                lineNumbers[count] = entry.getKey();
+                texts[count] = InternPool.intern(entry.getValue());
+                components[count] = displayComponent(texts[count]);
+                count++;
+            }
+        }
+        if (count == 0) {
+            return EMPTY;
+        }
+        return new TooltipLines(Arrays.copyOf(lineNumbers, count), Arrays.copyOf(texts, count),
+            Arrays.copyOf(components, count));
+    }
+
+    public int size() {
+        return lineNumbers.length;
+    }
+
+    public boolean isEmpty() {
+        return lineNumbers.length == 0;
+    }
+
+    /**
+     * Gets the line number at an index
+     */
+    public int lineAt(int index) {
+        return lineNumbers[index];
+    }
+
+    /**
+     * Gets the text at an index
+     */
+    public String textAt(int index) {
+        return texts[index];
+    }
+
+    /**
+     * Gets the text at an index as a component, shared between items. Must not be modified.
+     */
+    public Component componentAt(int index) {
+        return components[index];
+    }
+
+    /**
+     * Gets the line at an index as shown for a stack, with its placeholders resolved.
+     * Lines without placeholders are the shared component, which must not be modified.
+     */
+    public Component componentAt(int index, ItemStack stack) {
+        TooltipTemplate<ItemStack> template = templateAt(index);
+        return template != null ? Component.literal(template.render(stack)) : components[index];
+    }
+
+    /**
+     * Gets when the line at an index is shown
+     */
+    public Condition conditionAt(int index) {
+        return conditions != null ? conditions[index] : Condition.ALWAYS;
+    }
+
+    /**
+     * Whether any line is only shown while a key is held
+     */
+    public boolean hasConditionalLines() {
+        return conditionMask != 0;
+    }
+
+    /**
+     * Whether some line is shown on a condition, for the hint lines
+     */
+    public boolean hasLinesFor(Condition condition) {
+        return (conditionMask & condition.mask()) != 0;
+    }
+
+    /**
+     * Gets the compiled template of the line at an index
+     *
+     * @return The template, or null if the line has no placeholders
+     */
+    public TooltipTemplate<ItemStack> templateAt(int index) {
+        return templates != null ? templates[index] : null;
+    }
+
+    /**
+     * Gets the text of a line number
+     *
+     * @return The text, or null if the line is not set
+     */
+    public String get(int line) {
+        int index = Arrays.binarySearch(lineNumbers, line);
+        return index >= 0 ? texts[index] : null;
+    }
+
+    public boolean contains(int line) {
+        return Arrays.binarySearch(lineNumbers, line) >= 0;
+    }
+
+    /**
+     * Gets a copy with a line set
+     */
+    public TooltipLines with(int line, String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Tooltip text cannot be null");
+        }
+
+        int index = Arrays.binarySearch(lineNumbers, line);
+        if (index >= 0 && texts[index].equals(text)) {
+            return this;
+        }
+        String pooled = InternPool.intern(text);
+        Component component = displayComponent(pooled);
+
+        if (index >= 0) {
+            String[] newTexts = texts.clone();
+            Component[] newComponents = components.clone();
+            newTexts[index] = pooled;
+            newComponents[index] = component;
+            return new TooltipLines(lineNumbers, newTexts, newComponents);
+        }
+
+        int insertAt = -index - 1;
+        int[] newLines = new int[lineNumbers.length + 1];
+        String[] newTexts = new String[texts.length + 1];
+        Component[] newComponents = new Component[components.length + 1];
+        System.arraycopy(lineNumbers, 0, newLines, 0, insertAt);
+        System.arraycopy(texts, 0, newTexts, 0, insertAt);
+        System.arraycopy(components, 0, newComponents, 0, insertAt);
+        newLines[insertAt] = line;
+        newTexts[insertAt] = pooled;
+        newComponents[insertAt] = component;
+        System.arraycopy(lineNumbers, insertAt, newLines, insertAt + 1, lineNumbers.length - insertAt);
+        System.arraycopy(texts, insertAt, newTexts, insertAt + 1, texts.length - insertAt);
+        System.arraycopy(components, insertAt, newComponents, insertAt + 1, components.length - insertAt);
+        return new TooltipLines(newLines, newTexts, newComponents);
+    }
+
+    /**
+     * Gets a copy without a line
+     */
+    public TooltipLines without(int line) {
+        int index = Arrays.binarySearch(lineNumbers, line);
+        if (index < 0) {
+            return this;
+        }
+        if (lineNumbers.length == 1) {
+            return EMPTY;
+        }
+
+        int[] newLines = new int[lineNumbers.length - 1];
+        String[] newTexts = new String[texts.length - 1];
+        Component[] newComponents = new Component[components.length - 1];
+        System.arraycopy(lineNumbers, 0, newLines, 0, index);
+        System.arraycopy(texts, 0, newTexts, 0, index);
+        System.arraycopy(components, 0, newComponents, 0, index);
+        System.arraycopy(lineNumbers, index + 1, newLines, index, lineNumbers.length - index - 1);
+        System.arraycopy(texts, index + 1, newTexts, index, texts.length - index - 1);
+        System.arraycopy(components, index + 1, newComponents, index, components.length - index - 1);
+        return new TooltipLines(newLines, newTexts, newComponents);
+    }
+
+    /**
+     * Gets the lines as a sorted map, for code that persists or sends them
+     */
+    public Map<Integer, String> toMap() {
+        if (isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Integer, String> map = new TreeMap<>();
+        for (int i = 0; i < lineNumbers.length; i++) {
+            map.put(lineNumbers[i], texts[i]);
+        }
+        return map;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TooltipLines other)) return false;
+        return Arrays.equals(lineNumbers, other.lineNumbers) && Arrays.equals(texts, other.texts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(lineNumbers) + Arrays.hashCode(texts);
+    }
+}